@@ -0,0 +1,232 @@
+package software.amazon.ssmincidents.replicationset;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.RegionMapInputValue;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.fake.InMemorySsmIncidentsClient;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Workload behind the class data sharing archive of the {@code cds} profile, and the startup comparison made with it.
+ * <ul>
+ * <li>{@code train}: runs the five handlers against {@link InMemorySsmIncidentsClient} and builds an SDK client,
+ * the classes loaded along the way make up the archive. Regions of the fake client are active right away, so
+ * Create, Update and Delete complete within their first invocation</li>
+ * <li>{@code probe <handler>}: prints the time from JVM start to the first response of one handler</li>
+ * <li>{@code report <archive> <report file> <runs>}: probes every handler in new JVMs without class data sharing,
+ * with the JDK archive only and with the handler archive, and writes the medians</li>
+ * </ul>
+ */
+public class CdsTraining {
+
+    private static final List<String> HANDLERS =
+        Arrays.asList("CreateHandler", "ReadHandler", "UpdateHandler", "ListHandler", "DeleteHandler");
+
+    // polls without delay, the regions of the fake client are active as soon as they are created
+    private static final StabilizationScheduler SCHEDULER = new StabilizationScheduler() {
+        @Override
+        public Duration maxAwaitDuration() {
+            return Duration.ofMinutes(1);
+        }
+
+        @Override
+        public Duration nextDelay(int attempt) {
+            return Duration.ofMillis(1);
+        }
+    };
+
+    private static final LoggerProxy LOGGER = new LoggerProxy();
+
+    private static final String PROBE_PREFIX = "probe ";
+
+    public static void main(String[] args) throws Exception {
+        switch (args.length > 0 ? args[0] : "") {
+            case "train":
+                train();
+                break;
+            case "probe":
+                probe(args[1]);
+                break;
+            case "report":
+                report(args[1], args[2], Integer.parseInt(args[3]));
+                break;
+            default:
+                throw new IllegalArgumentException("Usage: train | probe <handler> | report <archive> <report file> <runs>");
+        }
+    }
+
+    private static void train() {
+        InMemorySsmIncidentsClient client = new InMemorySsmIncidentsClient(Clock.systemUTC());
+        ClientBuilder.setClientFactory(region -> client);
+        String arn = null;
+        for (String handler : HANDLERS) {
+            ProgressEvent<ResourceModel, CallbackContext> event = invoke(handler, arn);
+            if (event.getStatus() != OperationStatus.SUCCESS) {
+                throw new IllegalStateException(handler + " returned " + event.getStatus() + ": " + event.getMessage());
+            }
+            if ("CreateHandler".equals(handler)) {
+                arn = event.getResourceModel().getArn();
+            }
+        }
+        // handlers get a real client on Lambda, building one loads the SDK client classes the fake does not need
+        ClientBuilder.buildClient(Region.US_EAST_1).close();
+    }
+
+    private static void probe(String handler) {
+        InMemorySsmIncidentsClient client = new InMemorySsmIncidentsClient(Clock.systemUTC());
+        String arn = null;
+        if (!"CreateHandler".equals(handler) && !"ListHandler".equals(handler)) {
+            arn = client.createReplicationSet(CreateReplicationSetRequest.builder()
+                .regions(ImmutableMap.of("us-east-1", RegionMapInputValue.builder().build()))
+                .build()).arn();
+        }
+        ClientBuilder.setClientFactory(region -> client);
+        long start = System.nanoTime();
+        OperationStatus status = invoke(handler, arn).getStatus();
+        long invocationMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        System.out.println(PROBE_PREFIX + status + " " + uptimeMillis + " " + invocationMillis + " "
+            + ManagementFactory.getClassLoadingMXBean().getLoadedClassCount());
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> invoke(String handler, String arn) {
+        AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+            LOGGER, new Credentials("accessKey", "secretKey", "token"), () -> Duration.ofMinutes(15).toMillis());
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .clientRequestToken("training-" + handler)
+            .awsAccountId("111122223333")
+            .region("us-east-1")
+            .previousResourceState("UpdateHandler".equals(handler) ? model(arn, "us-east-1") : null)
+            .desiredResourceState(desiredModel(handler, arn))
+            .build();
+        switch (handler) {
+            case "CreateHandler":
+                return new CreateHandler(Clock.systemUTC(), SCHEDULER, Sleeper.THREAD_SLEEPER).handleRequest(proxy, request, null, LOGGER);
+            case "ReadHandler":
+                return new ReadHandler().handleRequest(proxy, request, null, LOGGER);
+            case "UpdateHandler":
+                return new UpdateHandler(Clock.systemUTC(), SCHEDULER, Sleeper.THREAD_SLEEPER).handleRequest(proxy, request, null, LOGGER);
+            case "ListHandler":
+                return new ListHandler().handleRequest(proxy, request, null, LOGGER);
+            case "DeleteHandler":
+                return new DeleteHandler(Clock.systemUTC(), SCHEDULER, Sleeper.THREAD_SLEEPER).handleRequest(proxy, request, null, LOGGER);
+            default:
+                throw new IllegalArgumentException("Unknown handler " + handler);
+        }
+    }
+
+    private static ResourceModel desiredModel(String handler, String arn) {
+        switch (handler) {
+            case "CreateHandler":
+                return model(null, "us-east-1");
+            case "UpdateHandler":
+                return model(arn, "us-east-1", "us-west-2");
+            case "ListHandler":
+                return ResourceModel.builder().build();
+            default:
+                return ResourceModel.builder().arn(arn).build();
+        }
+    }
+
+    private static ResourceModel model(String arn, String... regionNames) {
+        ImmutableSet.Builder<ReplicationRegion> regions = ImmutableSet.builder();
+        for (String regionName : regionNames) {
+            regions.add(new ReplicationRegion(regionName, RegionConfiguration.builder().build()));
+        }
+        return ResourceModel.builder()
+            .arn(arn)
+            .regions(regions.build())
+            .deletionProtected(false)
+            .tags(ImmutableSet.of(new Tag("team", "incident-response")))
+            .build();
+    }
+
+    private static void report(String archive, String reportFile, int runs) throws IOException, InterruptedException {
+        List<List<String>> modes = Arrays.asList(
+            Arrays.asList("off", "-Xshare:off"),
+            Arrays.asList("jdk", "-Xshare:auto"),
+            Arrays.asList("handler", "-Xshare:auto", "-XX:SharedArchiveFile=" + archive));
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(reportFile), StandardCharsets.UTF_8))) {
+            out.printf("Time to first response in a new JVM, median of %d runs, java %s%n", runs, System.getProperty("java.version"));
+            out.println("off: no class data sharing, jdk: the JDK's own archive, handler: " + archive);
+            out.println();
+            out.printf("%-14s %-8s %12s %14s %10s%n", "handler", "sharing", "uptime (ms)", "handler (ms)", "classes");
+            for (String handler : HANDLERS) {
+                for (List<String> mode : modes) {
+                    List<Long> uptimes = new ArrayList<>();
+                    List<Long> invocations = new ArrayList<>();
+                    long classes = 0;
+                    for (int run = 0; run < runs; run++) {
+                        long[] result = runProbe(mode.subList(1, mode.size()), handler);
+                        uptimes.add(result[0]);
+                        invocations.add(result[1]);
+                        classes = result[2];
+                    }
+                    out.printf("%-14s %-8s %12d %14d %10d%n", handler, mode.get(0), median(uptimes), median(invocations), classes);
+                }
+            }
+        }
+        System.out.println(new String(Files.readAllBytes(Paths.get(reportFile)), StandardCharsets.UTF_8));
+    }
+
+    private static long[] runProbe(List<String> jvmOptions, String handler) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(CdsTraining.class.getName());
+        command.add("probe");
+        command.add(handler);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String probe = null;
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+                if (line.startsWith(PROBE_PREFIX)) {
+                    probe = line;
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0 || probe == null) {
+            throw new IllegalStateException(command + " exited with " + exitCode + ":\n" + String.join("\n", output));
+        }
+        String[] fields = probe.substring(PROBE_PREFIX.length()).split(" ");
+        if (!OperationStatus.SUCCESS.name().equals(fields[0])) {
+            throw new IllegalStateException(handler + " returned " + fields[0]);
+        }
+        return new long[] {Long.parseLong(fields[1]), Long.parseLong(fields[2]), Long.parseLong(fields[3])};
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
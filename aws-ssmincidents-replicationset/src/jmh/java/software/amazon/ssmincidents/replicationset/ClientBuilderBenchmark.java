@@ -0,0 +1,48 @@
+package software.amazon.ssmincidents.replicationset;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of obtaining a client per invocation: building a new one, as done before clients were cached,
+ * versus looking up the cached one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientBuilderBenchmark {
+
+    private static final Region REGION = Region.US_EAST_1;
+
+    @TearDown
+    public void tearDown() {
+        ClientBuilder.invalidate();
+    }
+
+    @Benchmark
+    public String buildClient() {
+        try (SsmIncidentsClient client = ClientBuilder.buildClient(REGION)) {
+            return client.serviceName();
+        }
+    }
+
+    @Benchmark
+    public String cachedClient() {
+        return ClientBuilder.getClient(REGION).serviceName();
+    }
+}
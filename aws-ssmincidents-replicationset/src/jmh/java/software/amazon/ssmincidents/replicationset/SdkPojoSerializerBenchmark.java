@@ -0,0 +1,80 @@
+package software.amazon.ssmincidents.replicationset;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.RegionInfo;
+import software.amazon.awssdk.services.ssmincidents.model.RegionStatus;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSetStatus;
+import software.amazon.ssmincidents.replicationset.util.AwsObjectsSerializerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging a GetReplicationSet response: bean introspection of its builder, as AwsObjectsSerializerFactory
+ * used to do, versus the SdkField metadata walk of SdkPojoSerializer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SdkPojoSerializerBenchmark {
+
+    private static final Instant NOW = Instant.ofEpochSecond(1620000000L);
+
+    private final GetReplicationSetResponse response = GetReplicationSetResponse.builder()
+        .replicationSet(ReplicationSet.builder()
+            .arn("arn:aws:ssm-incidents::111122223333:replication-set/40bd98f0-4110-2dee-b35e-b87006f9e172")
+            .status(ReplicationSetStatus.ACTIVE)
+            .deletionProtected(true)
+            .createdBy("arn:aws:iam::111122223333:role/deployment")
+            .createdTime(NOW)
+            .lastModifiedBy("arn:aws:iam::111122223333:role/deployment")
+            .lastModifiedTime(NOW)
+            .regionMap(ImmutableMap.of(
+                "us-east-1", RegionInfo.builder().status(RegionStatus.ACTIVE).statusUpdateDateTime(NOW).build(),
+                "us-west-2", RegionInfo.builder().status(RegionStatus.ACTIVE).statusUpdateDateTime(NOW).sseKmsKeyId("key").build()))
+            .build())
+        .build();
+
+    private final ObjectMapper builderMapper = mapper();
+
+    private final ObjectMapper sdkFieldsMapper = mapper();
+
+    public SdkPojoSerializerBenchmark() {
+        sdkFieldsMapper.setSerializerFactory(new AwsObjectsSerializerFactory(sdkFieldsMapper.getSerializerFactory()));
+    }
+
+    private static ObjectMapper mapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        mapper.registerModule(new JavaTimeModule());
+        return mapper;
+    }
+
+    @Benchmark
+    public String builderIntrospection() throws JsonProcessingException {
+        return builderMapper.writeValueAsString(response.toBuilder());
+    }
+
+    @Benchmark
+    public String sdkFields() throws JsonProcessingException {
+        return sdkFieldsMapper.writeValueAsString(response);
+    }
+}
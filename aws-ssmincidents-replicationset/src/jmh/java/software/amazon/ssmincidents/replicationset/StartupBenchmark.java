@@ -0,0 +1,140 @@
+package software.amazon.ssmincidents.replicationset;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.RegionMapInputValue;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.fake.InMemorySsmIncidentsClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first response of each handler in a fresh JVM, as on a Lambda cold start, against
+ * {@link InMemorySsmIncidentsClient}. Every fork makes a single invocation; regions become active right away,
+ * so Create, Update and Delete complete within it. The replication set which Read, Update and Delete work on is
+ * created through the fake client during setup.
+ * <p>
+ * Run with {@code -prof cl} for the number of classes loaded, and list them with
+ * {@code -jvmArgsAppend -verbose:class}:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@benchmark -Djmh.args="StartupBenchmark -p handler=ListHandler -prof cl"
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    // polls without delay, the regions of the fake client are active as soon as they are created
+    private static final StabilizationScheduler SCHEDULER = new StabilizationScheduler() {
+        @Override
+        public Duration maxAwaitDuration() {
+            return Duration.ofMinutes(1);
+        }
+
+        @Override
+        public Duration nextDelay(int attempt) {
+            return Duration.ofMillis(1);
+        }
+    };
+
+    @Param({"CreateHandler", "ReadHandler", "UpdateHandler", "ListHandler", "DeleteHandler"})
+    private String handler;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    private LoggerProxy logger;
+
+    private ResourceHandlerRequest<ResourceModel> request;
+
+    @Setup
+    public void setup() {
+        InMemorySsmIncidentsClient client = new InMemorySsmIncidentsClient(Clock.systemUTC());
+        String arn = null;
+        if (!"CreateHandler".equals(handler) && !"ListHandler".equals(handler)) {
+            arn = client.createReplicationSet(CreateReplicationSetRequest.builder()
+                .regions(ImmutableMap.of("us-east-1", RegionMapInputValue.builder().build()))
+                .build()).arn();
+        }
+        ClientBuilder.setClientFactory(region -> client);
+        logger = new LoggerProxy();
+        proxy = new AmazonWebServicesClientProxy(
+            logger, new Credentials("accessKey", "secretKey", "token"), () -> Duration.ofMinutes(15).toMillis());
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+            .clientRequestToken("startup")
+            .awsAccountId("111122223333")
+            .region("us-east-1")
+            .previousResourceState("UpdateHandler".equals(handler) ? model(arn, "us-east-1") : null)
+            .desiredResourceState(desiredModel(arn))
+            .build();
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> firstResponse() {
+        return newHandler().handleRequest(proxy, request, null, logger);
+    }
+
+    private BaseHandlerStd newHandler() {
+        switch (handler) {
+            case "CreateHandler":
+                return new CreateHandler(Clock.systemUTC(), SCHEDULER, Sleeper.THREAD_SLEEPER);
+            case "ReadHandler":
+                return new ReadHandler();
+            case "UpdateHandler":
+                return new UpdateHandler(Clock.systemUTC(), SCHEDULER, Sleeper.THREAD_SLEEPER);
+            case "ListHandler":
+                return new ListHandler();
+            case "DeleteHandler":
+                return new DeleteHandler(Clock.systemUTC(), SCHEDULER, Sleeper.THREAD_SLEEPER);
+            default:
+                throw new IllegalArgumentException("Unknown handler " + handler);
+        }
+    }
+
+    private ResourceModel desiredModel(String arn) {
+        switch (handler) {
+            case "CreateHandler":
+                return model(null, "us-east-1");
+            case "UpdateHandler":
+                return model(arn, "us-east-1", "us-west-2");
+            case "ListHandler":
+                return ResourceModel.builder().build();
+            default:
+                return ResourceModel.builder().arn(arn).build();
+        }
+    }
+
+    private static ResourceModel model(String arn, String... regionNames) {
+        ImmutableSet.Builder<ReplicationRegion> regions = ImmutableSet.builder();
+        for (String regionName : regionNames) {
+            regions.add(new ReplicationRegion(regionName, RegionConfiguration.builder().build()));
+        }
+        return ResourceModel.builder()
+            .arn(arn)
+            .regions(regions.build())
+            .deletionProtected(false)
+            .tags(ImmutableSet.of(new Tag("team", "incident-response")))
+            .build();
+    }
+}
@@ -0,0 +1,119 @@
+package software.amazon.ssmincidents.replicationset;
+
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetResponse;
+import software.amazon.ssmincidents.replicationset.fake.InMemorySsmIncidentsClient;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An account holds at most one replication set, so concurrent invocations only make sense across accounts.
+ * Routes calls to the {@link InMemorySsmIncidentsClient} of the account bound to the calling thread, and
+ * calls naming a replication set to the account which created it, those may run on other threads.
+ */
+final class AccountRoutingClient implements SsmIncidentsClient {
+
+    private final ThreadLocal<InMemorySsmIncidentsClient> account = new ThreadLocal<>();
+
+    private final Map<String, InMemorySsmIncidentsClient> accountsByArn = new ConcurrentHashMap<>();
+
+    void bind(InMemorySsmIncidentsClient accountClient) {
+        account.set(accountClient);
+    }
+
+    void unbind() {
+        account.remove();
+    }
+
+    @Override
+    public CreateReplicationSetResponse createReplicationSet(CreateReplicationSetRequest request) {
+        InMemorySsmIncidentsClient accountClient = boundAccount();
+        CreateReplicationSetResponse response = accountClient.createReplicationSet(request);
+        accountsByArn.put(response.arn(), accountClient);
+        return response;
+    }
+
+    @Override
+    public ListReplicationSetsResponse listReplicationSets(ListReplicationSetsRequest request) {
+        return boundAccount().listReplicationSets(request);
+    }
+
+    @Override
+    public GetReplicationSetResponse getReplicationSet(GetReplicationSetRequest request) {
+        return accountOf(request.arn()).getReplicationSet(request);
+    }
+
+    @Override
+    public UpdateReplicationSetResponse updateReplicationSet(UpdateReplicationSetRequest request) {
+        return accountOf(request.arn()).updateReplicationSet(request);
+    }
+
+    @Override
+    public UpdateDeletionProtectionResponse updateDeletionProtection(UpdateDeletionProtectionRequest request) {
+        return accountOf(request.arn()).updateDeletionProtection(request);
+    }
+
+    @Override
+    public DeleteReplicationSetResponse deleteReplicationSet(DeleteReplicationSetRequest request) {
+        return accountOf(request.arn()).deleteReplicationSet(request);
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(ListTagsForResourceRequest request) {
+        return accountOf(request.resourceArn()).listTagsForResource(request);
+    }
+
+    @Override
+    public TagResourceResponse tagResource(TagResourceRequest request) {
+        return accountOf(request.resourceArn()).tagResource(request);
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(UntagResourceRequest request) {
+        return accountOf(request.resourceArn()).untagResource(request);
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private InMemorySsmIncidentsClient boundAccount() {
+        InMemorySsmIncidentsClient accountClient = account.get();
+        if (accountClient == null) {
+            throw new IllegalStateException("No account bound to " + Thread.currentThread().getName());
+        }
+        return accountClient;
+    }
+
+    private InMemorySsmIncidentsClient accountOf(String arn) {
+        InMemorySsmIncidentsClient accountClient = arn == null ? null : accountsByArn.get(arn);
+        if (accountClient == null) {
+            throw ResourceNotFoundException.builder().message("Replication set " + arn + " not found").build();
+        }
+        return accountClient;
+    }
+}
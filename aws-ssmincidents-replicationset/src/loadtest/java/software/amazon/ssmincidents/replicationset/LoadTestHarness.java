@@ -0,0 +1,339 @@
+package software.amazon.ssmincidents.replicationset;
+
+import com.google.common.collect.ImmutableSet;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.fake.InMemorySsmIncidentsClient;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Invokes the handlers concurrently through their public entry point, the one the generated HandlerWrapper calls,
+ * against one {@link InMemorySsmIncidentsClient} per simulated account. Reports latency percentiles, allocation
+ * rate and GC pauses per handler. The latency of a Create, Update or Delete covers all re-invocations until the
+ * replication set is stable, regions take {@code regionLatencyMillis} to be added or removed.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec@loadtest -Dloadtest.args="concurrency=64 invocations=2000 regionLatencyMillis=100"
+ * </pre>
+ */
+public class LoadTestHarness {
+
+    private static final Credentials CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
+
+    // no log publishers: messages are built, as in Lambda, but discarded
+    private static final LoggerProxy LOGGER = new LoggerProxy();
+
+    private static final int MAX_INVOCATIONS = 1000;
+
+    private final int concurrency;
+
+    private final int invocations;
+
+    private final long callLatencyMillis;
+
+    private final long regionLatencyMillis;
+
+    private final double throttleRate;
+
+    private final StabilizationScheduler scheduler;
+
+    private final AccountRoutingClient client = new AccountRoutingClient();
+
+    private final GcPauses gcPauses = new GcPauses();
+
+    private LoadTestHarness(int concurrency, int invocations, long callLatencyMillis, long regionLatencyMillis, double throttleRate) {
+        this.concurrency = concurrency;
+        this.invocations = invocations;
+        this.callLatencyMillis = callLatencyMillis;
+        this.regionLatencyMillis = regionLatencyMillis;
+        this.throttleRate = throttleRate;
+        // polls at a tenth of the region latency, the production schedule is tuned for minutes
+        Duration pollDelay = Duration.ofMillis(Math.max(1, regionLatencyMillis / 10));
+        this.scheduler = new StabilizationScheduler() {
+            @Override
+            public Duration maxAwaitDuration() {
+                return Duration.ofMinutes(10);
+            }
+
+            @Override
+            public Duration nextDelay(int attempt) {
+                return pollDelay;
+            }
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        LoadTestHarness harness = new LoadTestHarness(
+            Integer.parseInt(options.getOrDefault("concurrency", "64")),
+            Integer.parseInt(options.getOrDefault("invocations", "2000")),
+            Long.parseLong(options.getOrDefault("callLatencyMillis", "0")),
+            Long.parseLong(options.getOrDefault("regionLatencyMillis", "100")),
+            Double.parseDouble(options.getOrDefault("throttleRate", "0")));
+        ClientBuilder.setClientFactory(region -> harness.client);
+        // concurrent invocations stand for separate containers, one container's token buckets would serialize them
+        ClientBuilder.setRateLimits(Collections.emptyMap());
+
+        harness.gcPauses.install();
+        System.out.printf("concurrency=%d invocations=%d callLatencyMillis=%d regionLatencyMillis=%d throttleRate=%s%n",
+            harness.concurrency, harness.invocations, harness.callLatencyMillis, harness.regionLatencyMillis, harness.throttleRate);
+        ExecutorService executor = Executors.newFixedThreadPool(harness.concurrency);
+        try {
+            // first round lets the JIT compile the handler paths, its numbers are not reported
+            harness.runAll(executor, false);
+            harness.runAll(executor, true);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runAll(ExecutorService executor, boolean report) throws Exception {
+        InMemorySsmIncidentsClient[] accounts = new InMemorySsmIncidentsClient[invocations];
+        for (int i = 0; i < invocations; i++) {
+            accounts[i] = new InMemorySsmIncidentsClient(Clock.systemUTC())
+                .withRegionLatency(Duration.ofMillis(regionLatencyMillis))
+                .withCallLatency(Duration.ofMillis(callLatencyMillis))
+                .withThrottling(throttleRate, i);
+        }
+        AtomicReferenceArray<String> arns = new AtomicReferenceArray<>(invocations);
+        List<PhaseResult> results = new ArrayList<>();
+        results.add(run(executor, accounts, "CreateHandler", i -> {
+            ProgressEvent<ResourceModel, CallbackContext> event = drive(
+                () -> new CreateHandler(Clock.systemUTC(), scheduler, Sleeper.THREAD_SLEEPER),
+                request("create-" + i, null, model(null, "us-east-1")));
+            if (event.getResourceModel() != null) {
+                arns.set(i, event.getResourceModel().getArn());
+            }
+            return event;
+        }));
+        results.add(run(executor, accounts, "ReadHandler", i -> new ReadHandler().handleRequest(
+            proxy(), request(null, null, ResourceModel.builder().arn(arns.get(i)).build()), null, LOGGER)));
+        results.add(run(executor, accounts, "UpdateHandler", i -> drive(
+            () -> new UpdateHandler(Clock.systemUTC(), scheduler, Sleeper.THREAD_SLEEPER),
+            request("update-" + i, model(arns.get(i), "us-east-1"), model(arns.get(i), "us-east-1", "us-west-2")))));
+        results.add(run(executor, accounts, "ListHandler", i -> new ListHandler().handleRequest(
+            proxy(), request(null, null, ResourceModel.builder().build()), null, LOGGER)));
+        results.add(run(executor, accounts, "DeleteHandler", i -> drive(
+            () -> new DeleteHandler(Clock.systemUTC(), scheduler, Sleeper.THREAD_SLEEPER),
+            request("delete-" + i, null, ResourceModel.builder().arn(arns.get(i)).build()))));
+        if (report) {
+            System.out.println(PhaseResult.HEADER);
+            results.forEach(System.out::println);
+        }
+    }
+
+    /**
+     * Re-invokes a new handler instance with the returned callback context, as CloudFormation does, until the
+     * operation completes.
+     */
+    private static ProgressEvent<ResourceModel, CallbackContext> drive(
+        Supplier<BaseHandlerStd> handlers,
+        ResourceHandlerRequest<ResourceModel> request
+    ) {
+        CallbackContext context = null;
+        for (int invocation = 0; invocation < MAX_INVOCATIONS; invocation++) {
+            ProgressEvent<ResourceModel, CallbackContext> event = handlers.get().handleRequest(proxy(), request, context, LOGGER);
+            if (event.getStatus() != OperationStatus.IN_PROGRESS) {
+                return event;
+            }
+            try {
+                Thread.sleep(Duration.ofSeconds(event.getCallbackDelaySeconds()).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return event;
+            }
+            context = event.getCallbackContext();
+            request.setDesiredResourceState(event.getResourceModel());
+        }
+        throw new IllegalStateException("Handler still in progress after " + MAX_INVOCATIONS + " invocations");
+    }
+
+    private PhaseResult run(
+        ExecutorService executor,
+        InMemorySsmIncidentsClient[] accounts,
+        String handler,
+        IntFunction<ProgressEvent<ResourceModel, CallbackContext>> invocation
+    ) throws Exception {
+        long[] latencies = new long[invocations];
+        AtomicInteger failures = new AtomicInteger();
+        int gcMark = gcPauses.mark();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(invocations);
+        for (int i = 0; i < invocations; i++) {
+            final int index = i;
+            futures.add(executor.submit(() -> {
+                client.bind(accounts[index]);
+                long begin = System.nanoTime();
+                ProgressEvent<ResourceModel, CallbackContext> event;
+                try {
+                    event = invocation.apply(index);
+                } catch (RuntimeException e) {
+                    event = null;
+                } finally {
+                    client.unbind();
+                }
+                latencies[index] = System.nanoTime() - begin;
+                if (event == null || event.getStatus() != OperationStatus.SUCCESS) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        return new PhaseResult(handler, latencies, failures.get(), elapsed, allocated, gcPauses.since(gcMark));
+    }
+
+    private static AmazonWebServicesClientProxy proxy() {
+        return new AmazonWebServicesClientProxy(LOGGER, CREDENTIALS, () -> Duration.ofMinutes(15).toMillis());
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(String clientRequestToken, ResourceModel previous, ResourceModel desired) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .clientRequestToken(clientRequestToken)
+            .awsAccountId("111122223333")
+            .region("us-east-1")
+            .previousResourceState(previous)
+            .desiredResourceState(desired)
+            .build();
+    }
+
+    private static ResourceModel model(String arn, String... regionNames) {
+        ImmutableSet.Builder<ReplicationRegion> regions = ImmutableSet.builder();
+        for (String regionName : regionNames) {
+            regions.add(new ReplicationRegion(regionName, RegionConfiguration.builder().build()));
+        }
+        return ResourceModel.builder()
+            .arn(arn)
+            .regions(regions.build())
+            .deletionProtected(false)
+            .tags(ImmutableSet.of(new Tag("team", "incident-response")))
+            .build();
+    }
+
+    // bytes allocated by all live threads, threads which ended in between are not counted
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds())).filter(bytes -> bytes > 0).sum();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Durations of the collections reported by the JVM, in the order they were reported.
+     */
+    private static final class GcPauses implements NotificationListener {
+
+        private final List<Long> pauses = Collections.synchronizedList(new ArrayList<>());
+
+        private void install() {
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter) {
+                    ((NotificationEmitter) collector).addNotificationListener(this, null, null);
+                }
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                pauses.add(info.getGcInfo().getDuration());
+            }
+        }
+
+        private int mark() {
+            return pauses.size();
+        }
+
+        private List<Long> since(int mark) {
+            synchronized (pauses) {
+                return new ArrayList<>(pauses.subList(mark, pauses.size()));
+            }
+        }
+    }
+
+    private static final class PhaseResult {
+
+        private static final String HEADER = String.format("%-14s %8s %8s %10s %9s %9s %9s %10s %6s %9s %9s",
+            "handler", "calls", "failed", "calls/s", "p50 ms", "p99 ms", "max ms", "alloc MB/s", "gcs", "gc ms", "gc max");
+
+        private final String handler;
+        private final long[] latencies;
+        private final int failures;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+        private final List<Long> gcPauses;
+
+        private PhaseResult(String handler, long[] latencies, int failures, long elapsedNanos, long allocatedBytes, List<Long> gcPauses) {
+            this.handler = handler;
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.gcPauses = gcPauses;
+        }
+
+        private double percentileMillis(double quantile) {
+            int index = Math.max(0, (int) Math.ceil(quantile * latencies.length) - 1);
+            return latencies[index] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("%-14s %8d %8d %10.1f %9.2f %9.2f %9.2f %10.1f %6d %9d %9d",
+                handler,
+                latencies.length,
+                failures,
+                latencies.length / seconds,
+                percentileMillis(0.5),
+                percentileMillis(0.99),
+                percentileMillis(1.0),
+                allocatedBytes / seconds / (1024 * 1024),
+                gcPauses.size(),
+                gcPauses.stream().mapToLong(Long::longValue).sum(),
+                gcPauses.stream().mapToLong(Long::longValue).max().orElse(0));
+        }
+    }
+}
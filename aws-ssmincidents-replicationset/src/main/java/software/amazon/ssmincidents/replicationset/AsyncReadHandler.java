@@ -0,0 +1,62 @@
+package software.amazon.ssmincidents.replicationset;
+
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ReadHandler} on the async client, GetReplicationSet and ListTagsForResource are in flight together.
+ * Experimental, see {@link BaseHandlerAsync}.
+ */
+public class AsyncReadHandler extends BaseHandlerAsync {
+
+    @Override
+    protected CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequest(
+        AmazonWebServicesClientProxy proxy,
+        ResourceHandlerRequest<ResourceModel> request,
+        CallbackContext callbackContext,
+        ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        Logger logger) {
+
+        ResourceModel model = request.getDesiredResourceState();
+
+        // should never be null, returning NotFound according to RPDK contract test expectation
+        if (model.getArn() == null) {
+            return CompletableFuture.completedFuture(ProgressEvent.defaultFailureHandler(
+                ResourceNotFoundException.builder()
+                    .message("arn was null, cannot read replication set with null arn")
+                    .build(),
+                HandlerErrorCode.NotFound
+            ));
+        }
+
+        GetReplicationSetRequest awsRequest = Translator.translateToReadRequest(model);
+        CompletableFuture<GetReplicationSetResponse> replicationSet = proxyClient.injectCredentialsAndInvokeV2Async(
+            awsRequest,
+            proxyClient.client()::getReplicationSet
+        );
+        CompletableFuture<ListTagsForResourceResponse> tags = proxyClient.injectCredentialsAndInvokeV2Async(
+            ListTagsForResourceRequest.builder().resourceArn(awsRequest.arn()).build(),
+            proxyClient.client()::listTagsForResource
+        );
+        // waits for both calls whatever their outcome, so no call outlives the invocation,
+        // then reports the GetReplicationSet failure, NotFound after a delete, ahead of the tags one
+        return CompletableFuture.allOf(
+                replicationSet.handle((response, exception) -> null),
+                tags.handle((response, exception) -> null))
+            .thenApply(ignored -> ProgressEvent.<ResourceModel, CallbackContext>defaultSuccessHandler(
+                ReadHandler.readModel(model, awsRequest.arn(), replicationSet.join(), tags.join())))
+            .exceptionally(BaseHandlerAsync::failure);
+    }
+}
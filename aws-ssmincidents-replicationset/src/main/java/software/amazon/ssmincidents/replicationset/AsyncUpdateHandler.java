@@ -0,0 +1,199 @@
+package software.amazon.ssmincidents.replicationset;
+
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSetStatus;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.util.TagDiff;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link UpdateHandler} on the async client. Every invocation reads the replication set and makes at most one
+ * region update, a replication set which is not ACTIVE is awaited with a callback delay. Once the regions are in
+ * place UpdateDeletionProtection, TagResource and UntagResource are in flight together.
+ * Experimental, see {@link BaseHandlerAsync}.
+ */
+public class AsyncUpdateHandler extends BaseHandlerAsync {
+
+    private final StabilizationScheduler stabilizationScheduler;
+
+    public AsyncUpdateHandler() {
+        this(Clock.systemUTC(), new BackoffStabilizationScheduler());
+    }
+
+    AsyncUpdateHandler(Clock clock, StabilizationScheduler stabilizationScheduler) {
+        super(clock);
+        this.stabilizationScheduler = stabilizationScheduler;
+    }
+
+    @Override
+    protected CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequest(
+        AmazonWebServicesClientProxy proxy,
+        ResourceHandlerRequest<ResourceModel> request,
+        CallbackContext callbackContext,
+        ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        Logger logger) {
+
+        ResourceModel model = request.getDesiredResourceState();
+        TagDiff tagDiff = TagDiff.between(
+            Optional.ofNullable(request.getPreviousResourceState()).map(ResourceModel::getTags).orElse(null),
+            model.getTags(),
+            Tag::getKey,
+            Tag::getValue);
+        if (tagDiff.hasDuplicateKeys()) {
+            return CompletableFuture.completedFuture(ProgressEvent.failed(model, callbackContext,
+                HandlerErrorCode.InvalidRequest, "duplicate tag keys: " + tagDiff.getDuplicateKeys()));
+        }
+
+        metrics().increment(BaseHandlerStd.STABILIZATION_POLLS);
+        return proxyClient.injectCredentialsAndInvokeV2Async(
+                Translator.translateToReadRequest(model),
+                proxyClient.client()::getReplicationSet
+            )
+            .thenCompose(awsResponse -> update(proxyClient, request, callbackContext, awsResponse.replicationSet(), tagDiff, logger))
+            .exceptionally(BaseHandlerAsync::failure);
+    }
+
+    private CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> update(
+        ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        ResourceHandlerRequest<ResourceModel> request,
+        CallbackContext context,
+        ReplicationSet replicationSet,
+        TagDiff tagDiff,
+        Logger logger
+    ) {
+        ResourceModel model = request.getDesiredResourceState();
+        logger.log("AsyncUpdateHandler: replicationSet status = " + replicationSet.status());
+        if (replicationSet.status() == ReplicationSetStatus.FAILED) {
+            return CompletableFuture.completedFuture(ProgressEvent.defaultFailureHandler(
+                new RuntimeException("Replication Set creation failed"),
+                HandlerErrorCode.NotStabilized
+            ));
+        }
+        if (replicationSet.status() != ReplicationSetStatus.ACTIVE) {
+            return CompletableFuture.completedFuture(awaitStabilization(context, model, logger));
+        }
+        context.setStabilizationDeadline(null);
+        context.setStabilizationAttempt(null);
+
+        if (!context.mainAPICalled()) {
+            List<RegionUpdateStep> plan = Translator.planRegionUpdates(replicationSet, model);
+            if (plan.isEmpty()) {
+                context.setMainAPICalled(true);
+                return finishUpdate(proxyClient, model, replicationSet, tagDiff);
+            }
+            logger.log("AsyncUpdateHandler: region update plan = " + plan);
+            return updateReplicationSet(proxyClient, Translator.translateToUpdateRequest(plan.get(0), model, request.getClientRequestToken()))
+                .thenApply(awsResponse -> {
+                    context.setMainAPICalled(true);
+                    context.setRegionUpdatePlan(plan.size() > 1 ? new ArrayList<>(plan.subList(1, plan.size())) : null);
+                    return awaitStabilization(context, model, logger);
+                });
+        }
+
+        List<RegionUpdateStep> remainingSteps = context.getRegionUpdatePlan();
+        if (remainingSteps != null && !remainingSteps.isEmpty()) {
+            RegionUpdateStep step = remainingSteps.get(0);
+            logger.log("AsyncUpdateHandler: applying " + step);
+            return updateReplicationSet(proxyClient,
+                Translator.translateToUpdateRequest(step, model, Translator.stepClientToken(request.getClientRequestToken(), step)))
+                .thenApply(awsResponse -> {
+                    remainingSteps.remove(0);
+                    if (remainingSteps.isEmpty()) {
+                        context.setRegionUpdatePlan(null);
+                    }
+                    return awaitStabilization(context, model, logger);
+                });
+        }
+        context.setRegionUpdatePlan(null);
+        return finishUpdate(proxyClient, model, replicationSet, tagDiff);
+    }
+
+    private CompletableFuture<UpdateReplicationSetResponse> updateReplicationSet(
+        ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        UpdateReplicationSetRequest awsRequest
+    ) {
+        return proxyClient.injectCredentialsAndInvokeV2Async(awsRequest, proxyClient.client()::updateReplicationSet);
+    }
+
+    /**
+     * Makes the calls which only need the regions to be in place concurrently, and completes the update
+     * once all of them went through.
+     */
+    private CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> finishUpdate(
+        ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        ResourceModel model,
+        ReplicationSet replicationSet,
+        TagDiff tagDiff
+    ) {
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        UpdateDeletionProtectionRequest deletionProtection = Translator.translateToUpdateDeletionProtection(model);
+        if (deletionProtection != null) {
+            calls.add(proxyClient.injectCredentialsAndInvokeV2Async(
+                deletionProtection,
+                proxyClient.client()::updateDeletionProtection));
+        }
+        if (!tagDiff.getTagsToAdd().isEmpty()) {
+            calls.add(proxyClient.injectCredentialsAndInvokeV2Async(
+                TagResourceRequest.builder().resourceArn(model.getArn()).tags(tagDiff.getTagsToAdd()).build(),
+                proxyClient.client()::tagResource));
+        }
+        if (!tagDiff.getTagKeysToRemove().isEmpty()) {
+            calls.add(proxyClient.injectCredentialsAndInvokeV2Async(
+                UntagResourceRequest.builder().resourceArn(model.getArn()).tagKeys(tagDiff.getTagKeysToRemove()).build(),
+                proxyClient.client()::untagResource));
+        }
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+            .handle((ignored, exception) -> {
+                if (exception != null) {
+                    return failure(exception);
+                }
+                return ProgressEvent.defaultSuccessHandler(BaseHandlerStd.writtenModel(model, model, replicationSet));
+            });
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> awaitStabilization(CallbackContext context, ResourceModel model, Logger logger) {
+        Instant now = clock().instant();
+        if (context.getStabilizationDeadline() == null) {
+            Instant deadline = now.plus(stabilizationScheduler.maxAwaitDuration());
+            logger.log("AsyncUpdateHandler: setting stabilization deadline to " + deadline);
+            context.setStabilizationDeadline(deadline.toEpochMilli());
+            context.setStabilizationAttempt(0);
+        }
+        Duration remaining = Duration.between(now, Instant.ofEpochMilli(context.getStabilizationDeadline()));
+        if (remaining.isNegative() || remaining.isZero()) {
+            logger.log("AsyncUpdateHandler: timed out waiting for replication set to become active");
+            return ProgressEvent.defaultFailureHandler(
+                new RuntimeException("Timed out waiting for replication set to become ACTIVE"),
+                HandlerErrorCode.NotStabilized
+            );
+        }
+        int attempt = Optional.ofNullable(context.getStabilizationAttempt()).orElse(0);
+        Duration delay = stabilizationScheduler.nextDelay(attempt);
+        if (delay.compareTo(remaining) > 0) {
+            // poll one last time right at the deadline
+            delay = remaining;
+        }
+        context.setStabilizationAttempt(attempt + 1);
+        int delaySeconds = (int) Math.max(1, delay.getSeconds());
+        logger.log("AsyncUpdateHandler: attempt " + attempt + ", returning delay in seconds = " + delaySeconds);
+        return ProgressEvent.defaultInProgressHandler(context, delaySeconds, model);
+    }
+}
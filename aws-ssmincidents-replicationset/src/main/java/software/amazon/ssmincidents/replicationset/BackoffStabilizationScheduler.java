@@ -0,0 +1,58 @@
+package software.amazon.ssmincidents.replicationset;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Polls a few times with a short delay, as small replication sets usually stabilize within a minute,
+ * then backs off exponentially with jitter up to a capped delay.
+ */
+public class BackoffStabilizationScheduler implements StabilizationScheduler {
+
+    // total await time of 2 hours
+    static final Duration MAX_AWAIT_DURATION = Duration.ofHours(2);
+    static final int FAST_POLL_COUNT = 3;
+    static final Duration FAST_POLL_DELAY = Duration.ofSeconds(5);
+    static final Duration BACKOFF_BASE_DELAY = Duration.ofSeconds(10);
+    static final Duration BACKOFF_MAX_DELAY = Duration.ofSeconds(60);
+
+    // keeps the shift below from overflowing, the delay is capped long before that anyway
+    private static final int MAX_BACKOFF_EXPONENT = 20;
+
+    private final DoubleSupplier jitter;
+
+    public BackoffStabilizationScheduler() {
+        this(() -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * @param jitter supplies values in [0, 1) used to randomize backoff delays
+     */
+    @VisibleForTesting
+    BackoffStabilizationScheduler(DoubleSupplier jitter) {
+        this.jitter = jitter;
+    }
+
+    @Override
+    public Duration maxAwaitDuration() {
+        return MAX_AWAIT_DURATION;
+    }
+
+    @Override
+    public Duration nextDelay(int attempt) {
+        if (attempt < FAST_POLL_COUNT) {
+            return FAST_POLL_DELAY;
+        }
+        int exponent = Math.min(attempt - FAST_POLL_COUNT, MAX_BACKOFF_EXPONENT);
+        long ceilingMillis = Math.min(BACKOFF_MAX_DELAY.toMillis(), BACKOFF_BASE_DELAY.toMillis() << exponent);
+        // "equal jitter": keep half of the delay, randomize the other half
+        long halfMillis = ceilingMillis / 2;
+        long delayMillis = halfMillis + (long) (jitter.getAsDouble() * (ceilingMillis - halfMillis));
+        // callback delays are whole seconds, never go below the fast poll delay
+        long delaySeconds = Math.max(FAST_POLL_DELAY.getSeconds(), (delayMillis + 999) / 1000);
+        return Duration.ofSeconds(delaySeconds);
+    }
+}
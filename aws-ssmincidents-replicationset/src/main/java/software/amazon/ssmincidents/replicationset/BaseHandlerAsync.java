@@ -0,0 +1,130 @@
+package software.amazon.ssmincidents.replicationset;
+
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.util.HandlerMetrics;
+import software.amazon.ssmincidents.replicationset.util.LevelLogger;
+import software.amazon.ssmincidents.replicationset.util.MeteredProxyClient;
+import software.amazon.ssmincidents.replicationset.util.RateLimitedProxyClient;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Base of the handlers which call SSM Incidents through {@link SsmIncidentsAsyncClient}. A handler composes its calls
+ * into one future, so calls which do not depend on each other are in flight together, and the invocation waits for
+ * that future once. Unlike {@link BaseHandlerStd} nothing is polled in-process, a replication set which is not ACTIVE
+ * yet is awaited with a callback delay.
+ * <p>
+ * Experimental: the resource type registers the sync handlers, and HandlerWrapper never dispatches to the async
+ * ones. They are exercised by the unit tests and by {@code AsyncHandlerBenchmark} only.
+ */
+public abstract class BaseHandlerAsync extends BaseHandler<CallbackContext> {
+
+    private final Clock clock;
+
+    private HandlerMetrics metrics;
+
+    protected BaseHandlerAsync() {
+        this(Clock.systemUTC());
+    }
+
+    protected BaseHandlerAsync(Clock clock) {
+        this.clock = clock;
+        this.metrics = new HandlerMetrics(getClass().getSimpleName());
+    }
+
+    @Override
+    public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        AmazonWebServicesClientProxy proxy,
+        ResourceHandlerRequest<ResourceModel> request,
+        CallbackContext callbackContext,
+        Logger logger) {
+        metrics = new HandlerMetrics(getClass().getSimpleName());
+        LevelLogger levelLogger = new LevelLogger(logger);
+        ProgressEvent<ResourceModel, CallbackContext> res;
+        CallbackContext context = callbackContext != null ? callbackContext : new CallbackContext();
+        // the async client runs interceptors on its event loop, SDK retries of these calls are not counted
+        HandlerMetrics.bind(metrics);
+        try {
+            res = handleRequest(
+                proxy,
+                request,
+                context,
+                new MeteredProxyClient<>(
+                    new RateLimitedProxyClient<>(proxy.newProxy(ClientBuilder::getAsyncClient), metrics, ClientBuilder.getRateLimits()),
+                    metrics),
+                logger
+            ).join();
+        } catch (Exception e) {
+            levelLogger.error(() -> "Unhandled exception in handler: " + stackTrace(e));
+            res = ProgressEvent.defaultFailureHandler(e, HandlerErrorCode.ServiceInternalError);
+        } finally {
+            HandlerMetrics.unbind();
+        }
+        metrics.emit(logger, clock.millis());
+        ProgressEvent<ResourceModel, CallbackContext> result = res;
+        levelLogger.info(() -> "Returning status: " + result.getStatus().name());
+        if (result.getErrorCode() != null) {
+            levelLogger.info(() -> "Returning errorCode: " + result.getErrorCode().name());
+        }
+        return result;
+    }
+
+    /**
+     * @return a future of the outcome of the invocation, which does not complete before all calls it started did
+     */
+    protected abstract CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequest(
+        AmazonWebServicesClientProxy proxy,
+        ResourceHandlerRequest<ResourceModel> request,
+        CallbackContext callbackContext,
+        ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        Logger logger
+    );
+
+    /**
+     * Fails the way the handlers of {@link BaseHandlerStd} fail on the exception a composed call completed with.
+     */
+    protected static ProgressEvent<ResourceModel, CallbackContext> failure(Throwable exception) {
+        Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+            ? exception.getCause()
+            : exception;
+        if (cause instanceof ResourceNotFoundException) {
+            return ProgressEvent.defaultFailureHandler(cause, HandlerErrorCode.NotFound);
+        }
+        if (cause instanceof ValidationException) {
+            return ProgressEvent.defaultFailureHandler(cause, HandlerErrorCode.InvalidRequest);
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return BaseHandlerStd.serviceFailure((Exception) cause);
+    }
+
+    protected Clock clock() {
+        return clock;
+    }
+
+    /**
+     * @return metrics of the current invocation
+     */
+    protected HandlerMetrics metrics() {
+        return metrics;
+    }
+
+    private static String stackTrace(Exception e) {
+        StringWriter sw = new StringWriter();
+        e.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+}
@@ -1,13 +1,15 @@
 package software.amazon.ssmincidents.replicationset;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
 import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
 import software.amazon.awssdk.services.ssmincidents.model.ReplicationSetStatus;
 import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionRequest;
@@ -20,30 +22,59 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 import software.amazon.ssmincidents.replicationset.util.AwsObjectsSerializerFactory;
+import software.amazon.ssmincidents.replicationset.util.HandlerMetrics;
+import software.amazon.ssmincidents.replicationset.util.LevelLogger;
+import software.amazon.ssmincidents.replicationset.util.MeteredProxyClient;
+import software.amazon.ssmincidents.replicationset.util.RateLimitedProxyClient;
+import software.amazon.ssmincidents.replicationset.util.RedactingJsonGenerator;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
 
-    private final static ObjectMapper objectMapper = new ObjectMapper();
-
     private static final String KMS_KEY_REDACTED_PLACEHOLDER = "<PROVIDED>";
 
-    static {
-        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.setSerializerFactory(new AwsObjectsSerializerFactory(objectMapper.getSerializerFactory()));
+    private static final Set<String> REDACTED_FIELDS = ImmutableSet.of("SseKmsKeyId");
+
+    // handler invocations are expected to return well within a minute, keep some of it
+    // for the steps which follow stabilization before handing control back to CloudFormation
+    @VisibleForTesting
+    static final Duration IN_PROCESS_POLLING_BUDGET = Duration.ofSeconds(40);
+
+    @VisibleForTesting
+    static final String STABILIZATION_POLLS = "StabilizationPolls";
+
+    private final Clock clock;
+
+    private final StabilizationScheduler stabilizationScheduler;
+
+    private final Sleeper sleeper;
+
+    // stabilization polls are repeated within the current invocation until this instant,
+    // afterwards a callback delay is returned to CloudFormation
+    private Instant inProcessPollingDeadline;
+
+    private HandlerMetrics metrics;
+
+    protected BaseHandlerStd() {
+        this(Clock.systemUTC(), new BackoffStabilizationScheduler(), Sleeper.THREAD_SLEEPER);
     }
 
-    // total await time of 2 hours
-    protected final static int INITIAL_AWAIT_COUNT = 240;
-    protected final static int RETRY_DELAY_SECONDS = 30;
+    protected BaseHandlerStd(Clock clock, StabilizationScheduler stabilizationScheduler, Sleeper sleeper) {
+        this.clock = clock;
+        this.stabilizationScheduler = stabilizationScheduler;
+        this.sleeper = sleeper;
+        this.metrics = new HandlerMetrics(getClass().getSimpleName());
+    }
 
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -51,51 +82,87 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         ResourceHandlerRequest<ResourceModel> request,
         CallbackContext callbackContext,
         Logger logger) {
-        try {
-            logger.log("Request from CFN: " + objectMapper.writeValueAsString(redactRequest(request)));
-            logger.log("Callback content: " + objectMapper.writeValueAsString(callbackContext));
-        } catch (JsonProcessingException e) {
-            StringWriter sw = new StringWriter();
-            e.printStackTrace(new PrintWriter(sw));
-            logger.log("Exception: " + sw);
-        }
+        beginInvocation();
+        metrics = new HandlerMetrics(getClass().getSimpleName());
+        LevelLogger levelLogger = new LevelLogger(logger);
+        levelLogger.debug(() -> "Request from CFN: " + toRedactedJson(request));
+        levelLogger.debug(() -> "Callback content: " + toRedactedJson(callbackContext));
         ProgressEvent<ResourceModel, CallbackContext> res;
+        HandlerMetrics.bind(metrics);
         try {
             res = handleRequest(
                 proxy,
                 request,
                 callbackContext != null ? callbackContext : new CallbackContext(),
-                proxy.newProxy(ClientBuilder::getClient),
+                new MeteredProxyClient<>(
+                    new RateLimitedProxyClient<>(proxy.newProxy(ClientBuilder::getClient), metrics, ClientBuilder.getRateLimits()),
+                    metrics),
                 logger
             );
         } catch (Exception e) {
-            StringWriter sw = new StringWriter();
-            e.printStackTrace(new PrintWriter(sw));
-            logger.log("Unhandled exception in handler: " + sw);
+            levelLogger.error(() -> "Unhandled exception in handler: " + stackTrace(e));
             res = ProgressEvent.defaultFailureHandler(e, HandlerErrorCode.ServiceInternalError);
+        } finally {
+            HandlerMetrics.unbind();
+        }
+        metrics.emit(logger, clock.millis());
+        ProgressEvent<ResourceModel, CallbackContext> result = res;
+        levelLogger.info(() -> "Returning status: " + result.getStatus().name());
+        if (result.getResourceModel() != null) {
+            levelLogger.debug(() -> "Returning model definition: " + toRedactedJson(result.getResourceModel()));
+        }
+        if (result.getCallbackContext() != null) {
+            levelLogger.debug(() -> "Returning callback content: " + toRedactedJson(result.getCallbackContext()));
+        }
+        if (result.getErrorCode() != null) {
+            levelLogger.info(() -> "Returning errorCode: " + result.getErrorCode().name());
         }
+        if (result.getResourceModels() != null) {
+            levelLogger.debug(() -> "Returning models: " + toRedactedJson(result.getResourceModels()));
+        }
+        return result;
+    }
+
+    // only debug logging serializes, the mapper and its modules are not loaded at the default log level
+    private static final class LogMapperHolder {
+        static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+        static {
+            OBJECT_MAPPER.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+            OBJECT_MAPPER.registerModule(new JavaTimeModule());
+            OBJECT_MAPPER.setSerializerFactory(new AwsObjectsSerializerFactory(OBJECT_MAPPER.getSerializerFactory()));
+        }
+    }
+
+    private static String toRedactedJson(Object value) {
         try {
-            logger.log("Returning status: " + res.getStatus().name());
-            if (res.getResourceModel() != null) {
-                logger.log("Returning model definition: " +
-                    objectMapper.writeValueAsString(redactModel(res.getResourceModel()))
-                );
-            }
-            if (res.getCallbackContext() != null) {
-                logger.log("Returning callback content: " + objectMapper.writeValueAsString(res.getCallbackContext()));
-            }
-            if (res.getErrorCode() != null) {
-                logger.log("Returning errorCode: " + res.getErrorCode().name());
-            }
-            if (res.getResourceModels() != null) {
-                logger.log("Returning models: " + res.getResourceModels());
-            }
-        } catch (JsonProcessingException e) {
-            StringWriter sw = new StringWriter();
-            e.printStackTrace(new PrintWriter(sw));
-            logger.log("Exception: " + sw);
+            return RedactingJsonGenerator.writeValueAsString(
+                LogMapperHolder.OBJECT_MAPPER,
+                value,
+                REDACTED_FIELDS,
+                KMS_KEY_REDACTED_PLACEHOLDER
+            );
+        } catch (IOException e) {
+            return "<failed to serialize: " + stackTrace(e) + ">";
         }
-        return res;
+    }
+
+    private static String stackTrace(Exception e) {
+        StringWriter sw = new StringWriter();
+        e.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    /**
+     * @return metrics of the current invocation, handlers use it to time the steps of their progress chain
+     */
+    protected HandlerMetrics metrics() {
+        return metrics;
+    }
+
+    @VisibleForTesting
+    void beginInvocation() {
+        inProcessPollingDeadline = clock.instant().plus(IN_PROCESS_POLLING_BUDGET);
     }
 
     protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -122,42 +189,59 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                 logger.log("waitForReplicationSetToBecomeActive: beforeMainCall requested, but main call was made already. Skipping.");
                 return progress;
             }
-            if (context.getAwaitRetryAttemptsRemaining() == null) {
-                logger.log("waitForReplicationSetToBecomeActive: setting attempts to " + INITIAL_AWAIT_COUNT);
-                context.setAwaitRetryAttemptsRemaining(INITIAL_AWAIT_COUNT);
+            if (context.getStabilizationDeadline() == null) {
+                Instant deadline = clock.instant().plus(stabilizationScheduler.maxAwaitDuration());
+                logger.log("waitForReplicationSetToBecomeActive: setting stabilization deadline to " + deadline);
+                context.setStabilizationDeadline(deadline.toEpochMilli());
+                context.setStabilizationAttempt(0);
             }
             try {
-                GetReplicationSetRequest awsRequest = Translator.translateToReadRequest(progress.getResourceModel());
-                GetReplicationSetResponse awsResponse = proxyClient.injectCredentialsAndInvokeV2(
-                    awsRequest,
-                    proxyClient.client()::getReplicationSet
-                );
-                ReplicationSetStatus status = awsResponse.replicationSet().status();
-                logger.log("waitForReplicationSetToBecomeActive: replicationSet status = " + status.name());
-                if (status == ReplicationSetStatus.ACTIVE) {
-                    logger.log("waitForReplicationSetToBecomeActive: removing remaining attempts");
-                    context.setAwaitRetryAttemptsRemaining(null);
-                    return ProgressEvent.defaultInProgressHandler(context, 0, model);
-                }
-                if (status == ReplicationSetStatus.FAILED) {
-                    logger.log("waitForReplicationSetToBecomeActive: replication set failed");
-                    return ProgressEvent.defaultFailureHandler(
-                        new RuntimeException("Replication Set creation failed"),
-                        HandlerErrorCode.NotStabilized
+                while (true) {
+                    metrics.increment(STABILIZATION_POLLS);
+                    GetReplicationSetRequest awsRequest = Translator.translateToReadRequest(progress.getResourceModel());
+                    GetReplicationSetResponse awsResponse = proxyClient.injectCredentialsAndInvokeV2(
+                        awsRequest,
+                        proxyClient.client()::getReplicationSet
                     );
+                    ReplicationSetStatus status = awsResponse.replicationSet().status();
+                    logger.log("waitForReplicationSetToBecomeActive: replicationSet status = " + status.name());
+                    if (status == ReplicationSetStatus.ACTIVE) {
+                        logger.log("waitForReplicationSetToBecomeActive: removing stabilization deadline");
+                        context.setStabilizationDeadline(null);
+                        context.setStabilizationAttempt(null);
+                        context.setActiveReplicationSet(awsResponse.replicationSet());
+                        return ProgressEvent.defaultInProgressHandler(context, 0, model);
+                    }
+                    if (status == ReplicationSetStatus.FAILED) {
+                        logger.log("waitForReplicationSetToBecomeActive: replication set failed");
+                        return ProgressEvent.defaultFailureHandler(
+                            new RuntimeException("Replication Set creation failed"),
+                            HandlerErrorCode.NotStabilized
+                        );
+                    }
+                    Duration remaining = Duration.between(clock.instant(), Instant.ofEpochMilli(context.getStabilizationDeadline()));
+                    if (remaining.isNegative() || remaining.isZero()) {
+                        logger.log("waitForReplicationSetToBecomeActive: timed out waiting for replication set to become active");
+                        return ProgressEvent.defaultFailureHandler(
+                            new RuntimeException(timeoutMessage),
+                            HandlerErrorCode.NotStabilized
+                        );
+                    }
+                    int attempt = Optional.ofNullable(context.getStabilizationAttempt()).orElse(0);
+                    Duration delay = stabilizationScheduler.nextDelay(attempt);
+                    if (delay.compareTo(remaining) > 0) {
+                        // poll one last time right at the deadline
+                        delay = remaining;
+                    }
+                    context.setStabilizationAttempt(attempt + 1);
+                    if (waitInProcess(delay)) {
+                        logger.log("waitForReplicationSetToBecomeActive: attempt " + attempt + ", waited in-process for " + delay);
+                        continue;
+                    }
+                    int delaySeconds = (int) Math.max(1, delay.getSeconds());
+                    logger.log("waitForReplicationSetToBecomeActive: attempt " + attempt + ", returning delay in seconds = " + delaySeconds);
+                    return ProgressEvent.defaultInProgressHandler(context, delaySeconds, model);
                 }
-                context.setAwaitRetryAttemptsRemaining(context.getAwaitRetryAttemptsRemaining() - 1);
-                logger.log("waitForReplicationSetToBecomeActive: decremented remaining attempt count to " +
-                    context.getAwaitRetryAttemptsRemaining());
-                if (context.getAwaitRetryAttemptsRemaining() <= 0) {
-                    logger.log("waitForReplicationSetToBecomeActive: timed out waiting for replication set to become active");
-                    return ProgressEvent.defaultFailureHandler(
-                        new RuntimeException(timeoutMessage),
-                        HandlerErrorCode.NotStabilized
-                    );
-                }
-                logger.log("waitForReplicationSetToBecomeActive: Returning delay in seconds = " + RETRY_DELAY_SECONDS);
-                return ProgressEvent.defaultInProgressHandler(context, RETRY_DELAY_SECONDS, model);
             } catch (ResourceNotFoundException e) {
                 if (notFoundIsOkay) {
                     logger.log("waitForReplicationSetToBecomeActive: replication set not found and it's okay, continuing.");
@@ -165,11 +249,69 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                 }
                 return ProgressEvent.defaultFailureHandler(e, HandlerErrorCode.NotFound);
             } catch (Exception exception) {
-                return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.GeneralServiceException);
+                return serviceFailure(exception);
             }
         };
     }
 
+    /**
+     * Fails with {@link HandlerErrorCode#Throttling} when the service kept throttling past the client retries,
+     * so CloudFormation retries the handler later, and with {@link HandlerErrorCode#GeneralServiceException} otherwise.
+     */
+    protected static ProgressEvent<ResourceModel, CallbackContext> serviceFailure(Exception exception) {
+        boolean throttled = exception instanceof AwsServiceException && ((AwsServiceException) exception).isThrottlingException();
+        return ProgressEvent.defaultFailureHandler(
+            exception,
+            throttled ? HandlerErrorCode.Throttling : HandlerErrorCode.GeneralServiceException
+        );
+    }
+
+    /**
+     * Completes Create and Update from the replication set last seen ACTIVE and the desired tags,
+     * and falls back to a full read when the replication set was not observed in this invocation.
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> returnFromWrite(
+        AmazonWebServicesClientProxy proxy,
+        ResourceHandlerRequest<ResourceModel> request,
+        ProgressEvent<ResourceModel, CallbackContext> progress,
+        ProxyClient<SsmIncidentsClient> proxyClient,
+        Logger logger
+    ) {
+        CallbackContext context = progress.getCallbackContext();
+        ResourceModel model = progress.getResourceModel();
+        ReplicationSet replicationSet = context.getActiveReplicationSet();
+        if (replicationSet == null || model.getArn() == null) {
+            logger.log("returnFromWrite: replication set was not observed in this invocation, reading it");
+            return new ReadHandler().handleRequest(proxy, request, context, proxyClient, logger);
+        }
+        return ProgressEvent.defaultSuccessHandler(writtenModel(model, request.getDesiredResourceState(), replicationSet));
+    }
+
+    /**
+     * @return {@code model} completed from the desired state and the ACTIVE replication set it was written to
+     */
+    static ResourceModel writtenModel(ResourceModel model, ResourceModel desiredModel, ReplicationSet replicationSet) {
+        model.setDeletionProtected(
+            Optional.ofNullable(desiredModel.getDeletionProtected()).orElse(replicationSet.deletionProtected())
+        );
+        model.setRegions(Translator.translateToReplicationRegions(replicationSet));
+        model.setTags(Translator.translateToModelTags(desiredModel.getTags()));
+        return model;
+    }
+
+    private boolean waitInProcess(Duration delay) {
+        if (inProcessPollingDeadline == null || clock.instant().plus(delay).isAfter(inProcessPollingDeadline)) {
+            return false;
+        }
+        try {
+            sleeper.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     protected Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> updateReplicationSetDeletionProtection(
         AmazonWebServicesClientProxy proxy,
         ProxyClient<SsmIncidentsClient> proxyClient,
@@ -195,7 +337,7 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
                 if (exception instanceof ValidationException) {
                     return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
                 }
-                return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.GeneralServiceException);
+                return serviceFailure(exception);
             })
             .progress();
     }
@@ -215,43 +357,4 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
             return res;
         };
     }
-
-    private ResourceHandlerRequest<ResourceModel> redactRequest(ResourceHandlerRequest<ResourceModel> request) {
-        return request.toBuilder()
-            .desiredResourceState(redactModel(request.getDesiredResourceState()))
-            .previousResourceState(redactModel(request.getPreviousResourceState()))
-            .build();
-    }
-
-    private ResourceModel redactModel(ResourceModel model) {
-        if ((model == null) || (model.getRegions() == null)) {
-            return model;
-        }
-        boolean kmsKeysPresent = model.getRegions().stream()
-            .anyMatch(replicationRegion ->
-                Optional.ofNullable(replicationRegion)
-                    .map(ReplicationRegion::getRegionConfiguration)
-                    .map(RegionConfiguration::getSseKmsKeyId).isPresent()
-            );
-        if (!kmsKeysPresent) {
-            // nothing to redact
-            return model;
-        }
-        // replace all KMS Key values with a placeholder
-        Set<ReplicationRegion> redactedRegions = model.getRegions().stream()
-            .map(x ->
-                new ReplicationRegion(
-                    x.getRegionName(),
-                    Optional.ofNullable(x.getRegionConfiguration())
-                        .map(y ->
-                            new RegionConfiguration(y.getSseKmsKeyId() != null ? KMS_KEY_REDACTED_PLACEHOLDER : null)
-                        )
-                        .orElse(null)))
-            .collect(Collectors.toSet());
-        return ResourceModel.builder()
-            .arn(model.getArn())
-            .deletionProtected(model.getDeletionProtected())
-            .regions(ImmutableSet.copyOf(redactedRegions))
-            .build();
-    }
 }
@@ -1,5 +1,6 @@
 package software.amazon.ssmincidents.replicationset;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,8 +9,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
 import software.amazon.cloudformation.proxy.StdCallbackContext;
 
+import java.util.List;
+
 @Getter
 @Setter
 @ToString
@@ -18,12 +22,27 @@ import software.amazon.cloudformation.proxy.StdCallbackContext;
 @AllArgsConstructor
 @NoArgsConstructor
 public class CallbackContext extends StdCallbackContext {
-    @JsonProperty("retryAttemptsRemaining")
-    private Integer awaitRetryAttemptsRemaining;
+    // epoch millis after which stabilization is reported as timed out
+    @JsonProperty("stabilizationDeadline")
+    private Long stabilizationDeadline;
+
+    // number of polls that found the replication set not stabilized yet
+    @JsonProperty("stabilizationAttempt")
+    private Integer stabilizationAttempt;
+
+    // single-region steps of the update still to be applied once the replication set is ACTIVE again
+    @JsonProperty("regionUpdatePlan")
+    private List<RegionUpdateStep> regionUpdatePlan;
 
     @JsonProperty("mainAPICalled")
     private Boolean mainAPICalled;
 
+    // replication set last seen ACTIVE in this invocation; not carried across callbacks
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ReplicationSet activeReplicationSet;
+
     public boolean mainAPICalled() {
         return (mainAPICalled != null) && mainAPICalled;
     }
@@ -1,17 +1,152 @@
 package software.amazon.ssmincidents.replicationset;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.cloudformation.LambdaWrapper;
+import software.amazon.ssmincidents.replicationset.util.RateLimitedProxyClient;
+import software.amazon.ssmincidents.replicationset.util.RateLimitedProxyClient.OperationClass;
+import software.amazon.ssmincidents.replicationset.util.RetryCountingInterceptor;
+import software.amazon.ssmincidents.replicationset.util.TokenBucket;
+
+import java.util.Map;
+import java.util.function.Function;
 
 public class ClientBuilder {
 
     private static final String REGION = System.getenv("AWS_REGION");
 
+    // clients carry no credentials, ProxyClient injects them into every request,
+    // so one client per region is shared across warm invocations
+    @VisibleForTesting
+    static final int MAX_CACHED_CLIENTS = 4;
+
+    private static volatile Function<Region, SsmIncidentsClient> clientFactory = ClientBuilder::buildClient;
+
+    private static final LoadingCache<Region, SsmIncidentsClient> CLIENTS = CacheBuilder.newBuilder()
+        .concurrencyLevel(1)
+        .maximumSize(MAX_CACHED_CLIENTS)
+        .removalListener(ClientBuilder::closeClient)
+        .build(new CacheLoader<Region, SsmIncidentsClient>() {
+            @Override
+            public SsmIncidentsClient load(Region region) {
+                return clientFactory.apply(region);
+            }
+        });
+
+    // shared by the invocations of the container, like the clients
+    private static volatile Map<OperationClass, TokenBucket> rateLimits = RateLimitedProxyClient.defaultBuckets();
+
+    private static volatile Function<Region, SsmIncidentsAsyncClient> asyncClientFactory = ClientBuilder::buildAsyncClient;
+
+    // async clients own their event loop, only build them for handlers which use them
+    private static final LoadingCache<Region, SsmIncidentsAsyncClient> ASYNC_CLIENTS = CacheBuilder.newBuilder()
+        .concurrencyLevel(1)
+        .maximumSize(MAX_CACHED_CLIENTS)
+        .removalListener(ClientBuilder::closeAsyncClient)
+        .build(new CacheLoader<Region, SsmIncidentsAsyncClient>() {
+            @Override
+            public SsmIncidentsAsyncClient load(Region region) {
+                return asyncClientFactory.apply(region);
+            }
+        });
+
     public static SsmIncidentsClient getClient() {
+        return getClient(Region.of(REGION));
+    }
+
+    static SsmIncidentsClient getClient(Region region) {
+        return CLIENTS.getUnchecked(region);
+    }
+
+    public static SsmIncidentsAsyncClient getAsyncClient() {
+        return getAsyncClient(Region.of(REGION));
+    }
+
+    static SsmIncidentsAsyncClient getAsyncClient(Region region) {
+        return ASYNC_CLIENTS.getUnchecked(region);
+    }
+
+    /**
+     * Closes and drops all cached clients, the next {@link #getClient()} or {@link #getAsyncClient()} builds a new one.
+     * Must not be called while a request is in flight.
+     */
+    public static void invalidate() {
+        CLIENTS.invalidateAll();
+        ASYNC_CLIENTS.invalidateAll();
+    }
+
+    /**
+     * Replaces the way clients are built, e.g. with a fake client for tests and load harnesses.
+     */
+    @VisibleForTesting
+    static void setClientFactory(Function<Region, SsmIncidentsClient> factory) {
+        clientFactory = factory;
+        invalidate();
+    }
+
+    /**
+     * @return token buckets pacing the SDK calls of the handlers, see {@link RateLimitedProxyClient}
+     */
+    public static Map<OperationClass, TokenBucket> getRateLimits() {
+        return rateLimits;
+    }
+
+    /**
+     * Replaces the token buckets, an empty map turns pacing off, e.g. for load harnesses and benchmarks
+     * whose invocations stand for many containers.
+     */
+    @VisibleForTesting
+    static void setRateLimits(Map<OperationClass, TokenBucket> buckets) {
+        rateLimits = buckets;
+    }
+
+    /**
+     * Replaces the way async clients are built, e.g. with a fake client for tests and benchmarks.
+     */
+    @VisibleForTesting
+    static void setAsyncClientFactory(Function<Region, SsmIncidentsAsyncClient> factory) {
+        asyncClientFactory = factory;
+        invalidate();
+    }
+
+    @VisibleForTesting
+    static SsmIncidentsClient buildClient(Region region) {
         return SsmIncidentsClient.builder()
             .httpClient(LambdaWrapper.HTTP_CLIENT)
-            .region(Region.of(REGION))
+            .region(region)
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .addExecutionInterceptor(new RetryCountingInterceptor())
+                .build())
+            .build();
+    }
+
+    // the async client keeps the SDK default non-blocking HTTP client, LambdaWrapper.HTTP_CLIENT is synchronous
+    @VisibleForTesting
+    static SsmIncidentsAsyncClient buildAsyncClient(Region region) {
+        return SsmIncidentsAsyncClient.builder()
+            .region(region)
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .addExecutionInterceptor(new RetryCountingInterceptor())
+                .build())
             .build();
     }
+
+    private static void closeClient(RemovalNotification<Region, SsmIncidentsClient> notification) {
+        if (notification.getValue() != null) {
+            notification.getValue().close();
+        }
+    }
+
+    private static void closeAsyncClient(RemovalNotification<Region, SsmIncidentsAsyncClient> notification) {
+        if (notification.getValue() != null) {
+            notification.getValue().close();
+        }
+    }
 }
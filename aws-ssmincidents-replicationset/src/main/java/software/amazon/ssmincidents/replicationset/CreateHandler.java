@@ -16,12 +16,21 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Clock;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 public class CreateHandler extends BaseHandlerStd {
     private Logger logger;
 
+    public CreateHandler() {
+        super();
+    }
+
+    CreateHandler(Clock clock, StabilizationScheduler stabilizationScheduler, Sleeper sleeper) {
+        super(clock, stabilizationScheduler, sleeper);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         AmazonWebServicesClientProxy proxy,
         ResourceHandlerRequest<ResourceModel> request,
@@ -32,16 +41,19 @@ public class CreateHandler extends BaseHandlerStd {
         this.logger = logger;
 
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-            .then(createReplicationSetPreCheck(proxyClient))
-            .then(initiateReplicationSetCreation(proxy, proxyClient, request.getClientRequestToken()))
-            .then(waitForReplicationSetToBecomeActive(
+            .then(metrics().timed("CreateReplicationSetPreCheck", createReplicationSetPreCheck(proxyClient)))
+            .then(metrics().timed("InitiateReplicationSetCreation",
+                initiateReplicationSetCreation(proxy, proxyClient, request.getClientRequestToken())))
+            .then(metrics().timed("AwaitStabilization", waitForReplicationSetToBecomeActive(
                 proxyClient,
                 false,
                 false,
                 logger,
-                "Timed out waiting for replication set to become ACTIVE"))
-            .then(updateReplicationSetDeletionProtection(proxy, proxyClient, "Create", logger))
-            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+                "Timed out waiting for replication set to become ACTIVE")))
+            .then(metrics().timed("UpdateDeletionProtection",
+                updateReplicationSetDeletionProtection(proxy, proxyClient, "Create", logger)))
+            .then(metrics().timed("ReturnFromWrite",
+                progress -> returnFromWrite(proxy, request, progress, proxyClient, logger)));
     }
 
     private Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> initiateReplicationSetCreation(
@@ -74,7 +86,7 @@ public class CreateHandler extends BaseHandlerStd {
                     if (exception instanceof ValidationException) {
                         return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
                     }
-                    return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.GeneralServiceException);
+                    return serviceFailure(exception);
                 })
                 .done((awsRequest, awsResponse, client, model, context) -> {
                     logger.log("crateReplicationSet called successfully");
@@ -107,7 +119,7 @@ public class CreateHandler extends BaseHandlerStd {
                 logger.log("createReplicationSetPreCheck: no existing replication sets found");
                 return ProgressEvent.defaultInProgressHandler(context, 0, model);
             } catch (Exception exception) {
-                return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.GeneralServiceException);
+                return serviceFailure(exception);
             }
         };
     }
@@ -14,12 +14,21 @@ import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.Clock;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 public class DeleteHandler extends BaseHandlerStd {
     private Logger logger;
 
+    public DeleteHandler() {
+        super();
+    }
+
+    DeleteHandler(Clock clock, StabilizationScheduler stabilizationScheduler, Sleeper sleeper) {
+        super(clock, stabilizationScheduler, sleeper);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         AmazonWebServicesClientProxy proxy,
         ResourceHandlerRequest<ResourceModel> request,
@@ -30,21 +39,21 @@ public class DeleteHandler extends BaseHandlerStd {
         this.logger = logger;
 
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-            .then(waitForReplicationSetToBecomeActive(
+            .then(metrics().timed("AwaitStabilizationBeforeDelete", waitForReplicationSetToBecomeActive(
                 proxyClient,
                 false,
                 true,
                 logger,
                 "Timed out waiting for replication set become ACTIVE")
-            )
-            .then(initiateReplicationSetDeletion(proxy, proxyClient))
-            .then(waitForReplicationSetToBecomeActive(
+            ))
+            .then(metrics().timed("InitiateReplicationSetDeletion", initiateReplicationSetDeletion(proxy, proxyClient)))
+            .then(metrics().timed("AwaitDeletion", waitForReplicationSetToBecomeActive(
                 proxyClient,
                 true,
                 false,
                 logger,
                 "Timed out waiting for replication set to be deleted")
-            )
+            ))
             .then(progress -> ProgressEvent.defaultSuccessHandler(null));
     }
 
@@ -73,7 +82,7 @@ public class DeleteHandler extends BaseHandlerStd {
                     if (exception instanceof ValidationException) {
                         return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
                     }
-                    return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.GeneralServiceException);
+                    return serviceFailure(exception);
                 })
                 .done((awsRequest, awsResponce, client, model, context) -> {
                     logger.log("initiateReplicationSetDeletion: deleteReplicationSet call was successful.");
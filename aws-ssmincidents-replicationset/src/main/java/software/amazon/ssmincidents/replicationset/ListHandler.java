@@ -1,19 +1,38 @@
 package software.amazon.ssmincidents.replicationset;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
-import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsRequest;
 import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
-import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.util.HashSet;
+import java.util.Set;
+
 public class ListHandler extends BaseHandlerStd {
 
+    // "true" to return every page in one response instead of one page per invocation
+    public static final String LIST_ALL_PAGES_ENVIRONMENT_VARIABLE = "LIST_ALL_PAGES";
+
+    private static final boolean DEFAULT_LIST_ALL_PAGES =
+        Boolean.parseBoolean(System.getenv(LIST_ALL_PAGES_ENVIRONMENT_VARIABLE));
+
+    private final boolean listAllPages;
+
+    public ListHandler() {
+        this(DEFAULT_LIST_ALL_PAGES);
+    }
+
+    @VisibleForTesting
+    ListHandler(boolean listAllPages) {
+        this.listAllPages = listAllPages;
+    }
+
     @Override
     public ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         AmazonWebServicesClientProxy proxy,
@@ -24,22 +43,31 @@ public class ListHandler extends BaseHandlerStd {
     ) {
 
         try {
-            ListReplicationSetsResponse awsResponse = proxyClient.injectCredentialsAndInvokeV2(
-                ListReplicationSetsRequest.builder().build(),
-                proxyClient.client()::listReplicationSets
-            );
-
             ImmutableList.Builder<ResourceModel> modelsBuilder = ImmutableList.builder();
-            if (awsResponse.replicationSetArns() != null) {
-                awsResponse.replicationSetArns().forEach(arn -> modelsBuilder.add(ResourceModel.builder().arn(arn).build()));
-            }
+            Set<String> requestedTokens = new HashSet<>();
+            String nextToken = request.getNextToken();
+            do {
+                if (nextToken != null && !requestedTokens.add(nextToken)) {
+                    // a service returning a token it was already given would make us list forever
+                    throw new IllegalStateException("ListReplicationSets returned nextToken " + nextToken + " more than once");
+                }
+                ListReplicationSetsResponse awsResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    Translator.translateToListRequest(nextToken),
+                    proxyClient.client()::listReplicationSets
+                );
+                if (awsResponse.replicationSetArns() != null) {
+                    awsResponse.replicationSetArns().forEach(arn -> modelsBuilder.add(ResourceModel.builder().arn(arn).build()));
+                }
+                nextToken = awsResponse.nextToken();
+            } while (listAllPages && nextToken != null);
+
             return ProgressEvent.<ResourceModel, CallbackContext>builder()
                 .resourceModels(modelsBuilder.build())
-                .nextToken(awsResponse.nextToken())
+                .nextToken(nextToken)
                 .status(OperationStatus.SUCCESS)
                 .build();
         } catch (Exception exception) {
-            return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.GeneralServiceException);
+            return serviceFailure(exception);
         }
     }
 }
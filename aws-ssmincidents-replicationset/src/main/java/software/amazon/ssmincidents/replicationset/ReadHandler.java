@@ -1,7 +1,6 @@
 package software.amazon.ssmincidents.replicationset;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ImmutableSet;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
 import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
@@ -15,11 +14,9 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.util.ParallelCalls;
 
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 public class ReadHandler extends BaseHandlerStd {
     private Logger logger;
@@ -46,42 +43,43 @@ public class ReadHandler extends BaseHandlerStd {
         }
 
         GetReplicationSetRequest awsRequest = Translator.translateToReadRequest(model);
+        // tags do not depend on the replication set, fetch them while it is being read
+        CompletableFuture<ListTagsForResourceResponse> tagsResponse =
+            ParallelCalls.supply(() -> getTags(awsRequest.arn(), proxyClient));
         try {
-            GetReplicationSetResponse awsResponse = proxyClient.injectCredentialsAndInvokeV2(
-                awsRequest,
-                proxyClient.client()::getReplicationSet
-            );
-            Set<ReplicationRegion> replicationRegions = awsResponse.replicationSet().regionMap().entrySet().stream().map(
-                    regionConfig ->
-                        new ReplicationRegion(
-                            regionConfig.getKey(),
-                            Optional.ofNullable(regionConfig.getValue().sseKmsKeyId())
-                                .map(RegionConfiguration::new)
-                                .orElse(null)
-                        )
-                )
-                .collect(Collectors.toSet());
-            Map<String, String> tagMap = getTags(awsRequest.arn(), proxyClient).tags();
-            Set<Tag> tags = tagMap.isEmpty()? null : tagMap.entrySet().stream().map(x -> new Tag(x.getKey(), x.getValue())).collect(Collectors.toSet());
-
-            model.setArn(awsRequest.arn());
-            model.setDeletionProtected(awsResponse.replicationSet().deletionProtected());
-            model.setRegions(ImmutableSet.copyOf(replicationRegions));
-            model.setTags(Optional.ofNullable(tags).orElse(null));
-            return ProgressEvent.defaultSuccessHandler(model);
+            GetReplicationSetResponse awsResponse;
+            try {
+                awsResponse = proxyClient.injectCredentialsAndInvokeV2(
+                    awsRequest,
+                    proxyClient.client()::getReplicationSet
+                );
+            } catch (RuntimeException exception) {
+                ParallelCalls.await(tagsResponse);
+                throw exception;
+            }
+            ListTagsForResourceResponse tags = ParallelCalls.join(tagsResponse);
+            return ProgressEvent.defaultSuccessHandler(readModel(model, awsRequest.arn(), awsResponse, tags));
 
         } catch (ResourceNotFoundException exception) {
             return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.NotFound);
         } catch (ValidationException exception) {
             return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
         } catch (Exception exception) {
-            return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.GeneralServiceException);
+            return serviceFailure(exception);
         }
     }
 
     @VisibleForTesting
     static final String DEFAULT_KMS_KEY_ID = "DefaultKey";
 
+    static ResourceModel readModel(ResourceModel model, String arn, GetReplicationSetResponse replicationSet, ListTagsForResourceResponse tags) {
+        model.setArn(arn);
+        model.setDeletionProtected(replicationSet.replicationSet().deletionProtected());
+        model.setRegions(Translator.translateToReplicationRegions(replicationSet.replicationSet()));
+        model.setTags(Translator.translateFromApiTags(tags.tags()));
+        return model;
+    }
+
     private ListTagsForResourceResponse getTags(String arn, ProxyClient<SsmIncidentsClient> proxyClient) {
         return proxyClient.injectCredentialsAndInvokeV2(
             ListTagsForResourceRequest.builder().resourceArn(arn).build(),
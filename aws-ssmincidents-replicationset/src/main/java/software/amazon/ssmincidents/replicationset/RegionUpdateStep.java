@@ -0,0 +1,27 @@
+package software.amazon.ssmincidents.replicationset;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single-region change of a replication set, UpdateReplicationSet accepts one region per call.
+ * Pending steps are kept in the {@link CallbackContext} until the replication set has converged.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegionUpdateStep {
+
+    public enum Action {
+        ADD,
+        DELETE
+    }
+
+    @JsonProperty("action")
+    private Action action;
+
+    @JsonProperty("regionName")
+    private String regionName;
+}
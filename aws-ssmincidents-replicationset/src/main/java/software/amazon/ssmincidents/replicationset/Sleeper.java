@@ -0,0 +1,14 @@
+package software.amazon.ssmincidents.replicationset;
+
+import java.time.Duration;
+
+/**
+ * Blocks the current thread between in-process stabilization polls.
+ */
+@FunctionalInterface
+public interface Sleeper {
+
+    Sleeper THREAD_SLEEPER = duration -> Thread.sleep(duration.toMillis());
+
+    void sleep(Duration duration) throws InterruptedException;
+}
@@ -0,0 +1,22 @@
+package software.amazon.ssmincidents.replicationset;
+
+import java.time.Duration;
+
+/**
+ * Decides how long to wait between replication set stabilization polls
+ * and how long to keep polling before giving up.
+ */
+public interface StabilizationScheduler {
+
+    /**
+     * @return total time to wait for a replication set to stabilize, used to compute the deadline
+     * stored in {@link CallbackContext}
+     */
+    Duration maxAwaitDuration();
+
+    /**
+     * @param attempt number of polls that already observed a replication set which was not stable yet, starting at 0
+     * @return delay before the next poll
+     */
+    Duration nextDelay(int attempt);
+}
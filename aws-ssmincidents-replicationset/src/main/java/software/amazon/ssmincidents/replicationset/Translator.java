@@ -1,26 +1,42 @@
 package software.amazon.ssmincidents.replicationset;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import software.amazon.awssdk.services.ssmincidents.model.AddRegionAction;
 import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRequest;
 import software.amazon.awssdk.services.ssmincidents.model.DeleteRegionAction;
 import software.amazon.awssdk.services.ssmincidents.model.DeleteReplicationSetRequest;
 import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsRequest;
 import software.amazon.awssdk.services.ssmincidents.model.RegionMapInputValue;
 import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionRequest;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetAction;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.ssmincidents.replicationset.util.TagDiff;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class Translator {
 
+    // the service replicates incident data to at most three regions
+    @VisibleForTesting
+    static final int MAX_REPLICATION_REGIONS = 3;
+
     static CreateReplicationSetRequest translateToCreateRequest(ResourceModel model, String clientToken) {
         Map<String, RegionMapInputValue> regions;
         if (model.getRegions() != null) {
@@ -44,9 +60,9 @@ public class Translator {
 
         Map<String, String> tagMap;
         if(model.getTags() != null){
-            try {
-                tagMap =  model.getTags().stream().collect(Collectors.toMap(Tag::getKey, Tag::getValue));
-            } catch (Exception e) {
+            Set<String> duplicateKeys = new HashSet<>();
+            tagMap = TagDiff.toMap(model.getTags(), Tag::getKey, Tag::getValue, duplicateKeys);
+            if (!duplicateKeys.isEmpty()) {
                 throw new CfnInvalidRequestException("duplicate tag keys");
             }
 
@@ -67,36 +83,76 @@ public class Translator {
             .build();
     }
 
+    static ListReplicationSetsRequest translateToListRequest(String nextToken) {
+        return ListReplicationSetsRequest.builder()
+            .nextToken(nextToken)
+            .build();
+    }
+
+    static Set<ReplicationRegion> translateToReplicationRegions(ReplicationSet replicationSet) {
+        return replicationSet.regionMap().entrySet().stream()
+            .map(regionConfig ->
+                new ReplicationRegion(
+                    regionConfig.getKey(),
+                    Optional.ofNullable(regionConfig.getValue().sseKmsKeyId())
+                        .map(RegionConfiguration::new)
+                        .orElse(null)
+                )
+            )
+            .collect(ImmutableSet.toImmutableSet());
+    }
+
+    static Set<Tag> translateToModelTags(Set<Tag> tags) {
+        // the service reports no tags rather than an empty set
+        return tags == null || tags.isEmpty() ? null : tags;
+    }
+
+    static Set<Tag> translateFromApiTags(Map<String, String> tags) {
+        return tags.isEmpty() ? null : tags.entrySet().stream().map(x -> new Tag(x.getKey(), x.getValue())).collect(Collectors.toSet());
+    }
+
     static DeleteReplicationSetRequest translateToDeleteRequest(ResourceModel model) {
         return DeleteReplicationSetRequest.builder()
             .arn(model.getArn())
             .build();
     }
 
-    static UpdateReplicationSetRequest translateToUpdateRequest(
+    /**
+     * Orders the region changes between the current and the desired replication set into single-region steps.
+     * Regions are added before others are deleted, so the set keeps replicating, unless the set is already full.
+     */
+    static List<RegionUpdateStep> planRegionUpdates(
         ReplicationSet currentReplicationSet,
-        ResourceModel desiredModelState,
-        String clientToken) {
+        ResourceModel desiredModelState) {
         Set<String> currentRegions = currentReplicationSet.regionMap().keySet();
         Set<String> desiredRegions = desiredModelState.getRegions().stream()
             .map(ReplicationRegion::getRegionName)
             .collect(Collectors.toSet());
-        if (currentRegions.equals(desiredRegions)) {
-            // nothing to update
-            return null;
-        }
-        Set<String> regionsToAdd = Sets.difference(desiredRegions, currentRegions);
-        Set<String> regionsToDelete = Sets.difference(currentRegions, desiredRegions);
-        boolean differsByOneRegion = regionsToAdd.size() + regionsToDelete.size() == 1;
-        if (!differsByOneRegion) {
-            throw new CfnInvalidRequestException("Replication set regions differ by more then one region. " +
-                "Current replication set regions: " + currentRegions.toString() + ". " +
-                "Specified replication set regions: " + desiredRegions.toString());
+        // sorted, so every invocation plans the same steps for the same delta
+        Deque<String> regionsToAdd = new ArrayDeque<>(new TreeSet<>(Sets.difference(desiredRegions, currentRegions)));
+        Deque<String> regionsToDelete = new ArrayDeque<>(new TreeSet<>(Sets.difference(currentRegions, desiredRegions)));
+
+        List<RegionUpdateStep> plan = new ArrayList<>();
+        int regionCount = currentRegions.size();
+        while (!regionsToAdd.isEmpty() || !regionsToDelete.isEmpty()) {
+            if (!regionsToAdd.isEmpty() && (regionCount < MAX_REPLICATION_REGIONS || regionsToDelete.isEmpty())) {
+                plan.add(new RegionUpdateStep(RegionUpdateStep.Action.ADD, regionsToAdd.poll()));
+                regionCount++;
+            } else {
+                plan.add(new RegionUpdateStep(RegionUpdateStep.Action.DELETE, regionsToDelete.poll()));
+                regionCount--;
+            }
         }
-        if (regionsToAdd.size() > 0) {
-            String regionToAdd = regionsToAdd.iterator().next();
+        return plan;
+    }
+
+    static UpdateReplicationSetRequest translateToUpdateRequest(
+        RegionUpdateStep step,
+        ResourceModel desiredModelState,
+        String clientToken) {
+        if (step.getAction() == RegionUpdateStep.Action.ADD) {
             String optionalKmsKeyId = desiredModelState.getRegions()
-                .stream().filter(x -> x.getRegionName().equals(regionToAdd))
+                .stream().filter(x -> x.getRegionName().equals(step.getRegionName()))
                 .findFirst()
                 .map(ReplicationRegion::getRegionConfiguration)
                 .map(RegionConfiguration::getSseKmsKeyId)
@@ -106,24 +162,33 @@ public class Translator {
                 .clientToken(clientToken)
                 .actions(UpdateReplicationSetAction.builder()
                     .addRegionAction(AddRegionAction.builder()
-                        .regionName(regionToAdd)
+                        .regionName(step.getRegionName())
                         .sseKmsKeyId(optionalKmsKeyId)
                         .build())
                     .build())
                 .build();
         }
-        String regionToDelete = regionsToDelete.iterator().next();
         return UpdateReplicationSetRequest.builder()
             .arn(desiredModelState.getArn())
             .clientToken(clientToken)
             .actions(UpdateReplicationSetAction.builder()
                 .deleteRegionAction(DeleteRegionAction.builder()
-                    .regionName(regionToDelete)
+                    .regionName(step.getRegionName())
                     .build())
                 .build())
             .build();
     }
 
+    /**
+     * Every step is a different request, so each one gets its own idempotency token derived from the one
+     * of the handler request. Retrying a step sends the same token again.
+     */
+    static String stepClientToken(String clientToken, RegionUpdateStep step) {
+        return UUID.nameUUIDFromBytes(
+            (clientToken + "/" + step.getAction() + "/" + step.getRegionName()).getBytes(StandardCharsets.UTF_8)
+        ).toString();
+    }
+
     static UpdateDeletionProtectionRequest translateToUpdateDeletionProtection(ResourceModel resourceModel) {
         if (resourceModel.getDeletionProtected() != null) {
             return UpdateDeletionProtectionRequest.builder()
@@ -8,27 +8,32 @@ import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetResponse;
 import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.util.TagDiff;
 
-import java.util.HashSet;
-import java.util.Map;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.stream.Collectors;
-
-import com.google.common.collect.Sets;
 
 public class UpdateHandler extends BaseHandlerStd {
     private Logger logger;
 
+    public UpdateHandler() {
+        super();
+    }
+
+    UpdateHandler(Clock clock, StabilizationScheduler stabilizationScheduler, Sleeper sleeper) {
+        super(clock, stabilizationScheduler, sleeper);
+    }
+
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         AmazonWebServicesClientProxy proxy,
         ResourceHandlerRequest<ResourceModel> request,
@@ -38,23 +43,28 @@ public class UpdateHandler extends BaseHandlerStd {
 
         this.logger = logger;
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-            .then(waitForReplicationSetToBecomeActive(
+            .then(metrics().timed("AwaitStabilizationBeforeUpdate", waitForReplicationSetToBecomeActive(
                 proxyClient,
                 false,
                 true,
                 logger,
-                "Timed out waiting for replication set to become ACTIVE"))
-            .then(initiateUpdateReplicationSet(proxy, proxyClient, request.getClientRequestToken()))
-            .then(waitForReplicationSetToBecomeActive(
+                "Timed out waiting for replication set to become ACTIVE")))
+            .then(metrics().timed("InitiateUpdateReplicationSet",
+                initiateUpdateReplicationSet(proxy, proxyClient, request.getClientRequestToken())))
+            .then(metrics().timed("AwaitRegionUpdates", applyRegionUpdatePlan(
                 proxyClient,
-                false,
-                false,
-                logger,
-                "Timed out waiting for replication set to become ACTIVE")
-            )
-            .then(updateReplicationSetDeletionProtection(proxy, proxyClient, "Update", logger))
-            .then(progress -> updateTags(proxyClient, progress, request))
-            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+                request.getClientRequestToken(),
+                waitForReplicationSetToBecomeActive(
+                    proxyClient,
+                    false,
+                    false,
+                    logger,
+                    "Timed out waiting for replication set to become ACTIVE"))))
+            .then(metrics().timed("UpdateDeletionProtection",
+                updateReplicationSetDeletionProtection(proxy, proxyClient, "Update", logger)))
+            .then(metrics().timed("UpdateTags", progress -> updateTags(proxyClient, progress, request)))
+            .then(metrics().timed("ReturnFromWrite",
+                progress -> returnFromWrite(proxy, request, progress, proxyClient, logger)));
     }
 
     private Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> initiateUpdateReplicationSet(
@@ -66,43 +76,83 @@ public class UpdateHandler extends BaseHandlerStd {
             if (progress.getCallbackContext().mainAPICalled()) {
                 return ProgressEvent.defaultInProgressHandler(progress.getCallbackContext(), 0, progress.getResourceModel());
             }
-            try {
-                return proxy.initiate("ssm-incidents::UpdateReplicationSet",
-                        proxyClient,
-                        progress.getResourceModel(),
-                        progress.getCallbackContext()
-                    )
-                    .translateToServiceRequest(model -> {
-                        if (!progress.getCallbackContext().mainAPICalled()) {
-                            GetReplicationSetResponse currentReplicationSet = proxyClient.injectCredentialsAndInvokeV2(
-                                Translator.translateToReadRequest(model),
-                                proxyClient.client()::getReplicationSet
-                            );
-                            return Translator.translateToUpdateRequest(currentReplicationSet.replicationSet(), model, clientToken);
-                        } else {
+            return proxy.initiate("ssm-incidents::UpdateReplicationSet",
+                    proxyClient,
+                    progress.getResourceModel(),
+                    progress.getCallbackContext()
+                )
+                .translateToServiceRequest(model -> {
+                    if (!progress.getCallbackContext().mainAPICalled()) {
+                        GetReplicationSetResponse currentReplicationSet = proxyClient.injectCredentialsAndInvokeV2(
+                            Translator.translateToReadRequest(model),
+                            proxyClient.client()::getReplicationSet
+                        );
+                        List<RegionUpdateStep> plan = Translator.planRegionUpdates(currentReplicationSet.replicationSet(), model);
+                        if (plan.isEmpty()) {
+                            // nothing to update
                             return null;
                         }
-                    })
-                    .makeServiceCall(callUpdateReplicationSet())
-                    .handleError((awsRequest, exception, client, model, context) -> {
-                        if (exception instanceof ResourceNotFoundException) {
-                            return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.NotFound);
-                        }
-                        if (exception instanceof ValidationException) {
-                            return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
-                        }
-                        return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.GeneralServiceException);
-                    })
-                    .done((awsRequest, awsResponse, client, model, context) -> {
-                        context.setMainAPICalled(true);
-                        return ProgressEvent.defaultInProgressHandler(context, 0, model);
-                    });
-            } catch (CfnInvalidRequestException e) {
-                return ProgressEvent.defaultFailureHandler(e, e.getErrorCode());
+                        logger.log("initiateUpdateReplicationSet: region update plan = " + plan);
+                        progress.getCallbackContext().setRegionUpdatePlan(
+                            plan.size() > 1 ? new ArrayList<>(plan.subList(1, plan.size())) : null);
+                        return Translator.translateToUpdateRequest(plan.get(0), model, clientToken);
+                    } else {
+                        return null;
+                    }
+                })
+                .makeServiceCall(callUpdateReplicationSet())
+                .handleError((awsRequest, exception, client, model, context) -> handleUpdateError(exception))
+                .done((awsRequest, awsResponse, client, model, context) -> {
+                    context.setMainAPICalled(true);
+                    return ProgressEvent.defaultInProgressHandler(context, 0, model);
+                });
+        };
+    }
+
+    /**
+     * Applies the remaining steps of the region update plan one at a time, waiting for the replication set
+     * to stabilize after each of them. Waits which do not finish in-process resume here on the next callback.
+     */
+    private Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> applyRegionUpdatePlan(
+        ProxyClient<SsmIncidentsClient> proxyClient,
+        String clientToken,
+        Function<ProgressEvent<ResourceModel, CallbackContext>, ProgressEvent<ResourceModel, CallbackContext>> awaitStabilization
+    ) {
+        return progress -> {
+            CallbackContext context = progress.getCallbackContext();
+            ProgressEvent<ResourceModel, CallbackContext> awaited = awaitStabilization.apply(progress);
+            while (awaited.isInProgress() && awaited.getCallbackDelaySeconds() == 0
+                && context.getRegionUpdatePlan() != null && !context.getRegionUpdatePlan().isEmpty()) {
+                RegionUpdateStep step = context.getRegionUpdatePlan().get(0);
+                logger.log("applyRegionUpdatePlan: applying " + step);
+                try {
+                    proxyClient.injectCredentialsAndInvokeV2(
+                        Translator.translateToUpdateRequest(step, progress.getResourceModel(), Translator.stepClientToken(clientToken, step)),
+                        proxyClient.client()::updateReplicationSet
+                    );
+                } catch (Exception exception) {
+                    return handleUpdateError(exception);
+                }
+                context.getRegionUpdatePlan().remove(0);
+                awaited = awaitStabilization.apply(progress);
+            }
+            if (context.getRegionUpdatePlan() != null && context.getRegionUpdatePlan().isEmpty()) {
+                context.setRegionUpdatePlan(null);
             }
+            return awaited;
         };
     }
 
+    private ProgressEvent<ResourceModel, CallbackContext> handleUpdateError(Exception exception) {
+        if (exception instanceof ResourceNotFoundException) {
+            return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.NotFound);
+        }
+        if (exception instanceof ValidationException) {
+            return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
+        }
+        return serviceFailure(exception);
+    }
+
     private BiFunction<UpdateReplicationSetRequest, ProxyClient<SsmIncidentsClient>, UpdateReplicationSetResponse> callUpdateReplicationSet() {
         return (awsRequest, client) -> {
             if (awsRequest == null) {
@@ -120,27 +170,29 @@ public class UpdateHandler extends BaseHandlerStd {
 
     private ProgressEvent<ResourceModel, CallbackContext> updateTags(ProxyClient<SsmIncidentsClient> proxyClient, ProgressEvent<ResourceModel, CallbackContext> progress, ResourceHandlerRequest<ResourceModel> request) {
         String replicationSetArn = request.getDesiredResourceState().getArn();
-        Set<Tag> desiredTags = Optional.ofNullable(request.getDesiredResourceState().getTags()).orElse(new HashSet<>());
-        Set<Tag> previousTags = Optional.ofNullable(request.getPreviousResourceState()).map(x -> x.getTags()).orElse(new HashSet<>());
+        TagDiff tagDiff = TagDiff.between(
+            Optional.ofNullable(request.getPreviousResourceState()).map(ResourceModel::getTags).orElse(null),
+            request.getDesiredResourceState().getTags(),
+            Tag::getKey,
+            Tag::getValue);
+        if (tagDiff.hasDuplicateKeys()) {
+            return ProgressEvent.failed(request.getDesiredResourceState(), progress.getCallbackContext(),
+                HandlerErrorCode.InvalidRequest, "duplicate tag keys: " + tagDiff.getDuplicateKeys());
+        }
 
-        Set<Tag> tagsToAddSet = Sets.difference(desiredTags, previousTags);
-        Map<String, String> tagsToAdd = tagsToAddSet.stream().collect(Collectors.toMap(Tag::getKey, Tag::getValue));
-        if (!tagsToAdd.isEmpty()) {
+        if (!tagDiff.getTagsToAdd().isEmpty()) {
             try {
-                proxyClient.injectCredentialsAndInvokeV2(TagResourceRequest.builder().resourceArn(replicationSetArn).tags(tagsToAdd).build(), proxyClient.client()::tagResource);
+                proxyClient.injectCredentialsAndInvokeV2(TagResourceRequest.builder().resourceArn(replicationSetArn).tags(tagDiff.getTagsToAdd()).build(), proxyClient.client()::tagResource);
             } catch (ValidationException exception) {
                 return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
             }
         }
 
-        Set<Tag> tagsToRemoveSet = Sets.difference(previousTags, desiredTags);
-        Map<String, String> tagsToRemove = tagsToRemoveSet.stream().collect(Collectors.toMap(Tag::getKey, Tag::getValue));
-        if (!tagsToRemove.isEmpty()) {
+        if (!tagDiff.getTagKeysToRemove().isEmpty()) {
             try {
-                proxyClient.injectCredentialsAndInvokeV2(UntagResourceRequest.builder().resourceArn(replicationSetArn).tagKeys(tagsToRemove.keySet()).build(), proxyClient.client()::untagResource);
+                proxyClient.injectCredentialsAndInvokeV2(UntagResourceRequest.builder().resourceArn(replicationSetArn).tagKeys(tagDiff.getTagKeysToRemove()).build(), proxyClient.client()::untagResource);
             } catch (ValidationException exception) {
                 return ProgressEvent.defaultFailureHandler(exception, HandlerErrorCode.InvalidRequest);
-
             }
         }
         return ProgressEvent.progress(request.getDesiredResourceState(), progress.getCallbackContext());
@@ -1,6 +1,5 @@
 package software.amazon.ssmincidents.replicationset.util;
 
-import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonSerializer;
@@ -10,36 +9,17 @@ import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
 import com.fasterxml.jackson.databind.ser.SerializerFactory;
 import com.fasterxml.jackson.databind.ser.Serializers;
-import software.amazon.awssdk.awscore.AwsRequest;
-import software.amazon.awssdk.awscore.AwsResponse;
-
-import java.io.IOException;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
 
 // AWS SDK V2 model objects are a bit peculiar in how they support
 // json serialization using Jackson-Databind.
 // See second part of the section about Immutable POJOs here:
 // https://aws.amazon.com/blogs/developer/aws-sdk-for-java-2-0-developer-preview/
-// This class introduces support for AWS SDK V2 serialization for requests and response objects
-// This is currently used for logging purposes.
+// This class introduces support for AWS SDK V2 serialization of model objects, requests and responses
+// included, through SdkPojoSerializer. This is currently used for logging purposes.
 public class AwsObjectsSerializerFactory extends SerializerFactory {
 
-    private static class AwsRequestSerializer extends JsonSerializer<Object> {
-
-        @Override
-        public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
-            serializers.defaultSerializeValue(((AwsRequest) value).toBuilder(), gen);
-        }
-    }
-
-    private static class AwsResponseSerializer extends JsonSerializer<Object> {
-
-        @Override
-        public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
-            serializers.defaultSerializeValue(((AwsResponse) value).toBuilder(), gen);
-        }
-    }
-
-
     private final SerializerFactory delegateSerializerFactory;
 
     public AwsObjectsSerializerFactory(SerializerFactory delegateSerializerFactory) {
@@ -63,11 +43,10 @@ public class AwsObjectsSerializerFactory extends SerializerFactory {
 
     @Override
     public JsonSerializer<Object> createSerializer(SerializerProvider prov, JavaType baseType) throws JsonMappingException {
-        if (AwsRequest.class.isAssignableFrom(baseType.getRawClass())) {
-            return new AwsRequestSerializer();
-        }
-        if (AwsResponse.class.isAssignableFrom(baseType.getRawClass())) {
-            return new AwsResponseSerializer();
+        Class<?> rawClass = baseType.getRawClass();
+        // builders are SdkPojo too, but their fields can only be read from the built object
+        if (SdkPojo.class.isAssignableFrom(rawClass) && !SdkBuilder.class.isAssignableFrom(rawClass)) {
+            return SdkPojoSerializer.INSTANCE;
         }
         return delegateSerializerFactory.createSerializer(prov, baseType);
     }
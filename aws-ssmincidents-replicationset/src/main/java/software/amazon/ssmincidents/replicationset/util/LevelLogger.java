@@ -0,0 +1,56 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.function.Supplier;
+
+/**
+ * Adds levels to the handler {@link Logger}. Messages are passed as suppliers,
+ * so building them (e.g. serializing a model) only happens when their level is enabled.
+ */
+public class LevelLogger {
+
+    public static final String LOG_LEVEL_ENVIRONMENT_VARIABLE = "LOG_LEVEL";
+
+    private static final LogLevel DEFAULT_LEVEL =
+        LogLevel.parse(System.getenv(LOG_LEVEL_ENVIRONMENT_VARIABLE), LogLevel.INFO);
+
+    private final Logger logger;
+
+    private final LogLevel threshold;
+
+    public LevelLogger(Logger logger) {
+        this(logger, DEFAULT_LEVEL);
+    }
+
+    public LevelLogger(Logger logger, LogLevel threshold) {
+        this.logger = logger;
+        this.threshold = threshold;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    public void log(LogLevel level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            logger.log(level.name() + " " + message.get());
+        }
+    }
+
+    public void debug(Supplier<String> message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public void info(Supplier<String> message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public void warn(Supplier<String> message) {
+        log(LogLevel.WARN, message);
+    }
+
+    public void error(Supplier<String> message) {
+        log(LogLevel.ERROR, message);
+    }
+}
@@ -0,0 +1,24 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import java.util.Locale;
+
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR;
+
+    /**
+     * @return the level named by {@code value}, ignoring case, or {@code defaultLevel} if there is no such level
+     */
+    public static LogLevel parse(String value, LogLevel defaultLevel) {
+        if (value == null) {
+            return defaultLevel;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return defaultLevel;
+        }
+    }
+}
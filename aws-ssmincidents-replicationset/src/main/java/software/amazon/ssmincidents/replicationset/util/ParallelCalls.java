@@ -0,0 +1,80 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs SDK calls which do not depend on each other concurrently on a small pool shared by all
+ * invocations. When the pool is saturated the call runs on the calling thread instead.
+ */
+public final class ParallelCalls {
+
+    @VisibleForTesting
+    static final int MAX_THREADS = 4;
+
+    private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(
+        0,
+        MAX_THREADS,
+        60L,
+        TimeUnit.SECONDS,
+        new SynchronousQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("ssm-incidents-call-%d").setDaemon(true).build(),
+        new ThreadPoolExecutor.CallerRunsPolicy()
+    );
+
+    private ParallelCalls() {
+    }
+
+    /**
+     * Starts the call, the metrics of the current invocation stay bound while it runs.
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        Optional<HandlerMetrics> metrics = HandlerMetrics.current();
+        return CompletableFuture.supplyAsync(() -> {
+            Optional<HandlerMetrics> previous = HandlerMetrics.current();
+            metrics.ifPresent(HandlerMetrics::bind);
+            try {
+                return call.get();
+            } finally {
+                if (previous.isPresent()) {
+                    HandlerMetrics.bind(previous.get());
+                } else {
+                    HandlerMetrics.unbind();
+                }
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Waits for the call and returns its result, a failed call rethrows the exception it failed with.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for the call regardless of its outcome, so no call outlives the invocation which started it.
+     */
+    public static void await(CompletableFuture<?> future) {
+        future.handle((result, exception) -> null).join();
+    }
+}
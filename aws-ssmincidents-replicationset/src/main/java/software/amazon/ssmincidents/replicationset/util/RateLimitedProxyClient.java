@@ -0,0 +1,278 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Paces SDK calls made through a {@link ProxyClient} with token buckets, one per {@link OperationClass}, and
+ * retries calls the service throttled with full jitter backoff. This comes on top of the SDK retries, which are
+ * not paced and give up after a few hundred milliseconds. Waiting for a permit counts as
+ * {@link HandlerMetrics#SELF_THROTTLES}, retrying a throttled call as {@link HandlerMetrics#THROTTLE_RETRIES}.
+ * Async calls wait for their permit and their retries on a scheduler rather than on the calling thread, which may
+ * be an SDK completion thread.
+ * <p>
+ * The buckets live in one container and only smooth the bursts of its invocations. Throttling spread across the
+ * containers of an account is handled by the retries, and by failing with {@code Throttling} once they run out.
+ */
+public class RateLimitedProxyClient<ClientT> implements ProxyClient<ClientT> {
+
+    /**
+     * Groups operations which share an API limit.
+     */
+    public enum OperationClass {
+        READ,
+        WRITE,
+        TAG;
+
+        static OperationClass of(AwsRequest request) {
+            String operation = request.getClass().getSimpleName();
+            if (operation.startsWith("Get") || operation.startsWith("List")) {
+                return READ;
+            }
+            if (operation.startsWith("TagResource") || operation.startsWith("UntagResource")) {
+                return TAG;
+            }
+            return WRITE;
+        }
+    }
+
+    @FunctionalInterface
+    public interface NanoSleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    @FunctionalInterface
+    public interface NanoScheduler {
+        void schedule(Runnable task, long nanos);
+    }
+
+    @VisibleForTesting
+    static final int MAX_ATTEMPTS = 4;
+
+    @VisibleForTesting
+    static final Duration BASE_BACKOFF = Duration.ofMillis(200);
+
+    @VisibleForTesting
+    static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+    // started on the first delayed async call only
+    private static final ScheduledExecutorService DELAYS = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder().setNameFormat("rate-limited-proxy-client-delays").setDaemon(true).build());
+
+    private final ProxyClient<ClientT> delegate;
+
+    private final HandlerMetrics metrics;
+
+    private final Map<OperationClass, TokenBucket> buckets;
+
+    private final NanoSleeper sleeper;
+
+    private final NanoScheduler scheduler;
+
+    private final DoubleSupplier jitter;
+
+    /**
+     * @param buckets permits per operation class, operations without a bucket are not paced
+     */
+    public RateLimitedProxyClient(ProxyClient<ClientT> delegate, HandlerMetrics metrics, Map<OperationClass, TokenBucket> buckets) {
+        this(
+            delegate,
+            metrics,
+            buckets,
+            TimeUnit.NANOSECONDS::sleep,
+            (task, nanos) -> DELAYS.schedule(task, nanos, TimeUnit.NANOSECONDS),
+            () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    /**
+     * @return new buckets well below the account limits, for the invocations of one container
+     */
+    public static Map<OperationClass, TokenBucket> defaultBuckets() {
+        return ImmutableMap.of(
+            OperationClass.READ, new TokenBucket(10, 20, System::nanoTime),
+            OperationClass.WRITE, new TokenBucket(2, 5, System::nanoTime),
+            OperationClass.TAG, new TokenBucket(5, 10, System::nanoTime)
+        );
+    }
+
+    /**
+     * @param jitter supplies values in [0, 1) used to randomize retry delays
+     */
+    @VisibleForTesting
+    RateLimitedProxyClient(
+        ProxyClient<ClientT> delegate,
+        HandlerMetrics metrics,
+        Map<OperationClass, TokenBucket> buckets,
+        NanoSleeper sleeper,
+        NanoScheduler scheduler,
+        DoubleSupplier jitter
+    ) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.buckets = buckets;
+        this.sleeper = sleeper;
+        this.scheduler = scheduler;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(RequestT request, Function<RequestT, ResponseT> requestFunction) {
+        for (int attempt = 1; ; attempt++) {
+            acquire(request);
+            try {
+                return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+            } catch (AwsServiceException e) {
+                if (!e.isThrottlingException() || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                metrics.increment(HandlerMetrics.THROTTLE_RETRIES);
+                if (!pause(backoffNanos(attempt))) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+    injectCredentialsAndInvokeV2Async(RequestT request, Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        CompletableFuture<ResponseT> result = new CompletableFuture<>();
+        invokeAsync(request, requestFunction, 1, result);
+        return result;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>> IterableT
+    injectCredentialsAndInvokeIterableV2(RequestT request, Function<RequestT, IterableT> requestFunction) {
+        // pages are fetched lazily while iterating, only the first one is paced
+        acquire(request);
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+    injectCredentialsAndInvokeV2InputStream(RequestT request, Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+        acquire(request);
+        return delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+    injectCredentialsAndInvokeV2Bytes(RequestT request, Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+        acquire(request);
+        return delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction);
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+
+    private <RequestT extends AwsRequest, ResponseT extends AwsResponse> void invokeAsync(
+        RequestT request,
+        Function<RequestT, CompletableFuture<ResponseT>> requestFunction,
+        int attempt,
+        CompletableFuture<ResponseT> result
+    ) {
+        long waitNanos = reserve(request);
+        if (waitNanos > 0) {
+            scheduler.schedule(() -> callAsync(request, requestFunction, attempt, result), waitNanos);
+        } else {
+            callAsync(request, requestFunction, attempt, result);
+        }
+    }
+
+    private <RequestT extends AwsRequest, ResponseT extends AwsResponse> void callAsync(
+        RequestT request,
+        Function<RequestT, CompletableFuture<ResponseT>> requestFunction,
+        int attempt,
+        CompletableFuture<ResponseT> result
+    ) {
+        CompletableFuture<ResponseT> call;
+        try {
+            call = delegate.injectCredentialsAndInvokeV2Async(request, requestFunction);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        call.whenComplete((response, exception) -> {
+            if (exception == null) {
+                result.complete(response);
+                return;
+            }
+            Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                ? exception.getCause()
+                : exception;
+            if (!(cause instanceof AwsServiceException) || !((AwsServiceException) cause).isThrottlingException()
+                || attempt >= MAX_ATTEMPTS) {
+                result.completeExceptionally(exception);
+                return;
+            }
+            metrics.increment(HandlerMetrics.THROTTLE_RETRIES);
+            scheduler.schedule(() -> invokeAsync(request, requestFunction, attempt + 1, result), backoffNanos(attempt));
+        });
+    }
+
+    private void acquire(AwsRequest request) {
+        long waitNanos = reserve(request);
+        if (waitNanos > 0) {
+            pause(waitNanos);
+        }
+    }
+
+    /**
+     * Takes a permit for {@code request}.
+     *
+     * @return nanoseconds to wait before using it
+     */
+    private long reserve(AwsRequest request) {
+        TokenBucket bucket = buckets.get(OperationClass.of(request));
+        if (bucket == null) {
+            return 0;
+        }
+        long waitNanos = bucket.reserve();
+        if (waitNanos > 0) {
+            metrics.increment(HandlerMetrics.SELF_THROTTLES);
+        }
+        return waitNanos;
+    }
+
+    // "full jitter": anywhere between 0 and the exponential ceiling
+    private long backoffNanos(int attempt) {
+        long ceilingNanos = Math.min(MAX_BACKOFF.toNanos(), BASE_BACKOFF.toNanos() << (attempt - 1));
+        return (long) (jitter.getAsDouble() * ceilingNanos);
+    }
+
+    /**
+     * @return false when interrupted, the interrupt flag is restored
+     */
+    private boolean pause(long nanos) {
+        try {
+            sleeper.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
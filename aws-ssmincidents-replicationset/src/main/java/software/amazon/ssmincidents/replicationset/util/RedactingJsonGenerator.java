@@ -0,0 +1,102 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Set;
+
+/**
+ * Replaces string values of the given fields with a placeholder while they are written,
+ * so sensitive values can be logged without first building a redacted copy of the object.
+ * Arrays and objects under such a field have all their string values replaced.
+ * Field names are matched ignoring case, which covers both CloudFormation models ("SseKmsKeyId")
+ * and SDK objects ("sseKmsKeyId").
+ */
+public class RedactingJsonGenerator extends JsonGeneratorDelegate {
+
+    private final Set<String> redactedFields;
+
+    private final String placeholder;
+
+    public RedactingJsonGenerator(JsonGenerator delegate, Set<String> redactedFields, String placeholder) {
+        // copy methods must come through this class to be redacted
+        super(delegate, false);
+        this.redactedFields = redactedFields;
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Serializes {@code value} to JSON with {@code mapper}, redacting the given fields.
+     */
+    public static String writeValueAsString(
+        ObjectMapper mapper,
+        Object value,
+        Set<String> redactedFields,
+        String placeholder
+    ) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = new RedactingJsonGenerator(
+            mapper.getFactory().createGenerator(writer), redactedFields, placeholder)) {
+            mapper.writeValue(generator, value);
+        }
+        return writer.toString();
+    }
+
+    @Override
+    public void writeString(String text) throws IOException {
+        if (underRedactedField()) {
+            super.writeString(placeholder);
+        } else {
+            super.writeString(text);
+        }
+    }
+
+    @Override
+    public void writeString(char[] text, int offset, int len) throws IOException {
+        if (underRedactedField()) {
+            super.writeString(placeholder);
+        } else {
+            super.writeString(text, offset, len);
+        }
+    }
+
+    @Override
+    public void writeString(SerializableString text) throws IOException {
+        if (underRedactedField()) {
+            super.writeString(placeholder);
+        } else {
+            super.writeString(text);
+        }
+    }
+
+    @Override
+    public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+        if (underRedactedField()) {
+            super.writeString(placeholder);
+        } else {
+            super.writeUTF8String(text, offset, length);
+        }
+    }
+
+    private boolean isRedacted(String name) {
+        return redactedFields.stream().anyMatch(field -> field.equalsIgnoreCase(name));
+    }
+
+    /**
+     * @return whether the value about to be written is the one of a redacted field, or nested in it
+     */
+    private boolean underRedactedField() {
+        // the current name of an object context is the field last written in it, that is the one holding the value
+        for (JsonStreamContext context = getOutputContext(); context != null; context = context.getParent()) {
+            if (context.inObject() && context.getCurrentName() != null && isRedacted(context.getCurrentName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,112 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.util.SdkAutoConstructList;
+import software.amazon.awssdk.core.util.SdkAutoConstructMap;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes SDK model objects from their {@link SdkPojo#sdkFields()} metadata, without building a copy or
+ * introspecting bean properties. Field names are the member names with a lower case first letter, as
+ * bean introspection of the builders named them. Unset fields are left out, including lists and maps the SDK
+ * auto-constructed empty in their place. Values which are not
+ * strings, numbers, booleans, collections or SDK objects go to the serializers of the provider.
+ */
+public final class SdkPojoSerializer extends JsonSerializer<Object> {
+
+    public static final SdkPojoSerializer INSTANCE = new SdkPojoSerializer();
+
+    // sdkFields() of a model class is a constant list, resolved once per class
+    private static final Map<Class<?>, FieldWriter[]> FIELD_WRITERS = new ConcurrentHashMap<>();
+
+    private SdkPojoSerializer() {
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        writePojo((SdkPojo) value, gen, serializers);
+    }
+
+    private static void writePojo(SdkPojo pojo, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        for (FieldWriter fieldWriter : FIELD_WRITERS.computeIfAbsent(pojo.getClass(), type -> fieldWriters(pojo.sdkFields()))) {
+            Object fieldValue = fieldWriter.field.getValueOrDefault(pojo);
+            if (isSet(fieldValue)) {
+                gen.writeFieldName(fieldWriter.name);
+                writeValue(fieldValue, gen, serializers);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private static boolean isSet(Object fieldValue) {
+        return fieldValue != null
+            && !(fieldValue instanceof SdkAutoConstructList)
+            && !(fieldValue instanceof SdkAutoConstructMap);
+    }
+
+    private static void writeValue(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (value instanceof String) {
+            gen.writeString((String) value);
+        } else if (value instanceof Integer) {
+            gen.writeNumber((Integer) value);
+        } else if (value instanceof Long) {
+            gen.writeNumber((Long) value);
+        } else if (value instanceof Boolean) {
+            gen.writeBoolean((Boolean) value);
+        } else if (value instanceof SdkPojo) {
+            writePojo((SdkPojo) value, gen, serializers);
+        } else if (value instanceof Collection) {
+            gen.writeStartArray();
+            for (Object element : (Collection<?>) value) {
+                writeValue(element, gen, serializers);
+            }
+            gen.writeEndArray();
+        } else if (value instanceof Map) {
+            gen.writeStartObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                gen.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue(), gen, serializers);
+            }
+            gen.writeEndObject();
+        } else {
+            serializers.defaultSerializeValue(value, gen);
+        }
+    }
+
+    private static FieldWriter[] fieldWriters(List<SdkField<?>> fields) {
+        FieldWriter[] writers = new FieldWriter[fields.size()];
+        for (int i = 0; i < writers.length; i++) {
+            SdkField<?> field = fields.get(i);
+            String memberName = field.memberName();
+            String name = Character.toLowerCase(memberName.charAt(0)) + memberName.substring(1);
+            writers[i] = new FieldWriter(new SerializedString(name), field);
+        }
+        return writers;
+    }
+
+    private static final class FieldWriter {
+
+        private final SerializableString name;
+
+        private final SdkField<?> field;
+
+        private FieldWriter(SerializableString name, SdkField<?> field) {
+            this.name = name;
+            this.field = field;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Tag changes between the previous and the desired resource state, batched into one tag and one untag call:
+ * new keys and changed values are tagged (which overwrites the value), keys only in the previous state are untagged.
+ * Keys keep the order of the given tags, so the requests are the same from one invocation to the next.
+ */
+public final class TagDiff {
+
+    private final Map<String, String> tagsToAdd;
+
+    private final Set<String> tagKeysToRemove;
+
+    private final Set<String> duplicateKeys;
+
+    private TagDiff(Map<String, String> tagsToAdd, Set<String> tagKeysToRemove, Set<String> duplicateKeys) {
+        this.tagsToAdd = tagsToAdd;
+        this.tagKeysToRemove = tagKeysToRemove;
+        this.duplicateKeys = duplicateKeys;
+    }
+
+    /**
+     * @param previousTags tags of the previous resource state, null when there are none
+     * @param desiredTags  tags of the desired resource state, null when there are none
+     */
+    public static <T> TagDiff between(
+        Collection<T> previousTags,
+        Collection<T> desiredTags,
+        Function<? super T, String> key,
+        Function<? super T, String> value) {
+
+        Map<String, String> previous = toMap(previousTags, key, value, new LinkedHashSet<>());
+        Set<String> duplicateKeys = new LinkedHashSet<>();
+        Map<String, String> desired = toMap(desiredTags, key, value, duplicateKeys);
+
+        Map<String, String> tagsToAdd = Maps.newLinkedHashMapWithExpectedSize(desired.size());
+        for (Map.Entry<String, String> tag : desired.entrySet()) {
+            if (!previous.containsKey(tag.getKey()) || !Objects.equals(previous.get(tag.getKey()), tag.getValue())) {
+                tagsToAdd.put(tag.getKey(), tag.getValue());
+            }
+        }
+        Set<String> tagKeysToRemove = Sets.newLinkedHashSetWithExpectedSize(previous.size());
+        for (String previousKey : previous.keySet()) {
+            if (!desired.containsKey(previousKey)) {
+                tagKeysToRemove.add(previousKey);
+            }
+        }
+        return new TagDiff(tagsToAdd, tagKeysToRemove, duplicateKeys);
+    }
+
+    /**
+     * Indexes tags by key into a presized map, in iteration order. A key that appears with more than one value keeps the last one
+     * and is added to {@code duplicateKeys}.
+     */
+    public static <T> Map<String, String> toMap(
+        Collection<T> tags,
+        Function<? super T, String> key,
+        Function<? super T, String> value,
+        Set<String> duplicateKeys) {
+
+        if (tags == null || tags.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> tagMap = Maps.newLinkedHashMapWithExpectedSize(tags.size());
+        for (T tag : tags) {
+            String tagKey = key.apply(tag);
+            if (tagMap.containsKey(tagKey)) {
+                duplicateKeys.add(tagKey);
+            }
+            tagMap.put(tagKey, value.apply(tag));
+        }
+        return tagMap;
+    }
+
+    /**
+     * Tags to send in a single TagResource call: keys new in the desired state and keys whose value changed.
+     */
+    public Map<String, String> getTagsToAdd() {
+        return tagsToAdd;
+    }
+
+    /**
+     * Keys to send in a single UntagResource call. Keys whose value changed are not among them.
+     */
+    public Set<String> getTagKeysToRemove() {
+        return tagKeysToRemove;
+    }
+
+    /**
+     * Keys that appear more than once in the desired state, the request is invalid when there are any.
+     */
+    public Set<String> getDuplicateKeys() {
+        return duplicateKeys;
+    }
+
+    public boolean hasDuplicateKeys() {
+        return !duplicateKeys.isEmpty();
+    }
+}
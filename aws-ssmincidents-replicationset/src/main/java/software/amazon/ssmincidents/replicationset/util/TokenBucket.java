@@ -0,0 +1,50 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket which hands out permits ahead of time: a caller that finds the bucket empty reserves
+ * the next permit and is told how long to wait for it, so concurrent callers are served in order.
+ */
+public class TokenBucket {
+
+    private final double permitsPerNano;
+
+    private final double capacity;
+
+    private final LongSupplier nanoTime;
+
+    // may go negative, it then counts the permits reserved ahead of time
+    private double permits;
+
+    private long lastRefillNanos;
+
+    /**
+     * @param permitsPerSecond sustained rate
+     * @param capacity         permits available at once, the bucket starts full
+     */
+    public TokenBucket(double permitsPerSecond, int capacity, LongSupplier nanoTime) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Rate and capacity must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.nanoTime = nanoTime;
+        this.permits = capacity;
+        this.lastRefillNanos = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes one permit.
+     *
+     * @return nanoseconds to wait before using it, 0 when it is available right away
+     */
+    public synchronized long reserve() {
+        long now = nanoTime.getAsLong();
+        permits = Math.min(capacity, permits + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+        permits -= 1;
+        return permits >= 0 ? 0 : (long) Math.ceil(-permits / permitsPerNano);
+    }
+}
@@ -5,12 +5,17 @@ import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Credentials;
 import software.amazon.cloudformation.proxy.LoggerProxy;
 import software.amazon.cloudformation.proxy.ProxyClient;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
@@ -18,6 +23,19 @@ public class AbstractTestBase {
     protected static final Credentials MOCK_CREDENTIALS;
     protected static final LoggerProxy logger;
 
+    protected static final Instant NOW = Instant.parse("2021-05-01T00:00:00Z");
+    protected static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+    protected static final StabilizationScheduler STABILIZATION_SCHEDULER = new BackoffStabilizationScheduler(() -> 0.5);
+    // handlers under test only poll in-process after beginInvocation()
+    protected static final Sleeper UNEXPECTED_SLEEPER = duration -> {
+        throw new AssertionError("unexpected in-process wait of " + duration);
+    };
+    // deadline set by a handler which starts waiting for stabilization at NOW
+    protected static final long NEW_DEADLINE = NOW.plus(Duration.ofHours(2)).toEpochMilli();
+    // deadline of a stabilization which started earlier and has not expired yet
+    protected static final long PENDING_DEADLINE = NOW.plus(Duration.ofHours(1)).toEpochMilli();
+    protected static final long EXPIRED_DEADLINE = NOW.toEpochMilli();
+
     static {
         MOCK_CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
         logger = new LoggerProxy();
@@ -65,4 +83,47 @@ public class AbstractTestBase {
             }
         };
     }
+
+    static ProxyClient<SsmIncidentsAsyncClient> MOCK_ASYNC_PROXY(
+        final AmazonWebServicesClientProxy proxy,
+        final SsmIncidentsAsyncClient asyncClient) {
+        return new ProxyClient<SsmIncidentsAsyncClient>() {
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+            injectCredentialsAndInvokeV2(RequestT request, Function<RequestT, ResponseT> requestFunction) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse>
+            CompletableFuture<ResponseT>
+            injectCredentialsAndInvokeV2Async(RequestT request, Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+                return proxy.injectCredentialsAndInvokeV2Async(request, requestFunction);
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>>
+            IterableT
+            injectCredentialsAndInvokeIterableV2(RequestT request, Function<RequestT, IterableT> requestFunction) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+            injectCredentialsAndInvokeV2InputStream(RequestT requestT, Function<RequestT, ResponseInputStream<ResponseT>> function) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+            injectCredentialsAndInvokeV2Bytes(RequestT requestT, Function<RequestT, ResponseBytes<ResponseT>> function) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public SsmIncidentsAsyncClient client() {
+                return asyncClient;
+            }
+        };
+    }
 }
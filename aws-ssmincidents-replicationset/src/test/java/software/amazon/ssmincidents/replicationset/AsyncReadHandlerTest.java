@@ -0,0 +1,115 @@
+package software.amazon.ssmincidents.replicationset;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.RegionMapInputValue;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.fake.InMemorySsmIncidentsAsyncClient;
+import software.amazon.ssmincidents.replicationset.fake.InMemorySsmIncidentsClient;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AsyncReadHandlerTest extends AbstractTestBase {
+
+    private ManualClock clock;
+
+    private InMemorySsmIncidentsClient fakeClient;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    @BeforeEach
+    public void setup() {
+        clock = new ManualClock(NOW);
+        fakeClient = new InMemorySsmIncidentsClient(clock).withRegionLatency(Duration.ofMinutes(3));
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        String arn = fakeClient.createReplicationSet(CreateReplicationSetRequest.builder()
+            .regions(ImmutableMap.of("us-east-1", RegionMapInputValue.builder().sseKmsKeyId("kms-key").build()))
+            .tags(ImmutableMap.of("team", "incident-response"))
+            .build()).arn();
+        clock.sleep(Duration.ofMinutes(3));
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(arn);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(arn);
+        assertThat(response.getResourceModel().getRegions()).containsExactly(
+            new ReplicationRegion("us-east-1", RegionConfiguration.builder().sseKmsKeyId("kms-key").build()));
+        assertThat(response.getResourceModel().getTags()).containsExactly(new Tag("team", "incident-response"));
+        assertThat(fakeClient.callCount("GetReplicationSet")).isEqualTo(1);
+        assertThat(fakeClient.callCount("ListTagsForResource")).isEqualTo(1);
+    }
+
+    @Test
+    public void handleRequest_NotFound() {
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest("arn:aws:ssm-incidents::111122223333:replication-set/missing");
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    @Test
+    public void handleRequest_NotFound_WaitsForTags() {
+        SsmIncidentsAsyncClient client = mock(SsmIncidentsAsyncClient.class);
+        CompletableFuture<GetReplicationSetResponse> replicationSet = new CompletableFuture<>();
+        replicationSet.completeExceptionally(ResourceNotFoundException.builder().message("not found").build());
+        CompletableFuture<ListTagsForResourceResponse> tags = new CompletableFuture<>();
+        when(client.getReplicationSet(any(GetReplicationSetRequest.class))).thenReturn(replicationSet);
+        when(client.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(tags);
+
+        CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> response = new AsyncReadHandler().handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().arn("arn").build()).build(),
+            new CallbackContext(),
+            MOCK_ASYNC_PROXY(proxy, client),
+            logger
+        );
+
+        // the invocation does not complete while the tags call is in flight
+        assertThat(response).isNotDone();
+        tags.complete(ListTagsForResourceResponse.builder().build());
+
+        assertThat(response.join().getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.join().getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    @Test
+    public void handleRequest_NoArn() {
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(null);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(fakeClient.callCount("GetReplicationSet")).isZero();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(String arn) {
+        return new AsyncReadHandler().handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().arn(arn).build()).build(),
+            new CallbackContext(),
+            MOCK_ASYNC_PROXY(proxy, new InMemorySsmIncidentsAsyncClient(fakeClient).withCallLatency(Duration.ofMillis(5))),
+            logger
+        ).join();
+    }
+}
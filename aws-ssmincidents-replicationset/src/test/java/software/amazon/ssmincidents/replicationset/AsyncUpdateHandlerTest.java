@@ -0,0 +1,139 @@
+package software.amazon.ssmincidents.replicationset;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.RegionMapInputValue;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.fake.InMemorySsmIncidentsAsyncClient;
+import software.amazon.ssmincidents.replicationset.fake.InMemorySsmIncidentsClient;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class AsyncUpdateHandlerTest extends AbstractTestBase {
+
+    private static final ReplicationRegion US_EAST_1 = new ReplicationRegion("us-east-1", RegionConfiguration.builder().build());
+
+    private static final ReplicationRegion US_WEST_2 = new ReplicationRegion("us-west-2", RegionConfiguration.builder().build());
+
+    private ManualClock clock;
+
+    private InMemorySsmIncidentsClient fakeClient;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    private AsyncUpdateHandler handler;
+
+    private String arn;
+
+    @BeforeEach
+    public void setup() {
+        clock = new ManualClock(NOW);
+        fakeClient = new InMemorySsmIncidentsClient(clock).withRegionLatency(Duration.ofMinutes(3));
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        handler = new AsyncUpdateHandler(clock, STABILIZATION_SCHEDULER);
+        arn = fakeClient.createReplicationSet(CreateReplicationSetRequest.builder()
+            .regions(ImmutableMap.of("us-east-1", RegionMapInputValue.builder().build()))
+            .tags(ImmutableMap.of("old", "value"))
+            .build()).arn();
+    }
+
+    @Test
+    public void handleRequest_DeletionProtectionAndTags() {
+        clock.sleep(Duration.ofMinutes(3));
+        CallbackContext context = new CallbackContext();
+
+        ResourceModel desired = model(ImmutableSet.of(new Tag("new", "value")));
+        desired.setDeletionProtected(true);
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(model(ImmutableSet.of(new Tag("old", "value"))), desired, context);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(arn);
+        assertThat(fakeClient.callCount("UpdateReplicationSet")).isZero();
+        assertThat(fakeClient.callCount("UpdateDeletionProtection")).isEqualTo(1);
+        assertThat(fakeClient.callCount("TagResource")).isEqualTo(1);
+        assertThat(fakeClient.callCount("UntagResource")).isEqualTo(1);
+        assertThat(fakeClient.getReplicationSet(GetReplicationSetRequest.builder().arn(arn).build()).replicationSet().deletionProtected())
+            .isTrue();
+        assertThat(fakeClient.listTagsForResource(ListTagsForResourceRequest.builder().resourceArn(arn).build()).tags())
+            .containsExactly(entry("new", "value"));
+    }
+
+    @Test
+    public void handleRequest_NotActive_CallbackDelay() {
+        CallbackContext context = new CallbackContext();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(model(null), model(null), context);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isPositive();
+        assertThat(response.getCallbackContext().getStabilizationDeadline()).isEqualTo(NEW_DEADLINE);
+        assertThat(fakeClient.callCount("UpdateReplicationSet")).isZero();
+    }
+
+    @Test
+    public void handleRequest_AddRegion_AwaitedWithCallbacks() {
+        clock.sleep(Duration.ofMinutes(3));
+        ResourceModel desired = model(null);
+        desired.setRegions(ImmutableSet.of(US_EAST_1, US_WEST_2));
+        CallbackContext context = new CallbackContext();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(model(null), desired, context);
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackContext().mainAPICalled()).isTrue();
+        assertThat(fakeClient.callCount("UpdateReplicationSet")).isEqualTo(1);
+
+        for (int invocation = 0; response.getStatus() == OperationStatus.IN_PROGRESS && invocation < 20; invocation++) {
+            clock.sleep(Duration.ofSeconds(response.getCallbackDelaySeconds()));
+            response = handleRequest(model(null), desired, response.getCallbackContext());
+        }
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(fakeClient.callCount("UpdateReplicationSet")).isEqualTo(1);
+        assertThat(fakeClient.getReplicationSet(GetReplicationSetRequest.builder().arn(arn).build()).replicationSet().regionMap())
+            .containsOnlyKeys("us-east-1", "us-west-2");
+    }
+
+    @Test
+    public void handleRequest_DuplicateTagKeys() {
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(
+            model(null),
+            model(ImmutableSet.of(new Tag("key", "a"), new Tag("key", "b"))),
+            new CallbackContext());
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        assertThat(fakeClient.callCount("GetReplicationSet")).isZero();
+    }
+
+    private ResourceModel model(Set<Tag> tags) {
+        return ResourceModel.builder().arn(arn).regions(ImmutableSet.of(US_EAST_1)).tags(tags).build();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(ResourceModel previous, ResourceModel desired, CallbackContext context) {
+        return handler.handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .clientRequestToken("update")
+                .previousResourceState(previous)
+                .desiredResourceState(desired)
+                .build(),
+            context,
+            MOCK_ASYNC_PROXY(proxy, new InMemorySsmIncidentsAsyncClient(fakeClient).withCallLatency(Duration.ofMillis(5))),
+            logger
+        ).join();
+    }
+}
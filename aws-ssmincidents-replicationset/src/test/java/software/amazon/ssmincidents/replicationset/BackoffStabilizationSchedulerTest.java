@@ -0,0 +1,65 @@
+package software.amazon.ssmincidents.replicationset;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BackoffStabilizationSchedulerTest {
+
+    @Test
+    public void maxAwaitDuration() {
+        assertThat(new BackoffStabilizationScheduler().maxAwaitDuration()).isEqualTo(Duration.ofHours(2));
+    }
+
+    @Test
+    public void nextDelay_FastPolls() {
+        BackoffStabilizationScheduler scheduler = new BackoffStabilizationScheduler(() -> 0.99);
+
+        assertThat(scheduler.nextDelay(0)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(scheduler.nextDelay(1)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(scheduler.nextDelay(2)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void nextDelay_ExponentialBackoff() {
+        BackoffStabilizationScheduler scheduler = new BackoffStabilizationScheduler(() -> 0.5);
+
+        assertThat(scheduler.nextDelay(3)).isEqualTo(Duration.ofSeconds(8));
+        assertThat(scheduler.nextDelay(4)).isEqualTo(Duration.ofSeconds(15));
+        assertThat(scheduler.nextDelay(5)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(scheduler.nextDelay(6)).isEqualTo(Duration.ofSeconds(45));
+    }
+
+    @Test
+    public void nextDelay_Capped() {
+        BackoffStabilizationScheduler scheduler = new BackoffStabilizationScheduler(() -> 0.999);
+
+        assertThat(scheduler.nextDelay(7)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(scheduler.nextDelay(100)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(scheduler.nextDelay(Integer.MAX_VALUE)).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    public void nextDelay_JitterRange() {
+        BackoffStabilizationScheduler lowJitter = new BackoffStabilizationScheduler(() -> 0.0);
+        BackoffStabilizationScheduler highJitter = new BackoffStabilizationScheduler(() -> 0.999);
+
+        assertThat(lowJitter.nextDelay(20)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(highJitter.nextDelay(20)).isEqualTo(Duration.ofSeconds(60));
+        // never shorter than the fast polls
+        assertThat(lowJitter.nextDelay(3)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void nextDelay_DefaultJitterWithinBounds() {
+        BackoffStabilizationScheduler scheduler = new BackoffStabilizationScheduler();
+
+        for (int attempt = 0; attempt < 50; attempt++) {
+            assertThat(scheduler.nextDelay(attempt))
+                .isGreaterThanOrEqualTo(Duration.ofSeconds(5))
+                .isLessThanOrEqualTo(Duration.ofSeconds(60));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package software.amazon.ssmincidents.replicationset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class ClientBuilderTest {
+
+    private List<SsmIncidentsClient> builtClients;
+
+    @BeforeEach
+    public void setup() {
+        builtClients = new ArrayList<>();
+        ClientBuilder.setClientFactory(region -> {
+            SsmIncidentsClient client = mock(SsmIncidentsClient.class);
+            builtClients.add(client);
+            return client;
+        });
+    }
+
+    @AfterEach
+    public void cleanup() {
+        ClientBuilder.setClientFactory(ClientBuilder::buildClient);
+        ClientBuilder.setAsyncClientFactory(ClientBuilder::buildAsyncClient);
+    }
+
+    @Test
+    public void getClient_CachedPerRegion() {
+        SsmIncidentsClient usEast1 = ClientBuilder.getClient(Region.US_EAST_1);
+        SsmIncidentsClient usWest2 = ClientBuilder.getClient(Region.US_WEST_2);
+
+        assertThat(ClientBuilder.getClient(Region.US_EAST_1)).isSameAs(usEast1);
+        assertThat(ClientBuilder.getClient(Region.US_WEST_2)).isSameAs(usWest2);
+        assertThat(usEast1).isNotSameAs(usWest2);
+        assertThat(builtClients).containsExactly(usEast1, usWest2);
+    }
+
+    @Test
+    public void invalidate_ClosesAndRebuilds() {
+        SsmIncidentsClient client = ClientBuilder.getClient(Region.US_EAST_1);
+
+        ClientBuilder.invalidate();
+
+        verify(client).close();
+        verifyNoMoreInteractions(client);
+        SsmIncidentsClient rebuilt = ClientBuilder.getClient(Region.US_EAST_1);
+        assertThat(rebuilt).isNotSameAs(client);
+        assertThat(builtClients).containsExactly(client, rebuilt);
+    }
+
+    @Test
+    public void getClient_Bounded() {
+        List<Region> regions = Region.regions().subList(0, ClientBuilder.MAX_CACHED_CLIENTS + 1);
+        regions.forEach(ClientBuilder::getClient);
+
+        // the least recently used client was evicted and closed
+        verify(builtClients.get(0)).close();
+        assertThat(builtClients).hasSize(ClientBuilder.MAX_CACHED_CLIENTS + 1);
+        ClientBuilder.getClient(regions.get(0));
+        assertThat(builtClients).hasSize(ClientBuilder.MAX_CACHED_CLIENTS + 2);
+    }
+
+    @Test
+    public void getAsyncClient_CachedPerRegionAndInvalidated() {
+        List<SsmIncidentsAsyncClient> builtAsyncClients = new ArrayList<>();
+        ClientBuilder.setAsyncClientFactory(region -> {
+            SsmIncidentsAsyncClient client = mock(SsmIncidentsAsyncClient.class);
+            builtAsyncClients.add(client);
+            return client;
+        });
+        SsmIncidentsAsyncClient client = ClientBuilder.getAsyncClient(Region.US_EAST_1);
+        assertThat(ClientBuilder.getAsyncClient(Region.US_EAST_1)).isSameAs(client);
+
+        ClientBuilder.invalidate();
+
+        verify(client).close();
+        assertThat(ClientBuilder.getAsyncClient(Region.US_EAST_1)).isNotSameAs(client);
+        assertThat(builtAsyncClients).hasSize(2);
+        assertThat(builtClients).isEmpty();
+    }
+
+    @Test
+    public void buildClient() {
+        try (SsmIncidentsClient client = ClientBuilder.buildClient(Region.US_EAST_1)) {
+            assertThat(client.serviceName()).isEqualTo(SsmIncidentsClient.SERVICE_NAME);
+        }
+    }
+}
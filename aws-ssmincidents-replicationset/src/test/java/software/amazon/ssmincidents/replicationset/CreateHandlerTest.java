@@ -63,7 +63,7 @@ public class CreateHandlerTest extends AbstractTestBase {
     public void setup() {
         proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
         proxyClient = MOCK_PROXY(proxy, sdkClient);
-        handler = new CreateHandler();
+        handler = new CreateHandler(CLOCK, STABILIZATION_SCHEDULER, UNEXPECTED_SLEEPER);
     }
 
     @AfterEach
@@ -110,13 +110,14 @@ public class CreateHandlerTest extends AbstractTestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(5);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
         assertThat(response.getCallbackContext().mainAPICalled()).isTrue();
-        assertThat(response.getCallbackContext().getAwaitRetryAttemptsRemaining()).isEqualTo(239);
+        assertThat(response.getCallbackContext().getStabilizationDeadline()).isEqualTo(NEW_DEADLINE);
+        assertThat(response.getCallbackContext().getStabilizationAttempt()).isEqualTo(1);
         assertThat(response.getResourceModel().getArn()).isEqualTo("arn");
         assertThat(response.getResourceModel().getDeletionProtected()).isFalse();
         assertThat(response.getResourceModel().getRegions()).isEqualTo(model.getRegions());
@@ -165,20 +166,25 @@ public class CreateHandlerTest extends AbstractTestBase {
             .desiredResourceState(model)
             .build();
 
-        CallbackContext context = new CallbackContext(239, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(4)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(15);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
 
         assertThat(response.getCallbackContext().mainAPICalled()).isTrue();
-        assertThat(response.getCallbackContext().getAwaitRetryAttemptsRemaining()).isEqualTo(238);
+        assertThat(response.getCallbackContext().getStabilizationDeadline()).isEqualTo(PENDING_DEADLINE);
+        assertThat(response.getCallbackContext().getStabilizationAttempt()).isEqualTo(5);
 
         assertThat(response.getResourceModel().getArn()).isEqualTo("arn");
         assertThat(response.getResourceModel().getDeletionProtected()).isFalse();
@@ -192,33 +198,168 @@ public class CreateHandlerTest extends AbstractTestBase {
 
 
     @Test
-    public void handleRequest_AwaitStabilization_CreationComplete() {
+    public void handleRequest_AwaitStabilization_DelayLimitedByDeadline() {
 
-        ReplicationSet replicationSetResponse1 = ReplicationSet.builder()
+        GetReplicationSetResponse getReplicationSetResponse = GetReplicationSetResponse.builder()
+            .replicationSet(ReplicationSet.builder()
+                .status(ReplicationSetStatus.CREATING)
+                .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                .build())
+            .build();
+
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class))).thenReturn(getReplicationSetResponse);
+
+        ResourceModel model = ResourceModel.builder()
             .deletionProtected(false)
-            .status(ReplicationSetStatus.ACTIVE)
-            .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+            .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
+            .arn("arn")
+            .build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        long deadline = NOW.plusSeconds(3).toEpochMilli();
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(deadline)
+            .stabilizationAttempt(100)
+            .mainAPICalled(true)
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(3);
+        assertThat(response.getCallbackContext().getStabilizationDeadline()).isEqualTo(deadline);
+        assertThat(response.getCallbackContext().getStabilizationAttempt()).isEqualTo(101);
+
+        verify(sdkClient).getReplicationSet(any(GetReplicationSetRequest.class));
+    }
+
+
+    @Test
+    public void handleRequest_AwaitStabilization_InProcessPolling() {
+
+        GetReplicationSetResponse creating = GetReplicationSetResponse.builder()
+            .replicationSet(ReplicationSet.builder()
+                .deletionProtected(false)
+                .status(ReplicationSetStatus.CREATING)
+                .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                .build())
             .build();
-        ReplicationSet replicationSetResponse2 = ReplicationSet.builder()
+        GetReplicationSetResponse active = GetReplicationSetResponse.builder()
+            .replicationSet(ReplicationSet.builder()
+                .deletionProtected(false)
+                .status(ReplicationSetStatus.ACTIVE)
+                .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                .build())
+            .build();
+
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
+            .thenReturn(creating, creating, active);
+
+        when(sdkClient.updateDeletionProtection(any(UpdateDeletionProtectionRequest.class)))
+            .thenReturn(UpdateDeletionProtectionResponse.builder().build());
+
+        ResourceModel model = ResourceModel.builder()
             .deletionProtected(true)
+            .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
+            .arn("arn")
+            .build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(0)
+            .mainAPICalled(true)
+            .build();
+
+        ManualClock clock = new ManualClock(NOW);
+        CreateHandler inProcessHandler = new CreateHandler(clock, STABILIZATION_SCHEDULER, clock);
+        inProcessHandler.beginInvocation();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = inProcessHandler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getDeletionProtected()).isTrue();
+        // two fast polls were awaited in-process instead of returning a callback delay
+        assertThat(clock.instant()).isEqualTo(NOW.plusSeconds(10));
+        assertThat(inProcessHandler.metrics().getCount(BaseHandlerStd.STABILIZATION_POLLS)).isEqualTo(3);
+        assertThat(inProcessHandler.metrics().getStepMillis())
+            .containsOnlyKeys("InitiateReplicationSetCreation", "CreateReplicationSetPreCheck", "AwaitStabilization",
+                "UpdateDeletionProtection", "ReturnFromWrite");
+
+        verify(sdkClient, times(3)).getReplicationSet(any(GetReplicationSetRequest.class));
+        verify(sdkClient).updateDeletionProtection(any(UpdateDeletionProtectionRequest.class));
+    }
+
+    @Test
+    public void handleRequest_AwaitStabilization_InProcessPollingBudgetExhausted() {
+
+        GetReplicationSetResponse getReplicationSetResponse = GetReplicationSetResponse.builder()
+            .replicationSet(ReplicationSet.builder()
+                .status(ReplicationSetStatus.CREATING)
+                .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                .build())
+            .build();
+
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class))).thenReturn(getReplicationSetResponse);
+
+        ResourceModel model = ResourceModel.builder()
+            .deletionProtected(false)
+            .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
+            .arn("arn")
+            .build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(0)
+            .mainAPICalled(true)
+            .build();
+
+        ManualClock clock = new ManualClock(NOW);
+        CreateHandler inProcessHandler = new CreateHandler(clock, STABILIZATION_SCHEDULER, clock);
+        inProcessHandler.beginInvocation();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = inProcessHandler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        // 5 + 5 + 5 + 8 + 15 seconds fit into the budget, the next 30 seconds do not
+        assertThat(clock.instant()).isEqualTo(NOW.plusSeconds(38));
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(response.getCallbackContext().getStabilizationDeadline()).isEqualTo(PENDING_DEADLINE);
+        assertThat(response.getCallbackContext().getStabilizationAttempt()).isEqualTo(6);
+
+        verify(sdkClient, times(6)).getReplicationSet(any(GetReplicationSetRequest.class));
+    }
+
+    @Test
+    public void handleRequest_AwaitStabilization_CreationComplete() {
+
+        ReplicationSet replicationSetResponse1 = ReplicationSet.builder()
+            .deletionProtected(false)
             .status(ReplicationSetStatus.ACTIVE)
             .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
             .build();
         GetReplicationSetResponse getReplicationSetResponse1 = GetReplicationSetResponse.builder()
             .replicationSet(replicationSetResponse1)
             .build();
-        GetReplicationSetResponse getReplicationSetResponse2 = GetReplicationSetResponse.builder()
-            .replicationSet(replicationSetResponse2)
-            .build();
 
-        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class))).thenReturn(getReplicationSetResponse1, getReplicationSetResponse2);
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class))).thenReturn(getReplicationSetResponse1);
 
         when(sdkClient.updateDeletionProtection(any(UpdateDeletionProtectionRequest.class)))
             .thenReturn(UpdateDeletionProtectionResponse.builder().build());
 
-        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().build());
-
         ResourceModel model = ResourceModel.builder()
             .deletionProtected(true)
             .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
@@ -229,7 +370,11 @@ public class CreateHandlerTest extends AbstractTestBase {
             .desiredResourceState(model)
             .build();
 
-        CallbackContext context = new CallbackContext(239, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(4)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -248,11 +393,9 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(response.getResourceModel().getRegions()).isEqualTo(model.getRegions());
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(2)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues().get(0)).isNotNull();
-        assertThat(getRequest.getAllValues().get(0)).isNotNull();
-        assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
+        verify(sdkClient).getReplicationSet(getRequest.capture());
+        assertThat(getRequest.getValue()).isNotNull();
+        assertThat(getRequest.getValue().arn()).isEqualTo("arn");
 
         ArgumentCaptor<UpdateDeletionProtectionRequest> updateDeletionProtectionRequest =
             ArgumentCaptor.forClass(UpdateDeletionProtectionRequest.class);
@@ -286,7 +429,11 @@ public class CreateHandlerTest extends AbstractTestBase {
             .desiredResourceState(model)
             .build();
 
-        CallbackContext context = new CallbackContext(1, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(EXPIRED_DEADLINE)
+            .stabilizationAttempt(200)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -334,9 +481,6 @@ public class CreateHandlerTest extends AbstractTestBase {
                 .build()
         );
 
-        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().build());
-
         ResourceModel model = ResourceModel.builder()
             .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
             .build();
@@ -371,11 +515,9 @@ public class CreateHandlerTest extends AbstractTestBase {
             );
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(2)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues().get(0)).isNotNull();
-        assertThat(getRequest.getAllValues().get(1)).isNotNull();
-        assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
+        verify(sdkClient).getReplicationSet(getRequest.capture());
+        assertThat(getRequest.getValue()).isNotNull();
+        assertThat(getRequest.getValue().arn()).isEqualTo("arn");
     }
 
     @Test
@@ -520,9 +662,6 @@ public class CreateHandlerTest extends AbstractTestBase {
         when(sdkClient.updateDeletionProtection(any(UpdateDeletionProtectionRequest.class)))
             .thenReturn(UpdateDeletionProtectionResponse.builder().build());
 
-        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().build());
-
         ResourceModel model = ResourceModel.builder()
             .deletionProtected(true)
             .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
@@ -559,11 +698,9 @@ public class CreateHandlerTest extends AbstractTestBase {
             );
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(2)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues().get(0)).isNotNull();
-        assertThat(getRequest.getAllValues().get(1)).isNotNull();
-        assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
+        verify(sdkClient).getReplicationSet(getRequest.capture());
+        assertThat(getRequest.getValue()).isNotNull();
+        assertThat(getRequest.getValue().arn()).isEqualTo("arn");
 
         ArgumentCaptor<UpdateDeletionProtectionRequest> updateRequest = ArgumentCaptor.forClass(UpdateDeletionProtectionRequest.class);
         verify(sdkClient).updateDeletionProtection(updateRequest.capture());
@@ -613,4 +750,67 @@ public class CreateHandlerTest extends AbstractTestBase {
                 ImmutableMap.of("mars-east-1", RegionMapInputValue.builder().build())
             );
     }
+
+    @Test
+    public void returnFromWrite_UsesObservedReplicationSet() {
+        CallbackContext context = CallbackContext.builder()
+            .activeReplicationSet(ReplicationSet.builder()
+                .deletionProtected(true)
+                .status(ReplicationSetStatus.ACTIVE)
+                .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().sseKmsKeyId("key").build()))
+                .build())
+            .build();
+
+        ResourceModel model = ResourceModel.builder()
+            .arn("arn")
+            .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", new RegionConfiguration("key"))))
+            .tags(ImmutableSet.of())
+            .build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.returnFromWrite(proxy, request, ProgressEvent.progress(model, context), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo("arn");
+        assertThat(response.getResourceModel().getDeletionProtected()).isTrue();
+        assertThat(response.getResourceModel().getRegions())
+            .containsExactly(new ReplicationRegion("us-east-1", new RegionConfiguration("key")));
+        assertThat(response.getResourceModel().getTags()).isNull();
+    }
+
+    @Test
+    public void returnFromWrite_FallsBackToRead() {
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
+            .thenReturn(GetReplicationSetResponse.builder()
+                .replicationSet(ReplicationSet.builder()
+                    .deletionProtected(false)
+                    .status(ReplicationSetStatus.ACTIVE)
+                    .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                    .build())
+                .build());
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().build());
+
+        ResourceModel model = ResourceModel.builder()
+            .arn("arn")
+            .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", null)))
+            .build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(model)
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.returnFromWrite(proxy, request, ProgressEvent.progress(model, new CallbackContext()), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getDeletionProtected()).isFalse();
+
+        verify(sdkClient).getReplicationSet(any(GetReplicationSetRequest.class));
+        verify(sdkClient).listTagsForResource(any(ListTagsForResourceRequest.class));
+    }
 }
@@ -53,7 +53,7 @@ public class DeleteHandlerTest extends AbstractTestBase {
     public void setup() {
         proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
         proxyClient = MOCK_PROXY(proxy, sdkClient);
-        handler = new DeleteHandler();
+        handler = new DeleteHandler(CLOCK, STABILIZATION_SCHEDULER, UNEXPECTED_SLEEPER);
     }
 
     @AfterEach
@@ -88,8 +88,10 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(event).isNotNull();
         assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
         assertThat(event.getResourceModel()).isEqualTo(model);
-        assertThat(event.getCallbackContext()).isEqualTo(new CallbackContext(239, null));
-        assertThat(event.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(event.getCallbackContext()).isEqualTo(
+            CallbackContext.builder().stabilizationDeadline(NEW_DEADLINE).stabilizationAttempt(1).build()
+        );
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(5);
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
         verify(sdkClient).getReplicationSet(getRequest.capture());
@@ -129,8 +131,10 @@ public class DeleteHandlerTest extends AbstractTestBase {
         assertThat(event).isNotNull();
         assertThat(event.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
         assertThat(event.getResourceModel()).isEqualTo(model);
-        assertThat(event.getCallbackContext()).isEqualTo(new CallbackContext(239, true));
-        assertThat(event.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(event.getCallbackContext()).isEqualTo(
+            CallbackContext.builder().stabilizationDeadline(NEW_DEADLINE).stabilizationAttempt(1).mainAPICalled(true).build()
+        );
+        assertThat(event.getCallbackDelaySeconds()).isEqualTo(5);
 
         ArgumentCaptor<DeleteReplicationSetRequest> deleteRequest =
             ArgumentCaptor.forClass(DeleteReplicationSetRequest.class);
@@ -158,7 +162,11 @@ public class DeleteHandlerTest extends AbstractTestBase {
             .desiredResourceState(model)
             .build();
 
-        CallbackContext context = new CallbackContext(200, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(40)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> event =
             handler.handleRequest(proxy, handlerRequest, context, proxyClient, logger);
@@ -194,7 +202,11 @@ public class DeleteHandlerTest extends AbstractTestBase {
             .desiredResourceState(model)
             .build();
 
-        CallbackContext context = new CallbackContext(0, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(EXPIRED_DEADLINE)
+            .stabilizationAttempt(200)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> event =
             handler.handleRequest(proxy, handlerRequest, context, proxyClient, logger);
@@ -0,0 +1,120 @@
+package software.amazon.ssmincidents.replicationset;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.replicationset.fake.InMemorySsmIncidentsClient;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the handlers through a whole resource lifecycle against {@link InMemorySsmIncidentsClient},
+ * re-invoking them with the returned callback context the way CloudFormation does.
+ */
+public class InMemoryHandlerChainTest extends AbstractTestBase {
+
+    private static final int MAX_INVOCATIONS = 100;
+
+    private ManualClock clock;
+
+    private InMemorySsmIncidentsClient fakeClient;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    private ProxyClient<SsmIncidentsClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        clock = new ManualClock(NOW);
+        fakeClient = new InMemorySsmIncidentsClient(clock).withRegionLatency(Duration.ofMinutes(3));
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = MOCK_PROXY(proxy, fakeClient);
+    }
+
+    @Test
+    public void createReadUpdateDelete() {
+        ResourceModel desired = ResourceModel.builder()
+            .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
+            .tags(ImmutableSet.of(new Tag("team", "incident-response")))
+            .build();
+        ProgressEvent<ResourceModel, CallbackContext> created = drive(
+            new CreateHandler(clock, STABILIZATION_SCHEDULER, clock),
+            ResourceHandlerRequest.<ResourceModel>builder().clientRequestToken("create").desiredResourceState(desired).build());
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        String arn = created.getResourceModel().getArn();
+        assertThat(arn).isNotNull();
+
+        ProgressEvent<ResourceModel, CallbackContext> read = read(arn);
+        assertThat(read.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(regionNames(read.getResourceModel())).containsExactlyInAnyOrder("us-east-1");
+        assertThat(read.getResourceModel().getTags()).containsExactly(new Tag("team", "incident-response"));
+
+        ResourceModel updated = ResourceModel.builder()
+            .arn(arn)
+            .regions(ImmutableSet.of(
+                new ReplicationRegion("us-east-1", RegionConfiguration.builder().build()),
+                new ReplicationRegion("us-west-2", RegionConfiguration.builder().build()),
+                new ReplicationRegion("eu-west-1", RegionConfiguration.builder().build())))
+            .deletionProtected(false)
+            .build();
+        ProgressEvent<ResourceModel, CallbackContext> update = drive(
+            new UpdateHandler(clock, STABILIZATION_SCHEDULER, clock),
+            ResourceHandlerRequest.<ResourceModel>builder()
+                .clientRequestToken("update")
+                .previousResourceState(read.getResourceModel())
+                .desiredResourceState(updated)
+                .build());
+        assertThat(update.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(fakeClient.callCount("UpdateReplicationSet")).isEqualTo(2);
+        assertThat(regionNames(read(arn).getResourceModel())).containsExactlyInAnyOrder("us-east-1", "us-west-2", "eu-west-1");
+        assertThat(read(arn).getResourceModel().getTags()).isNullOrEmpty();
+
+        ProgressEvent<ResourceModel, CallbackContext> deleted = drive(
+            new DeleteHandler(clock, STABILIZATION_SCHEDULER, clock),
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().arn(arn).build()).build());
+        assertThat(deleted.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+
+        ProgressEvent<ResourceModel, CallbackContext> readAfterDelete = read(arn);
+        assertThat(readAfterDelete.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(readAfterDelete.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> read(String arn) {
+        return new ReadHandler().handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().arn(arn).build()).build(),
+            new CallbackContext(),
+            proxyClient,
+            logger);
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> drive(BaseHandlerStd handler, ResourceHandlerRequest<ResourceModel> request) {
+        CallbackContext context = new CallbackContext();
+        for (int invocation = 0; invocation < MAX_INVOCATIONS; invocation++) {
+            handler.beginInvocation();
+            ProgressEvent<ResourceModel, CallbackContext> event = handler.handleRequest(proxy, request, context, proxyClient, logger);
+            if (event.getStatus() != OperationStatus.IN_PROGRESS) {
+                return event;
+            }
+            clock.sleep(Duration.ofSeconds(event.getCallbackDelaySeconds()));
+            context = event.getCallbackContext();
+            request.setDesiredResourceState(event.getResourceModel());
+        }
+        throw new AssertionError("handler still in progress after " + MAX_INVOCATIONS + " invocations");
+    }
+
+    private static Set<String> regionNames(ResourceModel model) {
+        return model.getRegions().stream().map(ReplicationRegion::getRegionName).collect(Collectors.toSet());
+    }
+}
@@ -12,16 +12,22 @@ import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsRequest;
 import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsResponse;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -43,7 +49,7 @@ public class ListHandlerTest extends AbstractTestBase {
     public void setup() {
         proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
         proxyClient = MOCK_PROXY(proxy, sdkClient);
-        handler = new ListHandler();
+        handler = new ListHandler(false);
     }
 
     @AfterEach
@@ -86,4 +92,117 @@ public class ListHandlerTest extends AbstractTestBase {
 
         verify(sdkClient).listReplicationSets(any(ListReplicationSetsRequest.class));
     }
+
+    @Test
+    public void handleRequest_ThreadsNextToken() {
+        PagingReplicationSetsClient fakeClient = new PagingReplicationSetsClient(arns(250), 100);
+        ProxyClient<SsmIncidentsClient> fakeProxyClient = MOCK_PROXY(proxy, fakeClient);
+
+        List<String> listed = new ArrayList<>();
+        List<String> returnedTokens = new ArrayList<>();
+        String nextToken = null;
+        do {
+            ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+                .desiredResourceState(ResourceModel.builder().build())
+                .nextToken(nextToken)
+                .build();
+            ProgressEvent<ResourceModel, CallbackContext> response =
+                handler.handleRequest(proxy, request, new CallbackContext(), fakeProxyClient, logger);
+
+            assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+            assertThat(response.getResourceModels()).hasSizeLessThanOrEqualTo(100);
+            response.getResourceModels().forEach(model -> listed.add(model.getArn()));
+            nextToken = response.getNextToken();
+            returnedTokens.add(nextToken);
+        } while (nextToken != null);
+
+        assertThat(listed).isEqualTo(arns(250));
+        assertThat(returnedTokens).containsExactly("page-100", "page-200", null);
+        assertThat(fakeClient.requestedTokens).containsExactly(null, "page-100", "page-200");
+    }
+
+    @Test
+    public void handleRequest_ListAllPages() {
+        PagingReplicationSetsClient fakeClient = new PagingReplicationSetsClient(arns(1000), 7);
+        ProxyClient<SsmIncidentsClient> fakeProxyClient = MOCK_PROXY(proxy, fakeClient);
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().build())
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(true).handleRequest(proxy, request, new CallbackContext(), fakeProxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getNextToken()).isNull();
+        assertThat(response.getResourceModels().stream().map(ResourceModel::getArn).collect(Collectors.toList()))
+            .isEqualTo(arns(1000));
+        assertThat(fakeClient.requestedTokens).hasSize(143);
+    }
+
+    @Test
+    public void handleRequest_ListAllPages_RepeatedNextToken() {
+        when(sdkClient.listReplicationSets(any(ListReplicationSetsRequest.class)))
+            .thenReturn(
+                ListReplicationSetsResponse.builder()
+                    .replicationSetArns("arn1")
+                    .nextToken("same-token")
+                    .build()
+            );
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().build())
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+            new ListHandler(true).handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.GeneralServiceException);
+
+        verify(sdkClient, times(2)).listReplicationSets(any(ListReplicationSetsRequest.class));
+    }
+
+    private static List<String> arns(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(i -> String.format("arn:aws:ssm-incidents::111122223333:replication-set/%04d", i))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Serves ListReplicationSets from a fixed list of arns, one page of pageSize arns per call.
+     */
+    private static final class PagingReplicationSetsClient implements SsmIncidentsClient {
+
+        private final List<String> arns;
+
+        private final int pageSize;
+
+        private final List<String> requestedTokens = new ArrayList<>();
+
+        private PagingReplicationSetsClient(List<String> arns, int pageSize) {
+            this.arns = arns;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public ListReplicationSetsResponse listReplicationSets(ListReplicationSetsRequest request) {
+            requestedTokens.add(request.nextToken());
+            int start = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken().substring("page-".length()));
+            int end = Math.min(start + pageSize, arns.size());
+            return ListReplicationSetsResponse.builder()
+                .replicationSetArns(arns.subList(start, end))
+                .nextToken(end < arns.size() ? "page-" + end : null)
+                .build();
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package software.amazon.ssmincidents.replicationset;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock which only moves forward when something sleeps on it.
+ */
+public class ManualClock extends Clock implements Sleeper {
+    private Instant now;
+
+    public ManualClock(Instant now) {
+        this.now = now;
+    }
+
+    @Override
+    public void sleep(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
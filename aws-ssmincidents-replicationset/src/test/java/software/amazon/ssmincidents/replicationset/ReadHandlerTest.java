@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
 import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
@@ -21,6 +22,7 @@ import software.amazon.awssdk.services.ssmincidents.model.RegionStatus;
 import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
 import software.amazon.awssdk.services.ssmincidents.model.ReplicationSetStatus;
 import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssmincidents.model.ThrottlingException;
 import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
@@ -143,6 +145,10 @@ public class ReadHandlerTest extends AbstractTestBase {
         when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
             .thenThrow(ResourceNotFoundException.builder().message("test not found exception").build());
 
+        // tags are fetched concurrently and the call completes even when the read fails
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().build());
+
         ResourceModel model = ResourceModel.builder()
             .arn("arn")
             .build();
@@ -173,6 +179,10 @@ public class ReadHandlerTest extends AbstractTestBase {
         when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
             .thenThrow(ValidationException.builder().message("test validation exception").build());
 
+        // tags are fetched concurrently and the call completes even when the read fails
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().build());
+
         ResourceModel model = ResourceModel.builder()
             .arn("arn")
             .build();
@@ -203,6 +213,10 @@ public class ReadHandlerTest extends AbstractTestBase {
         when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
             .thenThrow(new RuntimeException("test exception"));
 
+        // tags are fetched concurrently and the call completes even when the read fails
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().build());
+
         ResourceModel model = ResourceModel.builder()
             .arn("arn")
             .build();
@@ -227,6 +241,29 @@ public class ReadHandlerTest extends AbstractTestBase {
         assertThat(getRequest.getValue().arn()).isEqualTo("arn");
     }
 
+    @Test
+    public void handleRequest_Throttled() {
+
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
+            .thenThrow(ThrottlingException.builder()
+                .statusCode(400)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                .message("rate exceeded")
+                .build());
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().build());
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().arn("arn").build())
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.Throttling);
+    }
+
     @Test
     public void handleRequest_nullArn() {
 
@@ -383,4 +420,29 @@ public class ReadHandlerTest extends AbstractTestBase {
 
         verify(sdkClient).listTagsForResource(ArgumentCaptor.forClass(ListTagsForResourceRequest.class).capture());
     }
+
+    @Test
+    public void handleRequest_ListTagsValidationException() {
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
+            .thenReturn(GetReplicationSetResponse.builder()
+                .replicationSet(ReplicationSet.builder()
+                    .status(ReplicationSetStatus.ACTIVE)
+                    .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                    .build())
+                .build());
+
+        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenThrow(ValidationException.builder().message("test validation exception").build());
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().arn("arn").build())
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getMessage()).isEqualTo("test validation exception");
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+    }
 }
@@ -1,7 +1,9 @@
 package software.amazon.ssmincidents.replicationset;
 
+import java.util.List;
 import java.util.Set;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.junit.jupiter.api.Test;
@@ -9,12 +11,12 @@ import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRe
 import software.amazon.awssdk.services.ssmincidents.model.RegionInfo;
 import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
-import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TranslatorTest {
 
@@ -66,8 +68,10 @@ public class TranslatorTest {
                 )
             )
             .build();
+        List<RegionUpdateStep> plan = Translator.planRegionUpdates(replicationSet, resourceModel);
+        assertEquals(1, plan.size());
         UpdateReplicationSetRequest apiRequest = Translator.translateToUpdateRequest(
-            replicationSet,
+            plan.get(0),
             resourceModel,
             "clientToken"
         );
@@ -103,8 +107,10 @@ public class TranslatorTest {
                 )
             )
             .build();
+        List<RegionUpdateStep> plan = Translator.planRegionUpdates(replicationSet, resourceModel);
+        assertEquals(1, plan.size());
         UpdateReplicationSetRequest apiRequest = Translator.translateToUpdateRequest(
-            replicationSet,
+            plan.get(0),
             resourceModel,
             "clientToken"
         );
@@ -146,13 +152,7 @@ public class TranslatorTest {
             )
             .build();
 
-        UpdateReplicationSetRequest apiRequest = Translator.translateToUpdateRequest(
-            replicationSet,
-            resourceModel,
-            "clientToken"
-        );
-
-        assertNull(apiRequest);
+        assertTrue(Translator.planRegionUpdates(replicationSet, resourceModel).isEmpty());
     }
 
     @Test
@@ -180,15 +180,71 @@ public class TranslatorTest {
             )
             .build();
 
-        try {
-            Translator.translateToUpdateRequest(
-                replicationSet,
-                resourceModel,
-                "clientToken"
-            );
-            fail("should have thrown an exception");
-        } catch (CfnInvalidRequestException e) {
-            // expected
-        }
+        assertEquals(
+            ImmutableList.of(
+                new RegionUpdateStep(RegionUpdateStep.Action.ADD, "us-east-2"),
+                new RegionUpdateStep(RegionUpdateStep.Action.ADD, "us-west-2")
+            ),
+            Translator.planRegionUpdates(replicationSet, resourceModel)
+        );
+    }
+
+    @Test
+    public void testPlanRegionUpdates_deletesFirstWhenReplicationSetIsFull() {
+        ReplicationSet replicationSet = ReplicationSet.builder()
+            .regionMap(
+                ImmutableMap.of(
+                    "us-east-1", RegionInfo.builder().build(),
+                    "us-east-2", RegionInfo.builder().build(),
+                    "us-west-1", RegionInfo.builder().build()
+                )
+            )
+            .build();
+        ResourceModel resourceModel = ResourceModel.builder()
+            .arn("arn")
+            .regions(
+                ImmutableSet.of(
+                    ReplicationRegion.builder().regionName("us-east-1").build(),
+                    ReplicationRegion.builder().regionName("eu-west-1").build(),
+                    ReplicationRegion.builder().regionName("us-west-2").build()
+                )
+            )
+            .build();
+
+        assertEquals(
+            ImmutableList.of(
+                new RegionUpdateStep(RegionUpdateStep.Action.DELETE, "us-east-2"),
+                new RegionUpdateStep(RegionUpdateStep.Action.ADD, "eu-west-1"),
+                new RegionUpdateStep(RegionUpdateStep.Action.DELETE, "us-west-1"),
+                new RegionUpdateStep(RegionUpdateStep.Action.ADD, "us-west-2")
+            ),
+            Translator.planRegionUpdates(replicationSet, resourceModel)
+        );
+    }
+
+    @Test
+    public void testTranslateToUpdateRequestDeleteRegion() {
+        ResourceModel resourceModel = ResourceModel.builder().arn("arn").regions(ImmutableSet.of()).build();
+        UpdateReplicationSetRequest apiRequest = Translator.translateToUpdateRequest(
+            new RegionUpdateStep(RegionUpdateStep.Action.DELETE, "us-west-2"),
+            resourceModel,
+            "clientToken"
+        );
+
+        assertEquals("clientToken", apiRequest.clientToken());
+        assertEquals("arn", apiRequest.arn());
+        assertEquals(1, apiRequest.actions().size());
+        assertNull(apiRequest.actions().get(0).addRegionAction());
+        assertEquals("us-west-2", apiRequest.actions().get(0).deleteRegionAction().regionName());
+    }
+
+    @Test
+    public void testStepClientToken() {
+        RegionUpdateStep addStep = new RegionUpdateStep(RegionUpdateStep.Action.ADD, "us-west-2");
+        RegionUpdateStep deleteStep = new RegionUpdateStep(RegionUpdateStep.Action.DELETE, "us-west-2");
+
+        assertEquals(Translator.stepClientToken("clientToken", addStep), Translator.stepClientToken("clientToken", addStep));
+        assertNotEquals(Translator.stepClientToken("clientToken", addStep), Translator.stepClientToken("clientToken", deleteStep));
+        assertNotEquals(Translator.stepClientToken("clientToken", addStep), Translator.stepClientToken("otherToken", addStep));
     }
 }
@@ -15,8 +15,6 @@ import org.mockito.quality.Strictness;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
 import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
-import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
-import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.ssmincidents.model.RegionInfo;
 import software.amazon.awssdk.services.ssmincidents.model.RegionStatus;
 import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
@@ -28,6 +26,7 @@ import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtecti
 import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetResponse;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.OperationStatus;
@@ -36,12 +35,14 @@ import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -73,7 +74,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
     public void setup() {
         proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
         proxyClient = MOCK_PROXY(proxy, sdkClient);
-        handler = new UpdateHandler();
+        handler = new UpdateHandler(CLOCK, STABILIZATION_SCHEDULER, UNEXPECTED_SLEEPER);
     }
 
     @AfterEach
@@ -122,12 +123,14 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(5);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
-        assertThat(response.getCallbackContext()).isEqualTo(new CallbackContext(239, null));
+        assertThat(response.getCallbackContext()).isEqualTo(
+            CallbackContext.builder().stabilizationDeadline(NEW_DEADLINE).stabilizationAttempt(1).build()
+        );
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
         verify(sdkClient).getReplicationSet(getRequest.capture());
@@ -177,7 +180,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
         when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
             .thenReturn(updatingGetResponse);
 
-        CallbackContext context = new CallbackContext(1, false);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(EXPIRED_DEADLINE)
+            .stabilizationAttempt(200)
+            .mainAPICalled(false)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -252,12 +259,14 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(5);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
-        assertThat(response.getCallbackContext()).isEqualTo(new CallbackContext(239, true));
+        assertThat(response.getCallbackContext()).isEqualTo(
+            CallbackContext.builder().stabilizationDeadline(NEW_DEADLINE).stabilizationAttempt(1).mainAPICalled(true).build()
+        );
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
         verify(sdkClient, times(3)).getReplicationSet(getRequest.capture());
@@ -339,12 +348,14 @@ public class UpdateHandlerTest extends AbstractTestBase {
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(5);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
-        assertThat(response.getCallbackContext()).isEqualTo(new CallbackContext(239, true));
+        assertThat(response.getCallbackContext()).isEqualTo(
+            CallbackContext.builder().stabilizationDeadline(NEW_DEADLINE).stabilizationAttempt(1).mainAPICalled(true).build()
+        );
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
         verify(sdkClient, times(3)).getReplicationSet(getRequest.capture());
@@ -400,18 +411,24 @@ public class UpdateHandlerTest extends AbstractTestBase {
                     .build()
             );
 
-        CallbackContext context = new CallbackContext(220, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(20)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(30);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(45);
         assertThat(response.getResourceModel()).isEqualTo(request.getDesiredResourceState());
         assertThat(response.getResourceModels()).isNull();
         assertThat(response.getMessage()).isNull();
         assertThat(response.getErrorCode()).isNull();
-        assertThat(response.getCallbackContext()).isEqualTo(new CallbackContext(219, true));
+        assertThat(response.getCallbackContext()).isEqualTo(
+            CallbackContext.builder().stabilizationDeadline(PENDING_DEADLINE).stabilizationAttempt(21).mainAPICalled(true).build()
+        );
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
         verify(sdkClient).getReplicationSet(getRequest.capture());
@@ -461,7 +478,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
         when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
             .thenReturn(updatingGetResponse);
 
-        CallbackContext context = new CallbackContext(1, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(EXPIRED_DEADLINE)
+            .stabilizationAttempt(200)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
 
@@ -526,10 +547,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
         when(sdkClient.updateDeletionProtection(any(UpdateDeletionProtectionRequest.class)))
             .thenReturn(UpdateDeletionProtectionResponse.builder().build());
 
-        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().build());
-
-        CallbackContext context = new CallbackContext(220, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(20)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, context, proxyClient, logger);
@@ -544,10 +566,8 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getCallbackContext()).isNull();
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(2)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues()).isNotNull().hasSize(2);
-        assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
+        verify(sdkClient).getReplicationSet(getRequest.capture());
+        assertThat(getRequest.getValue().arn()).isEqualTo("arn");
 
         ArgumentCaptor<UpdateDeletionProtectionRequest> updateDeletionProtectionRequest =
             ArgumentCaptor.forClass(UpdateDeletionProtectionRequest.class);
@@ -570,9 +590,6 @@ public class UpdateHandlerTest extends AbstractTestBase {
                     .build())
             .build();
         when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class))).thenReturn(getReplicationSetResponse);
-        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().build());
-
         ResourceModel model = ResourceModel.builder()
             .arn("arn")
             .regions(
@@ -600,20 +617,20 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getCallbackContext()).isNull();
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(5)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues()).isNotNull().hasSize(5);
+        verify(sdkClient, times(4)).getReplicationSet(getRequest.capture());
+        assertThat(getRequest.getAllValues()).isNotNull().hasSize(4);
         assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
         assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
         assertThat(getRequest.getAllValues().get(2).arn()).isEqualTo("arn");
         assertThat(getRequest.getAllValues().get(3).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(4).arn()).isEqualTo("arn");
     }
 
     @Test
-    public void handleRequest_differsByTwoRegions() {
+    public void handleRequest_differsByTwoRegions_AppliedOneRegionAtATime() {
         GetReplicationSetResponse getReplicationSetResponse = GetReplicationSetResponse.builder()
             .replicationSet(
                 ReplicationSet.builder()
+                    .arn("arn")
                     .regionMap(
                         ImmutableMap.of("us-east-1", RegionInfo.builder().status(RegionStatus.ACTIVE).build())
                     )
@@ -622,6 +639,10 @@ public class UpdateHandlerTest extends AbstractTestBase {
                     .build())
             .build();
         when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class))).thenReturn(getReplicationSetResponse);
+        when(sdkClient.updateReplicationSet(any(UpdateReplicationSetRequest.class)))
+            .thenReturn(UpdateReplicationSetResponse.builder().build());
+        when(sdkClient.updateDeletionProtection(any(UpdateDeletionProtectionRequest.class)))
+            .thenReturn(UpdateDeletionProtectionResponse.builder().build());
 
         ResourceModel oldModel = ResourceModel.builder()
             .arn("arn")
@@ -637,7 +658,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .regions(
                 ImmutableSet.of(
                     new ReplicationRegion("us-east-1", RegionConfiguration.builder().build()),
-                    new ReplicationRegion("us-west-2", RegionConfiguration.builder().build()),
+                    new ReplicationRegion("us-west-2", RegionConfiguration.builder().sseKmsKeyId("kms-key-id-us-west-2").build()),
                     new ReplicationRegion("us-east-2", RegionConfiguration.builder().build())
                 )
             )
@@ -645,6 +666,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .build();
 
         ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .clientRequestToken("token")
             .previousResourceState(oldModel)
             .desiredResourceState(newModel)
             .build();
@@ -652,22 +674,175 @@ public class UpdateHandlerTest extends AbstractTestBase {
         ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getErrorCode()).isNull();
+        assertThat(response.getCallbackContext()).isNull();
+
+        // before update, plan, after each of the two steps
+        verify(sdkClient, times(4)).getReplicationSet(any(GetReplicationSetRequest.class));
+        verify(sdkClient).updateDeletionProtection(any(UpdateDeletionProtectionRequest.class));
+
+        ArgumentCaptor<UpdateReplicationSetRequest> updateRequest =
+            ArgumentCaptor.forClass(UpdateReplicationSetRequest.class);
+        verify(sdkClient, times(2)).updateReplicationSet(updateRequest.capture());
+        assertThat(updateRequest.getAllValues()).hasSize(2);
+        UpdateReplicationSetRequest first = updateRequest.getAllValues().get(0);
+        assertThat(first.clientToken()).isEqualTo("token");
+        assertThat(first.actions()).hasSize(1);
+        assertThat(first.actions().get(0).addRegionAction().regionName()).isEqualTo("us-east-2");
+        assertThat(first.actions().get(0).addRegionAction().sseKmsKeyId()).isNull();
+        UpdateReplicationSetRequest second = updateRequest.getAllValues().get(1);
+        assertThat(second.clientToken()).isEqualTo(
+            Translator.stepClientToken("token", new RegionUpdateStep(RegionUpdateStep.Action.ADD, "us-west-2")));
+        assertThat(second.actions()).hasSize(1);
+        assertThat(second.actions().get(0).addRegionAction().regionName()).isEqualTo("us-west-2");
+        assertThat(second.actions().get(0).addRegionAction().sseKmsKeyId()).isEqualTo("kms-key-id-us-west-2");
+    }
+
+    @Test
+    public void handleRequest_differsByTwoRegions_PlanPersistedWhileStabilizing() {
+        GetReplicationSetResponse activeGetResponse = GetReplicationSetResponse.builder()
+            .replicationSet(
+                ReplicationSet.builder()
+                    .status(ReplicationSetStatus.ACTIVE)
+                    .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                    .build())
+            .build();
+        GetReplicationSetResponse updatingGetResponse = GetReplicationSetResponse.builder()
+            .replicationSet(
+                ReplicationSet.builder()
+                    .status(ReplicationSetStatus.UPDATING)
+                    .build())
+            .build();
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
+            .thenReturn(activeGetResponse, activeGetResponse, updatingGetResponse);
+        when(sdkClient.updateReplicationSet(any(UpdateReplicationSetRequest.class)))
+            .thenReturn(UpdateReplicationSetResponse.builder().build());
+
+        ResourceModel newModel = ResourceModel.builder()
+            .arn("arn")
+            .regions(
+                ImmutableSet.of(
+                    new ReplicationRegion("us-east-1", RegionConfiguration.builder().build()),
+                    new ReplicationRegion("us-west-2", RegionConfiguration.builder().build()),
+                    new ReplicationRegion("us-east-2", RegionConfiguration.builder().build())
+                )
+            )
+            .build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(newModel)
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response =
+            handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.IN_PROGRESS);
+        assertThat(response.getCallbackDelaySeconds()).isEqualTo(5);
+        assertThat(response.getCallbackContext()).isEqualTo(
+            CallbackContext.builder()
+                .stabilizationDeadline(NEW_DEADLINE)
+                .stabilizationAttempt(1)
+                .regionUpdatePlan(ImmutableList.of(new RegionUpdateStep(RegionUpdateStep.Action.ADD, "us-west-2")))
+                .mainAPICalled(true)
+                .build()
+        );
+
+        verify(sdkClient, times(3)).getReplicationSet(any(GetReplicationSetRequest.class));
+        verify(sdkClient).updateReplicationSet(any(UpdateReplicationSetRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ResumesRegionUpdatePlan() {
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
+            .thenReturn(
+                GetReplicationSetResponse.builder()
+                    .replicationSet(
+                        ReplicationSet.builder()
+                            .arn("arn")
+                            .status(ReplicationSetStatus.ACTIVE)
+                            .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                            .build())
+                    .build()
+            );
+        when(sdkClient.updateReplicationSet(any(UpdateReplicationSetRequest.class)))
+            .thenReturn(UpdateReplicationSetResponse.builder().build());
+
+        ResourceModel newModel = ResourceModel.builder()
+            .arn("arn")
+            .regions(
+                ImmutableSet.of(
+                    new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())
+                )
+            )
+            .build();
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .clientRequestToken("token")
+            .desiredResourceState(newModel)
+            .build();
+
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(3)
+            .regionUpdatePlan(new ArrayList<>(ImmutableList.of(new RegionUpdateStep(RegionUpdateStep.Action.DELETE, "us-west-2"))))
+            .mainAPICalled(true)
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getErrorCode()).isNull();
+
+        // stabilization of the previous step, then of the resumed one
+        verify(sdkClient, times(2)).getReplicationSet(any(GetReplicationSetRequest.class));
+        ArgumentCaptor<UpdateReplicationSetRequest> updateRequest =
+            ArgumentCaptor.forClass(UpdateReplicationSetRequest.class);
+        verify(sdkClient).updateReplicationSet(updateRequest.capture());
+        assertThat(updateRequest.getValue().clientToken()).isEqualTo(
+            Translator.stepClientToken("token", new RegionUpdateStep(RegionUpdateStep.Action.DELETE, "us-west-2")));
+        assertThat(updateRequest.getValue().actions()).hasSize(1);
+        assertThat(updateRequest.getValue().actions().get(0).deleteRegionAction().regionName()).isEqualTo("us-west-2");
+    }
+
+    @Test
+    public void handleRequest_RegionUpdatePlanStepFails() {
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
+            .thenReturn(
+                GetReplicationSetResponse.builder()
+                    .replicationSet(
+                        ReplicationSet.builder()
+                            .status(ReplicationSetStatus.ACTIVE)
+                            .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                            .build())
+                    .build()
+            );
+        when(sdkClient.updateReplicationSet(any(UpdateReplicationSetRequest.class)))
+            .thenThrow(ValidationException.builder().message("region not supported").build());
+
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder()
+                .arn("arn")
+                .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
+                .build())
+            .build();
+
+        CallbackContext context = CallbackContext.builder()
+            .regionUpdatePlan(new ArrayList<>(ImmutableList.of(new RegionUpdateStep(RegionUpdateStep.Action.ADD, "ap-east-1"))))
+            .mainAPICalled(true)
+            .build();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, context, proxyClient, logger);
+
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
         assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
-        assertThat(response.getResourceModel()).isNull();
-        assertThat(response.getResourceModels()).isNull();
-        assertThat(response.getMessage()).isEqualTo("Invalid request provided: Replication set regions differ by more then " +
-            "one region. Current replication set regions: [us-east-1]. Specified replication set regions: " +
-            "[us-east-1, us-east-2, us-west-2]");
-        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
-        assertThat(response.getCallbackContext()).isNull();
 
-        ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(2)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues()).isNotNull().hasSize(2);
-        assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
+        verify(sdkClient).getReplicationSet(any(GetReplicationSetRequest.class));
+        verify(sdkClient).updateReplicationSet(any(UpdateReplicationSetRequest.class));
     }
 
     @Test
@@ -712,10 +887,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
                     .build()
             );
 
-        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().tags(API_TAGS_2).build());
-
-        CallbackContext context = new CallbackContext(220, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(20)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, context, proxyClient, logger);
@@ -730,12 +906,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getCallbackContext()).isNull();
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(2)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues()).isNotNull().hasSize(2);
-        assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
+        verify(sdkClient).getReplicationSet(getRequest.capture());
+        assertThat(getRequest.getValue().arn()).isEqualTo("arn");
 
-        verify(sdkClient, times(1)).listTagsForResource(ArgumentCaptor.forClass(ListTagsForResourceRequest.class).capture());
         verify(sdkClient, times(1)).tagResource(argThat((TagResourceRequest x) -> x.resourceArn().equals("arn") && x.tags().equals(API_TAGS_2)));
     }
 
@@ -781,10 +954,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
                     .build()
             );
 
-        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().tags(API_TAGS_1).build());
-
-        CallbackContext context = new CallbackContext(220, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(20)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, context, proxyClient, logger);
@@ -799,12 +973,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getCallbackContext()).isNull();
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(2)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues()).isNotNull().hasSize(2);
-        assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
+        verify(sdkClient).getReplicationSet(getRequest.capture());
+        assertThat(getRequest.getValue().arn()).isEqualTo("arn");
 
-        verify(sdkClient, times(1)).listTagsForResource(ArgumentCaptor.forClass(ListTagsForResourceRequest.class).capture());
         verify(sdkClient, times(1)).untagResource(argThat((UntagResourceRequest x) -> x.resourceArn().equals("arn") && x.tagKeys().equals(ImmutableList.of(TAG_KEY_2))));
     }
 
@@ -849,10 +1020,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
                     .build()
             );
 
-        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().tags(API_TAGS_1).build());
-
-        CallbackContext context = new CallbackContext(220, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(20)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, context, proxyClient, logger);
@@ -867,12 +1039,9 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getCallbackContext()).isNull();
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(2)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues()).isNotNull().hasSize(2);
-        assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
+        verify(sdkClient).getReplicationSet(getRequest.capture());
+        assertThat(getRequest.getValue().arn()).isEqualTo("arn");
 
-        verify(sdkClient, times(1)).listTagsForResource(ArgumentCaptor.forClass(ListTagsForResourceRequest.class).capture());
         verify(sdkClient, times(1)).tagResource(argThat((TagResourceRequest x) -> x.resourceArn().equals("arn") && x.tags().equals(ImmutableMap.of(TAG_KEY_1, TAG_VALUE_1))));
     }
 
@@ -917,10 +1086,11 @@ public class UpdateHandlerTest extends AbstractTestBase {
                     .build()
             );
 
-        when(sdkClient.listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().build());
-
-        CallbackContext context = new CallbackContext(220, true);
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(20)
+            .mainAPICalled(true)
+            .build();
 
         ProgressEvent<ResourceModel, CallbackContext> response =
             handler.handleRequest(proxy, request, context, proxyClient, logger);
@@ -935,12 +1105,77 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getCallbackContext()).isNull();
 
         ArgumentCaptor<GetReplicationSetRequest> getRequest = ArgumentCaptor.forClass(GetReplicationSetRequest.class);
-        verify(sdkClient, times(2)).getReplicationSet(getRequest.capture());
-        assertThat(getRequest.getAllValues()).isNotNull().hasSize(2);
-        assertThat(getRequest.getAllValues().get(0).arn()).isEqualTo("arn");
-        assertThat(getRequest.getAllValues().get(1).arn()).isEqualTo("arn");
+        verify(sdkClient).getReplicationSet(getRequest.capture());
+        assertThat(getRequest.getValue().arn()).isEqualTo("arn");
 
-        verify(sdkClient, times(1)).listTagsForResource(ArgumentCaptor.forClass(ListTagsForResourceRequest.class).capture());
         verify(sdkClient, times(1)).untagResource(argThat((UntagResourceRequest x) -> x.resourceArn().equals("arn") && x.tagKeys().equals(ImmutableList.of(TAG_KEY_1))));
     }
+
+    @Test
+    public void handleRequest_ChangeTagValue_TaggedNotUntagged() {
+        ProgressEvent<ResourceModel, CallbackContext> response = updateTags(
+            TAGS_1, ImmutableSet.of(new Tag(TAG_KEY_1, "changed_value")));
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getErrorCode()).isNull();
+        verify(sdkClient, times(1)).tagResource(argThat((TagResourceRequest x) -> x.resourceArn().equals("arn") && x.tags().equals(ImmutableMap.of(TAG_KEY_1, "changed_value"))));
+        verify(sdkClient, never()).untagResource(any(UntagResourceRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ChangeAddAndRemoveTags_OneCallEach() {
+        ProgressEvent<ResourceModel, CallbackContext> response = updateTags(
+            TAGS_2, ImmutableSet.of(new Tag(TAG_KEY_1, "changed_value"), new Tag("tag_key_3", "tag_value_3")));
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        verify(sdkClient, times(1)).tagResource(argThat((TagResourceRequest x) -> x.tags().equals(ImmutableMap.of(TAG_KEY_1, "changed_value", "tag_key_3", "tag_value_3"))));
+        verify(sdkClient, times(1)).untagResource(argThat((UntagResourceRequest x) -> x.tagKeys().equals(ImmutableList.of(TAG_KEY_2))));
+    }
+
+    @Test
+    public void handleRequest_DuplicateTagKeys_InvalidRequest() {
+        ProgressEvent<ResourceModel, CallbackContext> response = updateTags(
+            TAGS_1, ImmutableSet.of(new Tag(TAG_KEY_1, TAG_VALUE_1), new Tag(TAG_KEY_1, "other_value")));
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.InvalidRequest);
+        verify(sdkClient, never()).tagResource(any(TagResourceRequest.class));
+        verify(sdkClient, never()).untagResource(any(UntagResourceRequest.class));
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> updateTags(Set<Tag> previousTags, Set<Tag> desiredTags) {
+        ResourceModel oldModel = ResourceModel.builder()
+            .arn("arn")
+            .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
+            .tags(previousTags)
+            .build();
+        ResourceModel newModel = ResourceModel.builder()
+            .arn("arn")
+            .regions(ImmutableSet.of(new ReplicationRegion("us-east-1", RegionConfiguration.builder().build())))
+            .tags(desiredTags)
+            .build();
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .previousResourceState(oldModel)
+            .desiredResourceState(newModel)
+            .build();
+
+        when(sdkClient.getReplicationSet(any(GetReplicationSetRequest.class)))
+            .thenReturn(
+                GetReplicationSetResponse.builder()
+                    .replicationSet(
+                        ReplicationSet.builder()
+                            .status(ReplicationSetStatus.ACTIVE)
+                            .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().build()))
+                            .build())
+                    .build()
+            );
+
+        CallbackContext context = CallbackContext.builder()
+            .stabilizationDeadline(PENDING_DEADLINE)
+            .stabilizationAttempt(20)
+            .mainAPICalled(true)
+            .build();
+
+        return handler.handleRequest(proxy, request, context, proxyClient, logger);
+    }
 }
@@ -0,0 +1,138 @@
+package software.amazon.ssmincidents.replicationset.fake;
+
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-memory stand-in for the replication set APIs of SSM Incidents behind the async client.
+ * The state is the one of the {@link InMemorySsmIncidentsClient} given, calls act on it right away and their
+ * future completes once the call latency passed, without a thread blocking for it. Like the SDK, failures
+ * complete the future exceptionally.
+ */
+public class InMemorySsmIncidentsAsyncClient implements SsmIncidentsAsyncClient {
+
+    private static final ScheduledExecutorService RESPONSES = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-ssm-incidents-responses");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final InMemorySsmIncidentsClient delegate;
+
+    private volatile Duration callLatency = Duration.ZERO;
+
+    /**
+     * @param delegate holds the state, its own call latency blocks the caller and should be left at zero
+     */
+    public InMemorySsmIncidentsAsyncClient(InMemorySsmIncidentsClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @param callLatency wall clock time until the future of every call completes, to simulate the network round trip
+     */
+    public InMemorySsmIncidentsAsyncClient withCallLatency(Duration callLatency) {
+        this.callLatency = callLatency;
+        return this;
+    }
+
+    public InMemorySsmIncidentsClient delegate() {
+        return delegate;
+    }
+
+    @Override
+    public CompletableFuture<CreateReplicationSetResponse> createReplicationSet(CreateReplicationSetRequest request) {
+        return respond(() -> delegate.createReplicationSet(request));
+    }
+
+    @Override
+    public CompletableFuture<GetReplicationSetResponse> getReplicationSet(GetReplicationSetRequest request) {
+        return respond(() -> delegate.getReplicationSet(request));
+    }
+
+    @Override
+    public CompletableFuture<UpdateReplicationSetResponse> updateReplicationSet(UpdateReplicationSetRequest request) {
+        return respond(() -> delegate.updateReplicationSet(request));
+    }
+
+    @Override
+    public CompletableFuture<UpdateDeletionProtectionResponse> updateDeletionProtection(UpdateDeletionProtectionRequest request) {
+        return respond(() -> delegate.updateDeletionProtection(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteReplicationSetResponse> deleteReplicationSet(DeleteReplicationSetRequest request) {
+        return respond(() -> delegate.deleteReplicationSet(request));
+    }
+
+    @Override
+    public CompletableFuture<ListReplicationSetsResponse> listReplicationSets(ListReplicationSetsRequest request) {
+        return respond(() -> delegate.listReplicationSets(request));
+    }
+
+    @Override
+    public CompletableFuture<ListTagsForResourceResponse> listTagsForResource(ListTagsForResourceRequest request) {
+        return respond(() -> delegate.listTagsForResource(request));
+    }
+
+    @Override
+    public CompletableFuture<TagResourceResponse> tagResource(TagResourceRequest request) {
+        return respond(() -> delegate.tagResource(request));
+    }
+
+    @Override
+    public CompletableFuture<UntagResourceResponse> untagResource(UntagResourceRequest request) {
+        return respond(() -> delegate.untagResource(request));
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private <T> CompletableFuture<T> respond(Supplier<T> call) {
+        CompletableFuture<T> response = new CompletableFuture<>();
+        Runnable complete;
+        try {
+            T result = call.get();
+            complete = () -> response.complete(result);
+        } catch (RuntimeException e) {
+            complete = () -> response.completeExceptionally(e);
+        }
+        Duration latency = callLatency;
+        if (latency.isZero()) {
+            complete.run();
+        } else {
+            RESPONSES.schedule(complete, latency.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,411 @@
+package software.amazon.ssmincidents.replicationset.fake;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
+import software.amazon.awssdk.services.ssmincidents.model.AddRegionAction;
+import software.amazon.awssdk.services.ssmincidents.model.ConflictException;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteRegionAction;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.RegionInfo;
+import software.amazon.awssdk.services.ssmincidents.model.RegionStatus;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSetStatus;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ThrottlingException;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetAction;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for the replication set APIs of SSM Incidents, so handler chains can be driven
+ * without network. Regions take {@code regionLatency} of the given clock to be added or removed, the
+ * replication set goes through CREATING, ACTIVE, UPDATING and DELETING accordingly.
+ * Calls are synchronized, concurrent handler invocations see one consistent state.
+ */
+public class InMemorySsmIncidentsClient implements SsmIncidentsClient {
+
+    private static final String ARN_PREFIX = "arn:aws:ssm-incidents::111122223333:replication-set/";
+
+    private static final int MAX_REGIONS = 3;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final Clock clock;
+
+    private final Map<String, StoredReplicationSet> replicationSets = new LinkedHashMap<>();
+
+    private final Map<String, String> arnsByClientToken = new HashMap<>();
+
+    private final Set<String> appliedUpdateTokens = new HashSet<>();
+
+    private final Map<String, AtomicInteger> callCounts = new ConcurrentHashMap<>();
+
+    private Duration regionLatency = Duration.ZERO;
+
+    private Duration callLatency = Duration.ZERO;
+
+    // the service allows a single replication set per account, load tests may want more
+    private int maxReplicationSets = 1;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    private double throttleRate;
+
+    private Random random = new Random(0);
+
+    public InMemorySsmIncidentsClient(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @param regionLatency time, on the clock of this client, for a region to be added or removed
+     */
+    public synchronized InMemorySsmIncidentsClient withRegionLatency(Duration regionLatency) {
+        this.regionLatency = regionLatency;
+        return this;
+    }
+
+    /**
+     * @param callLatency wall clock time every call blocks for, to simulate the network round trip
+     */
+    public synchronized InMemorySsmIncidentsClient withCallLatency(Duration callLatency) {
+        this.callLatency = callLatency;
+        return this;
+    }
+
+    public synchronized InMemorySsmIncidentsClient withMaxReplicationSets(int maxReplicationSets) {
+        this.maxReplicationSets = maxReplicationSets;
+        return this;
+    }
+
+    /**
+     * @param pageSize number of arns listed per page when the request does not ask for fewer
+     */
+    public synchronized InMemorySsmIncidentsClient withPageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * @param throttleRate share of calls, between 0 and 1, failing with a ThrottlingException
+     * @param seed seed of the random choice, so runs are repeatable
+     */
+    public synchronized InMemorySsmIncidentsClient withThrottling(double throttleRate, long seed) {
+        this.throttleRate = throttleRate;
+        this.random = new Random(seed);
+        return this;
+    }
+
+    /**
+     * @param operation name of the API, e.g. "GetReplicationSet"
+     * @return number of calls made to it, including throttled ones
+     */
+    public int callCount(String operation) {
+        AtomicInteger count = callCounts.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public CreateReplicationSetResponse createReplicationSet(CreateReplicationSetRequest request) {
+        call("CreateReplicationSet");
+        synchronized (this) {
+            if (request.clientToken() != null && arnsByClientToken.containsKey(request.clientToken())) {
+                return CreateReplicationSetResponse.builder().arn(arnsByClientToken.get(request.clientToken())).build();
+            }
+            if (request.regions() == null || request.regions().isEmpty() || request.regions().size() > MAX_REGIONS) {
+                throw validation("A replication set needs between 1 and " + MAX_REGIONS + " regions");
+            }
+            if (liveReplicationSets().size() >= maxReplicationSets) {
+                throw ConflictException.builder().message("A replication set already exists").build();
+            }
+            Instant now = clock.instant();
+            StoredReplicationSet replicationSet = new StoredReplicationSet(ARN_PREFIX + UUID.randomUUID(), now);
+            request.regions().forEach((region, input) ->
+                replicationSet.regions.put(region, new StoredRegion(input.sseKmsKeyId(), RegionStatus.CREATING, now.plus(regionLatency))));
+            if (request.tags() != null) {
+                replicationSet.tags.putAll(request.tags());
+            }
+            replicationSets.put(replicationSet.arn, replicationSet);
+            if (request.clientToken() != null) {
+                arnsByClientToken.put(request.clientToken(), replicationSet.arn);
+            }
+            return CreateReplicationSetResponse.builder().arn(replicationSet.arn).build();
+        }
+    }
+
+    @Override
+    public GetReplicationSetResponse getReplicationSet(GetReplicationSetRequest request) {
+        call("GetReplicationSet");
+        synchronized (this) {
+            return GetReplicationSetResponse.builder().replicationSet(find(request.arn()).toReplicationSet()).build();
+        }
+    }
+
+    @Override
+    public UpdateReplicationSetResponse updateReplicationSet(UpdateReplicationSetRequest request) {
+        call("UpdateReplicationSet");
+        synchronized (this) {
+            StoredReplicationSet replicationSet = find(request.arn());
+            if (request.clientToken() != null && appliedUpdateTokens.contains(request.clientToken())) {
+                return UpdateReplicationSetResponse.builder().build();
+            }
+            if (request.actions() == null || request.actions().size() != 1) {
+                throw validation("Exactly one update action is supported per call");
+            }
+            if (replicationSet.status != ReplicationSetStatus.ACTIVE) {
+                throw ConflictException.builder().message("Replication set is " + replicationSet.status).build();
+            }
+            UpdateReplicationSetAction action = request.actions().get(0);
+            Instant readyAt = clock.instant().plus(regionLatency);
+            if (action.addRegionAction() != null) {
+                AddRegionAction add = action.addRegionAction();
+                if (replicationSet.regions.containsKey(add.regionName())) {
+                    throw validation("Region " + add.regionName() + " is already replicated");
+                }
+                if (replicationSet.regions.size() >= MAX_REGIONS) {
+                    throw validation("A replication set has at most " + MAX_REGIONS + " regions");
+                }
+                replicationSet.regions.put(add.regionName(), new StoredRegion(add.sseKmsKeyId(), RegionStatus.CREATING, readyAt));
+            } else if (action.deleteRegionAction() != null) {
+                DeleteRegionAction delete = action.deleteRegionAction();
+                StoredRegion region = replicationSet.regions.get(delete.regionName());
+                if (region == null) {
+                    throw validation("Region " + delete.regionName() + " is not replicated");
+                }
+                if (replicationSet.regions.size() == 1) {
+                    throw validation("The last region can only be removed by deleting the replication set");
+                }
+                region.status = RegionStatus.DELETING;
+                region.readyAt = readyAt;
+            } else {
+                throw validation("Update action has neither addRegionAction nor deleteRegionAction");
+            }
+            replicationSet.status = ReplicationSetStatus.UPDATING;
+            replicationSet.lastModifiedTime = clock.instant();
+            if (request.clientToken() != null) {
+                appliedUpdateTokens.add(request.clientToken());
+            }
+            return UpdateReplicationSetResponse.builder().build();
+        }
+    }
+
+    @Override
+    public UpdateDeletionProtectionResponse updateDeletionProtection(UpdateDeletionProtectionRequest request) {
+        call("UpdateDeletionProtection");
+        synchronized (this) {
+            StoredReplicationSet replicationSet = find(request.arn());
+            replicationSet.deletionProtected = Boolean.TRUE.equals(request.deletionProtected());
+            replicationSet.lastModifiedTime = clock.instant();
+            return UpdateDeletionProtectionResponse.builder().build();
+        }
+    }
+
+    @Override
+    public DeleteReplicationSetResponse deleteReplicationSet(DeleteReplicationSetRequest request) {
+        call("DeleteReplicationSet");
+        synchronized (this) {
+            StoredReplicationSet replicationSet = find(request.arn());
+            if (replicationSet.deletionProtected) {
+                throw validation("Deletion protection is enabled");
+            }
+            if (replicationSet.status != ReplicationSetStatus.DELETING) {
+                replicationSet.status = ReplicationSetStatus.DELETING;
+                replicationSet.deletedAt = clock.instant().plus(regionLatency);
+            }
+            return DeleteReplicationSetResponse.builder().build();
+        }
+    }
+
+    @Override
+    public ListReplicationSetsResponse listReplicationSets(ListReplicationSetsRequest request) {
+        call("ListReplicationSets");
+        synchronized (this) {
+            List<String> arns = new ArrayList<>(liveReplicationSets().keySet());
+            int start;
+            try {
+                start = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+            } catch (NumberFormatException e) {
+                throw validation("Invalid nextToken");
+            }
+            int size = request.maxResults() == null ? pageSize : Math.min(request.maxResults(), pageSize);
+            int end = Math.min(start + size, arns.size());
+            return ListReplicationSetsResponse.builder()
+                .replicationSetArns(arns.subList(Math.min(start, end), end))
+                .nextToken(end < arns.size() ? Integer.toString(end) : null)
+                .build();
+        }
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(ListTagsForResourceRequest request) {
+        call("ListTagsForResource");
+        synchronized (this) {
+            return ListTagsForResourceResponse.builder().tags(new HashMap<>(find(request.resourceArn()).tags)).build();
+        }
+    }
+
+    @Override
+    public TagResourceResponse tagResource(TagResourceRequest request) {
+        call("TagResource");
+        synchronized (this) {
+            find(request.resourceArn()).tags.putAll(request.tags());
+            return TagResourceResponse.builder().build();
+        }
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(UntagResourceRequest request) {
+        call("UntagResource");
+        synchronized (this) {
+            find(request.resourceArn()).tags.keySet().removeAll(request.tagKeys());
+            return UntagResourceResponse.builder().build();
+        }
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void call(String operation) {
+        callCounts.computeIfAbsent(operation, key -> new AtomicInteger()).incrementAndGet();
+        if (!callLatency.isZero()) {
+            try {
+                Thread.sleep(callLatency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        boolean throttled;
+        synchronized (this) {
+            throttled = throttleRate > 0 && random.nextDouble() < throttleRate;
+        }
+        if (throttled) {
+            throw ThrottlingException.builder()
+                .message("Rate exceeded")
+                .statusCode(429)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").serviceName(SERVICE_NAME).build())
+                .build();
+        }
+    }
+
+    private StoredReplicationSet find(String arn) {
+        StoredReplicationSet replicationSet = liveReplicationSets().get(arn);
+        if (replicationSet == null) {
+            throw ResourceNotFoundException.builder().message("Replication set " + arn + " does not exist").build();
+        }
+        return replicationSet;
+    }
+
+    // applies the transitions which completed by now, then returns the replication sets which still exist
+    private Map<String, StoredReplicationSet> liveReplicationSets() {
+        Instant now = clock.instant();
+        Iterator<StoredReplicationSet> iterator = replicationSets.values().iterator();
+        while (iterator.hasNext()) {
+            StoredReplicationSet replicationSet = iterator.next();
+            if (replicationSet.status == ReplicationSetStatus.DELETING) {
+                if (!now.isBefore(replicationSet.deletedAt)) {
+                    iterator.remove();
+                }
+                continue;
+            }
+            replicationSet.regions.values().removeIf(region -> region.status == RegionStatus.DELETING && !now.isBefore(region.readyAt));
+            replicationSet.regions.values().forEach(region -> {
+                if (region.status == RegionStatus.CREATING && !now.isBefore(region.readyAt)) {
+                    region.status = RegionStatus.ACTIVE;
+                }
+            });
+            if (replicationSet.regions.values().stream().allMatch(region -> region.status == RegionStatus.ACTIVE)) {
+                replicationSet.status = ReplicationSetStatus.ACTIVE;
+            }
+        }
+        return replicationSets;
+    }
+
+    private static ValidationException validation(String message) {
+        return ValidationException.builder().message(message).build();
+    }
+
+    private static final class StoredReplicationSet {
+        private final String arn;
+        private final Instant createdTime;
+        private final Map<String, StoredRegion> regions = new LinkedHashMap<>();
+        private final Map<String, String> tags = new HashMap<>();
+        private ReplicationSetStatus status = ReplicationSetStatus.CREATING;
+        private boolean deletionProtected;
+        private Instant lastModifiedTime;
+        private Instant deletedAt;
+
+        private StoredReplicationSet(String arn, Instant createdTime) {
+            this.arn = arn;
+            this.createdTime = createdTime;
+            this.lastModifiedTime = createdTime;
+        }
+
+        private ReplicationSet toReplicationSet() {
+            Map<String, RegionInfo> regionMap = new LinkedHashMap<>();
+            regions.forEach((name, region) -> regionMap.put(name, RegionInfo.builder()
+                .sseKmsKeyId(region.sseKmsKeyId)
+                .status(region.status)
+                .build()));
+            return ReplicationSet.builder()
+                .arn(arn)
+                .regionMap(regionMap)
+                .status(status)
+                .deletionProtected(deletionProtected)
+                .createdBy("in-memory")
+                .createdTime(createdTime)
+                .lastModifiedBy("in-memory")
+                .lastModifiedTime(lastModifiedTime)
+                .build();
+        }
+    }
+
+    private static final class StoredRegion {
+        private final String sseKmsKeyId;
+        private RegionStatus status;
+        private Instant readyAt;
+
+        private StoredRegion(String sseKmsKeyId, RegionStatus status, Instant readyAt) {
+            this.sseKmsKeyId = sseKmsKeyId;
+            this.status = status;
+            this.readyAt = readyAt;
+        }
+    }
+}
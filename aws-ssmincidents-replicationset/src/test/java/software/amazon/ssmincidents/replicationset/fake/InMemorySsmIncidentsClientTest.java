@@ -0,0 +1,173 @@
+package software.amazon.ssmincidents.replicationset.fake;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.model.AddRegionAction;
+import software.amazon.awssdk.services.ssmincidents.model.ConflictException;
+import software.amazon.awssdk.services.ssmincidents.model.CreateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListReplicationSetsResponse;
+import software.amazon.awssdk.services.ssmincidents.model.RegionMapInputValue;
+import software.amazon.awssdk.services.ssmincidents.model.RegionStatus;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSetStatus;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssmincidents.model.ThrottlingException;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateDeletionProtectionRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetAction;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
+import software.amazon.ssmincidents.replicationset.ManualClock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InMemorySsmIncidentsClientTest {
+
+    private static final Duration REGION_LATENCY = Duration.ofMinutes(2);
+
+    private ManualClock clock;
+
+    private InMemorySsmIncidentsClient client;
+
+    @BeforeEach
+    public void setup() {
+        clock = new ManualClock(Instant.parse("2021-05-01T00:00:00Z"));
+        client = new InMemorySsmIncidentsClient(clock).withRegionLatency(REGION_LATENCY);
+    }
+
+    @Test
+    public void replicationSetGoesThroughStatusTransitions() {
+        String arn = create("token", "us-east-1");
+        assertThat(get(arn).status()).isEqualTo(ReplicationSetStatus.CREATING);
+        assertThat(get(arn).regionMap().get("us-east-1").status()).isEqualTo(RegionStatus.CREATING);
+
+        clock.sleep(REGION_LATENCY);
+        assertThat(get(arn).status()).isEqualTo(ReplicationSetStatus.ACTIVE);
+
+        client.updateReplicationSet(addRegion(arn, "us-west-2", "update-token"));
+        assertThat(get(arn).status()).isEqualTo(ReplicationSetStatus.UPDATING);
+        assertThatThrownBy(() -> client.updateReplicationSet(addRegion(arn, "eu-west-1", "other-token")))
+            .isInstanceOf(ConflictException.class);
+
+        clock.sleep(REGION_LATENCY);
+        assertThat(get(arn).status()).isEqualTo(ReplicationSetStatus.ACTIVE);
+        assertThat(get(arn).regionMap()).containsOnlyKeys("us-east-1", "us-west-2");
+
+        client.deleteReplicationSet(DeleteReplicationSetRequest.builder().arn(arn).build());
+        assertThat(get(arn).status()).isEqualTo(ReplicationSetStatus.DELETING);
+
+        clock.sleep(REGION_LATENCY);
+        assertThatThrownBy(() -> get(arn)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void createAndUpdateAreIdempotent() {
+        String arn = create("token", "us-east-1");
+        assertThat(create("token", "us-east-1")).isEqualTo(arn);
+        assertThatThrownBy(() -> create("other-token", "us-east-1")).isInstanceOf(ConflictException.class);
+
+        clock.sleep(REGION_LATENCY);
+        client.updateReplicationSet(addRegion(arn, "us-west-2", "update-token"));
+        client.updateReplicationSet(addRegion(arn, "us-west-2", "update-token"));
+        assertThat(client.callCount("UpdateReplicationSet")).isEqualTo(2);
+    }
+
+    @Test
+    public void rejectsInvalidUpdates() {
+        String arn = create("token", "us-east-1");
+        clock.sleep(REGION_LATENCY);
+
+        assertThatThrownBy(() -> client.updateReplicationSet(addRegion(arn, "us-east-1", null)))
+            .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> client.updateReplicationSet(UpdateReplicationSetRequest.builder()
+            .arn(arn)
+            .actions(
+                UpdateReplicationSetAction.builder().addRegionAction(AddRegionAction.builder().regionName("us-west-2").build()).build(),
+                UpdateReplicationSetAction.builder().addRegionAction(AddRegionAction.builder().regionName("eu-west-1").build()).build())
+            .build()))
+            .isInstanceOf(ValidationException.class);
+
+        client.updateDeletionProtection(UpdateDeletionProtectionRequest.builder().arn(arn).deletionProtected(true).build());
+        assertThatThrownBy(() -> client.deleteReplicationSet(DeleteReplicationSetRequest.builder().arn(arn).build()))
+            .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    public void listsInPages() {
+        client = new InMemorySsmIncidentsClient(clock).withMaxReplicationSets(10).withPageSize(4);
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            created.add(create("token-" + i, "us-east-1"));
+        }
+
+        List<String> listed = new ArrayList<>();
+        String nextToken = null;
+        int pages = 0;
+        do {
+            ListReplicationSetsResponse page = client.listReplicationSets(ListReplicationSetsRequest.builder().nextToken(nextToken).build());
+            listed.addAll(page.replicationSetArns());
+            nextToken = page.nextToken();
+            pages++;
+        } while (nextToken != null);
+
+        assertThat(listed).isEqualTo(created);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    public void injectsThrottling() {
+        client = new InMemorySsmIncidentsClient(clock).withThrottling(1.0, 42);
+        assertThatThrownBy(() -> client.listReplicationSets(ListReplicationSetsRequest.builder().build()))
+            .isInstanceOfSatisfying(ThrottlingException.class, e -> {
+                assertThat(e.statusCode()).isEqualTo(429);
+                assertThat(e.awsErrorDetails().errorCode()).isEqualTo("ThrottlingException");
+            });
+
+        client = new InMemorySsmIncidentsClient(clock).withThrottling(0.5, 42);
+        int throttled = 0;
+        for (int i = 0; i < 1000; i++) {
+            try {
+                client.listReplicationSets(ListReplicationSetsRequest.builder().build());
+            } catch (ThrottlingException e) {
+                throttled++;
+            }
+        }
+        assertThat(throttled).isBetween(400, 600);
+        assertThat(client.callCount("ListReplicationSets")).isEqualTo(1000);
+    }
+
+    private String create(String clientToken, String... regions) {
+        ImmutableMap.Builder<String, RegionMapInputValue> regionMap = ImmutableMap.builder();
+        for (String region : regions) {
+            regionMap.put(region, RegionMapInputValue.builder().build());
+        }
+        return client.createReplicationSet(CreateReplicationSetRequest.builder()
+            .clientToken(clientToken)
+            .regions(regionMap.build())
+            .build()).arn();
+    }
+
+    private ReplicationSet get(String arn) {
+        return client.getReplicationSet(GetReplicationSetRequest.builder().arn(arn).build()).replicationSet();
+    }
+
+    private static UpdateReplicationSetRequest addRegion(String arn, String region, String clientToken) {
+        return UpdateReplicationSetRequest.builder()
+            .arn(arn)
+            .clientToken(clientToken)
+            .actions(ImmutableList.of(UpdateReplicationSetAction.builder()
+                .addRegionAction(AddRegionAction.builder().regionName(region).build())
+                .build()))
+            .build();
+    }
+}
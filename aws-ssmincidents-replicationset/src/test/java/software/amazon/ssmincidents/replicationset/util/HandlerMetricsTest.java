@@ -0,0 +1,107 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HandlerMetricsTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @AfterEach
+    public void cleanup() {
+        HandlerMetrics.unbind();
+    }
+
+    @Test
+    public void timed_StepsAddUp() {
+        HandlerMetrics metrics = new HandlerMetrics("CreateHandler", nanoTime::get);
+        Function<String, String> step = metrics.timed("Step", input -> {
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+            return input + "!";
+        });
+
+        assertThat(step.apply("a")).isEqualTo("a!");
+        assertThat(step.apply("b")).isEqualTo("b!");
+
+        assertThat(metrics.getStepMillis()).containsOnlyKeys("Step").containsEntry("Step", 40L);
+    }
+
+    @Test
+    public void timed_RecordsFailedStep() {
+        HandlerMetrics metrics = new HandlerMetrics("CreateHandler", nanoTime::get);
+        Function<String, String> step = metrics.timed("Failing", input -> {
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+            throw new IllegalStateException(input);
+        });
+
+        assertThatThrownBy(() -> step.apply("boom")).isInstanceOf(IllegalStateException.class);
+        assertThat(metrics.getStepMillis()).containsEntry("Failing", 5L);
+    }
+
+    @Test
+    public void toEmf() throws IOException {
+        HandlerMetrics metrics = new HandlerMetrics("UpdateHandler", nanoTime::get);
+        metrics.timed("Read", Function.identity()).apply("model");
+        metrics.increment(HandlerMetrics.API_CALLS);
+        metrics.increment(HandlerMetrics.API_CALLS);
+        metrics.increment(HandlerMetrics.THROTTLES);
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        List<String> lines = new ArrayList<>();
+        metrics.emit(lines::add, 1620000000000L);
+
+        assertThat(lines).hasSize(1);
+        JsonNode emf = new ObjectMapper().readTree(lines.get(0));
+        JsonNode directive = emf.get("_aws").get("CloudWatchMetrics").get(0);
+        assertThat(emf.get("_aws").get("Timestamp").asLong()).isEqualTo(1620000000000L);
+        assertThat(directive.get("Namespace").asText()).isEqualTo(HandlerMetrics.NAMESPACE);
+        assertThat(directive.get("Dimensions").get(0).get(0).asText()).isEqualTo("Handler");
+        assertThat(directive.get("Metrics")).hasSize(7);
+        assertThat(directive.get("Metrics").get(0).get("Name").asText()).isEqualTo("Duration");
+        assertThat(directive.get("Metrics").get(0).get("Unit").asText()).isEqualTo("Milliseconds");
+        assertThat(emf.get("Handler").asText()).isEqualTo("UpdateHandler");
+        assertThat(emf.get("Duration").asLong()).isEqualTo(1500L);
+        assertThat(emf.get("ReadDuration").asLong()).isEqualTo(0L);
+        assertThat(emf.get("ApiCalls").asLong()).isEqualTo(2L);
+        assertThat(emf.get("Throttles").asLong()).isEqualTo(1L);
+        assertThat(emf.get("Retries").asLong()).isEqualTo(0L);
+        assertThat(emf.get("SelfThrottles").asLong()).isEqualTo(0L);
+        assertThat(emf.get("ThrottleRetries").asLong()).isEqualTo(0L);
+    }
+
+    @Test
+    public void retryCountingInterceptor_CountsRetriesOfBoundMetrics() {
+        HandlerMetrics metrics = new HandlerMetrics("ReadHandler");
+        RetryCountingInterceptor interceptor = new RetryCountingInterceptor();
+        ExecutionAttributes firstRequest = new ExecutionAttributes();
+        ExecutionAttributes secondRequest = new ExecutionAttributes();
+
+        // nothing bound, nothing counted
+        interceptor.beforeTransmission(null, firstRequest);
+        interceptor.beforeTransmission(null, firstRequest);
+        assertThat(HandlerMetrics.current()).isEmpty();
+
+        HandlerMetrics.bind(metrics);
+        interceptor.beforeTransmission(null, firstRequest);
+        interceptor.beforeTransmission(null, secondRequest);
+        interceptor.beforeTransmission(null, secondRequest);
+        interceptor.beforeTransmission(null, secondRequest);
+
+        assertThat(HandlerMetrics.current()).contains(metrics);
+        assertThat(metrics.getCount(HandlerMetrics.RETRIES)).isEqualTo(3L);
+        assertThat(metrics.getCount("Unknown")).isEqualTo(0L);
+    }
+}
@@ -0,0 +1,54 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LevelLoggerTest {
+
+    private final List<String> lines = new ArrayList<>();
+
+    @Test
+    public void log_BelowThresholdNotEvaluated() {
+        LevelLogger logger = new LevelLogger(lines::add, LogLevel.INFO);
+
+        logger.debug(() -> {
+            throw new AssertionError("debug message must not be built");
+        });
+        logger.info(() -> "info");
+        logger.warn(() -> "warn");
+        logger.error(() -> "error");
+
+        assertThat(lines).containsExactly("INFO info", "WARN warn", "ERROR error");
+    }
+
+    @Test
+    public void log_Debug() {
+        LevelLogger logger = new LevelLogger(lines::add, LogLevel.DEBUG);
+
+        logger.debug(() -> "debug");
+
+        assertThat(logger.isEnabled(LogLevel.DEBUG)).isTrue();
+        assertThat(lines).containsExactly("DEBUG debug");
+    }
+
+    @Test
+    public void log_DefaultThreshold() {
+        LevelLogger logger = new LevelLogger(lines::add);
+
+        logger.error(() -> "error");
+
+        assertThat(lines).containsExactly("ERROR error");
+    }
+
+    @Test
+    public void parse() {
+        assertThat(LogLevel.parse("debug", LogLevel.INFO)).isEqualTo(LogLevel.DEBUG);
+        assertThat(LogLevel.parse(" Warn ", LogLevel.INFO)).isEqualTo(LogLevel.WARN);
+        assertThat(LogLevel.parse("verbose", LogLevel.INFO)).isEqualTo(LogLevel.INFO);
+        assertThat(LogLevel.parse(null, LogLevel.ERROR)).isEqualTo(LogLevel.ERROR);
+    }
+}
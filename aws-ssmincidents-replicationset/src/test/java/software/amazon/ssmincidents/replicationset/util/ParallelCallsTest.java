@@ -0,0 +1,97 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelCallsTest {
+
+    @AfterEach
+    public void cleanup() {
+        HandlerMetrics.unbind();
+    }
+
+    @Test
+    public void supply_RunsConcurrently() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> call = ParallelCalls.supply(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "tags";
+        });
+
+        // the calling thread is free while the call is in flight
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(call).isNotDone();
+
+        release.countDown();
+        assertThat(ParallelCalls.join(call)).isEqualTo("tags");
+    }
+
+    @Test
+    public void supply_BindsInvocationMetrics() {
+        HandlerMetrics metrics = new HandlerMetrics("ReadHandler");
+        HandlerMetrics.bind(metrics);
+
+        Optional<HandlerMetrics> seen = ParallelCalls.join(ParallelCalls.supply(HandlerMetrics::current));
+
+        assertThat(seen).containsSame(metrics);
+        assertThat(HandlerMetrics.current()).containsSame(metrics);
+    }
+
+    @Test
+    public void join_RethrowsCallException() {
+        IllegalStateException failure = new IllegalStateException("test exception");
+        CompletableFuture<String> call = ParallelCalls.supply(() -> {
+            throw failure;
+        });
+
+        assertThatThrownBy(() -> ParallelCalls.join(call)).isSameAs(failure);
+    }
+
+    @Test
+    public void join_RethrowsCallError() {
+        AssertionError failure = new AssertionError("test error");
+        CompletableFuture<String> call = ParallelCalls.supply(() -> {
+            throw failure;
+        });
+
+        assertThatThrownBy(() -> ParallelCalls.join(call)).isSameAs(failure);
+    }
+
+    @Test
+    public void join_WrapsCheckedException() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        call.completeExceptionally(new IOException("test exception"));
+
+        assertThatThrownBy(() -> ParallelCalls.join(call))
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void await_IgnoresCallException() {
+        CompletableFuture<String> call = ParallelCalls.supply(() -> {
+            throw new IllegalStateException("test exception");
+        });
+
+        ParallelCalls.await(call);
+
+        assertThat(call).isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,254 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ThrottlingException;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.ssmincidents.replicationset.util.RateLimitedProxyClient.OperationClass;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RateLimitedProxyClientTest {
+
+    private static final GetReplicationSetRequest REQUEST = GetReplicationSetRequest.builder().arn("arn").build();
+
+    @Mock
+    private ProxyClient<SsmIncidentsClient> delegate;
+
+    @Mock
+    private SsmIncidentsClient client;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    private final List<Long> sleeps = new ArrayList<>();
+
+    private final List<Long> delays = new ArrayList<>();
+
+    private final Function<GetReplicationSetRequest, CompletableFuture<GetReplicationSetResponse>> asyncCall =
+        awsRequest -> new CompletableFuture<>();
+
+    private HandlerMetrics metrics;
+
+    private RateLimitedProxyClient<SsmIncidentsClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        metrics = new HandlerMetrics("TestHandler");
+        proxyClient = new RateLimitedProxyClient<>(
+            delegate,
+            metrics,
+            ImmutableMap.of(
+                OperationClass.READ, new TokenBucket(1, 3, nanoTime::get),
+                OperationClass.WRITE, new TokenBucket(1, 1, nanoTime::get),
+                OperationClass.TAG, new TokenBucket(1, 1, nanoTime::get)
+            ),
+            nanos -> {
+                sleeps.add(nanos);
+                nanoTime.addAndGet(nanos);
+            },
+            (task, nanos) -> {
+                delays.add(nanos);
+                nanoTime.addAndGet(nanos);
+                task.run();
+            },
+            () -> 0.5
+        );
+    }
+
+    @Test
+    public void operationClasses() {
+        assertThat(OperationClass.of(REQUEST)).isEqualTo(OperationClass.READ);
+        assertThat(OperationClass.of(UpdateReplicationSetRequest.builder().build())).isEqualTo(OperationClass.WRITE);
+        assertThat(OperationClass.of(TagResourceRequest.builder().build())).isEqualTo(OperationClass.TAG);
+        assertThat(OperationClass.of(UntagResourceRequest.builder().build())).isEqualTo(OperationClass.TAG);
+    }
+
+    @Test
+    public void withinBudget_NoWait() {
+        GetReplicationSetResponse response = GetReplicationSetResponse.builder().build();
+        when(delegate.injectCredentialsAndInvokeV2(eq(REQUEST), any())).thenReturn(response);
+
+        assertThat(proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getReplicationSet)).isSameAs(response);
+        assertThat(proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getReplicationSet)).isSameAs(response);
+
+        assertThat(sleeps).isEmpty();
+        assertThat(metrics.getCount(HandlerMetrics.SELF_THROTTLES)).isEqualTo(0L);
+    }
+
+    @Test
+    public void overBudget_WaitsForPermit() {
+        when(delegate.injectCredentialsAndInvokeV2(eq(REQUEST), any()))
+            .thenReturn(GetReplicationSetResponse.builder().build());
+
+        for (int i = 0; i < 4; i++) {
+            proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getReplicationSet);
+        }
+
+        assertThat(sleeps).containsExactly(TimeUnit.SECONDS.toNanos(1));
+        assertThat(metrics.getCount(HandlerMetrics.SELF_THROTTLES)).isEqualTo(1L);
+    }
+
+    @Test
+    public void budgetsArePerOperationClass() {
+        UpdateReplicationSetRequest update = UpdateReplicationSetRequest.builder().arn("arn").build();
+        TagResourceRequest tag = TagResourceRequest.builder().resourceArn("arn").build();
+
+        proxyClient.injectCredentialsAndInvokeV2(update, client::updateReplicationSet);
+        proxyClient.injectCredentialsAndInvokeV2(tag, client::tagResource);
+        proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getReplicationSet);
+
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void noBucket_NotPaced() {
+        RateLimitedProxyClient<SsmIncidentsClient> unpaced = new RateLimitedProxyClient<>(
+            delegate,
+            metrics,
+            Collections.emptyMap(),
+            nanos -> sleeps.add(nanos),
+            (task, nanos) -> delays.add(nanos),
+            () -> 0.5
+        );
+
+        for (int i = 0; i < 10; i++) {
+            unpaced.injectCredentialsAndInvokeV2(REQUEST, client::getReplicationSet);
+        }
+
+        assertThat(sleeps).isEmpty();
+        assertThat(metrics.getCount(HandlerMetrics.SELF_THROTTLES)).isEqualTo(0L);
+    }
+
+    @Test
+    public void serviceThrottling_RetriedWithJitter() {
+        GetReplicationSetResponse response = GetReplicationSetResponse.builder().build();
+        when(delegate.injectCredentialsAndInvokeV2(eq(REQUEST), any()))
+            .thenThrow(throttling())
+            .thenThrow(throttling())
+            .thenReturn(response);
+
+        assertThat(proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getReplicationSet)).isSameAs(response);
+
+        // half of the 200ms and 400ms ceilings, the retries fit in the read burst
+        assertThat(sleeps).containsExactly(TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(metrics.getCount(HandlerMetrics.THROTTLE_RETRIES)).isEqualTo(2L);
+    }
+
+    @Test
+    public void serviceThrottling_GivesUpAfterMaxAttempts() {
+        when(delegate.injectCredentialsAndInvokeV2(eq(REQUEST), any())).thenThrow(throttling());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getReplicationSet))
+            .isInstanceOf(ThrottlingException.class);
+
+        verify(delegate, times(RateLimitedProxyClient.MAX_ATTEMPTS)).injectCredentialsAndInvokeV2(eq(REQUEST), any());
+        assertThat(metrics.getCount(HandlerMetrics.THROTTLE_RETRIES)).isEqualTo(RateLimitedProxyClient.MAX_ATTEMPTS - 1L);
+    }
+
+    @Test
+    public void otherErrors_NotRetried() {
+        when(delegate.injectCredentialsAndInvokeV2(eq(REQUEST), any()))
+            .thenThrow(ValidationException.builder().message("invalid").build());
+
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getReplicationSet))
+            .isInstanceOf(ValidationException.class);
+
+        verify(delegate).injectCredentialsAndInvokeV2(eq(REQUEST), any());
+        assertThat(metrics.getCount(HandlerMetrics.THROTTLE_RETRIES)).isEqualTo(0L);
+    }
+
+    @Test
+    public void async_OverBudget_DelayedWithoutSleeping() {
+        when(delegate.injectCredentialsAndInvokeV2Async(REQUEST, asyncCall))
+            .thenReturn(CompletableFuture.completedFuture(GetReplicationSetResponse.builder().build()));
+
+        for (int i = 0; i < 4; i++) {
+            proxyClient.injectCredentialsAndInvokeV2Async(REQUEST, asyncCall).join();
+        }
+
+        assertThat(sleeps).isEmpty();
+        assertThat(delays).containsExactly(TimeUnit.SECONDS.toNanos(1));
+        assertThat(metrics.getCount(HandlerMetrics.SELF_THROTTLES)).isEqualTo(1L);
+    }
+
+    @Test
+    public void async_ServiceThrottling_RetriedWithJitter() {
+        GetReplicationSetResponse response = GetReplicationSetResponse.builder().build();
+        when(delegate.injectCredentialsAndInvokeV2Async(REQUEST, asyncCall))
+            .thenReturn(failed(throttling()))
+            .thenReturn(failed(throttling()))
+            .thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(proxyClient.injectCredentialsAndInvokeV2Async(REQUEST, asyncCall).join()).isSameAs(response);
+
+        assertThat(sleeps).isEmpty();
+        assertThat(delays).containsExactly(TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(metrics.getCount(HandlerMetrics.THROTTLE_RETRIES)).isEqualTo(2L);
+    }
+
+    @Test
+    public void async_ServiceThrottling_GivesUpAfterMaxAttempts() {
+        when(delegate.injectCredentialsAndInvokeV2Async(REQUEST, asyncCall)).thenAnswer(invocation -> failed(throttling()));
+
+        CompletableFuture<GetReplicationSetResponse> result = proxyClient.injectCredentialsAndInvokeV2Async(REQUEST, asyncCall);
+
+        assertThatThrownBy(result::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(ThrottlingException.class);
+        verify(delegate, times(RateLimitedProxyClient.MAX_ATTEMPTS)).injectCredentialsAndInvokeV2Async(REQUEST, asyncCall);
+        assertThat(metrics.getCount(HandlerMetrics.THROTTLE_RETRIES)).isEqualTo(RateLimitedProxyClient.MAX_ATTEMPTS - 1L);
+    }
+
+    @Test
+    public void async_OtherErrors_NotRetried() {
+        when(delegate.injectCredentialsAndInvokeV2Async(REQUEST, asyncCall))
+            .thenReturn(failed(ValidationException.builder().message("invalid").build()));
+
+        CompletableFuture<GetReplicationSetResponse> result = proxyClient.injectCredentialsAndInvokeV2Async(REQUEST, asyncCall);
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(ValidationException.class);
+        verify(delegate).injectCredentialsAndInvokeV2Async(REQUEST, asyncCall);
+        assertThat(delays).isEmpty();
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable exception) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(exception);
+        return future;
+    }
+
+    private static ThrottlingException throttling() {
+        return ThrottlingException.builder()
+            .statusCode(400)
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+            .build();
+    }
+}
@@ -0,0 +1,125 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import software.amazon.ssmincidents.replicationset.RegionConfiguration;
+import software.amazon.ssmincidents.replicationset.ReplicationRegion;
+import software.amazon.ssmincidents.replicationset.ResourceModel;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RedactingJsonGeneratorTest {
+
+    private static final Set<String> REDACTED_FIELDS = ImmutableSet.of("SseKmsKeyId");
+    private static final String PLACEHOLDER = "<PROVIDED>";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void writeValueAsString_RedactsModel() throws IOException {
+        ResourceModel model = ResourceModel.builder()
+            .arn("arn")
+            .regions(ImmutableSet.of(
+                new ReplicationRegion("us-east-1", new RegionConfiguration("secret-key")),
+                new ReplicationRegion("us-west-2", new RegionConfiguration(null)),
+                new ReplicationRegion("eu-west-1", null)
+            ))
+            .build();
+
+        String json = RedactingJsonGenerator.writeValueAsString(mapper, model, REDACTED_FIELDS, PLACEHOLDER);
+
+        assertThat(json)
+            .doesNotContain("secret-key")
+            .contains("\"SseKmsKeyId\":\"<PROVIDED>\"")
+            .contains("\"Arn\":\"arn\"")
+            .contains("\"RegionName\":\"eu-west-1\"");
+        // the model itself is left untouched
+        assertThat(model.getRegions()).contains(new ReplicationRegion("us-east-1", new RegionConfiguration("secret-key")));
+    }
+
+    @Test
+    public void writeValueAsString_RedactsIgnoringCase() throws IOException {
+        String json = RedactingJsonGenerator.writeValueAsString(
+            mapper,
+            ImmutableMap.of("sseKmsKeyId", "secret-key"),
+            REDACTED_FIELDS,
+            PLACEHOLDER
+        );
+
+        assertThat(json).isEqualTo("{\"sseKmsKeyId\":\"<PROVIDED>\"}");
+    }
+
+    @Test
+    public void write_AllStringVariants() throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = new RedactingJsonGenerator(
+            mapper.getFactory().createGenerator(writer), REDACTED_FIELDS, PLACEHOLDER)) {
+            generator.writeStartObject();
+            generator.writeFieldName(new SerializedString("SseKmsKeyId"));
+            generator.writeString(new SerializedString("secret-1"));
+            generator.writeFieldName("sseKmsKeyId");
+            generator.writeString("secret-2".toCharArray(), 0, 8);
+            generator.writeFieldName("other");
+            generator.writeString("visible-1".toCharArray(), 0, 9);
+            generator.writeFieldName(new SerializedString("another"));
+            generator.writeString(new SerializedString("visible-2"));
+            generator.writeFieldName("SseKmsKeyId");
+            generator.writeStartObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        assertThat(writer.toString()).isEqualTo(
+            "{\"SseKmsKeyId\":\"<PROVIDED>\",\"sseKmsKeyId\":\"<PROVIDED>\","
+                + "\"other\":\"visible-1\",\"another\":\"visible-2\",\"SseKmsKeyId\":{}}"
+        );
+    }
+
+    @Test
+    public void writeValueAsString_RedactsArrayUnderRedactedField() throws IOException {
+        String json = RedactingJsonGenerator.writeValueAsString(
+            mapper,
+            ImmutableMap.of("SseKmsKeyId", ImmutableList.of("secret-1", "secret-2"), "other", "visible"),
+            REDACTED_FIELDS,
+            PLACEHOLDER
+        );
+
+        assertThat(json).isEqualTo("{\"SseKmsKeyId\":[\"<PROVIDED>\",\"<PROVIDED>\"],\"other\":\"visible\"}");
+    }
+
+    @Test
+    public void writeValueAsString_RedactsObjectUnderRedactedField() throws IOException {
+        String json = RedactingJsonGenerator.writeValueAsString(
+            mapper,
+            ImmutableMap.of(
+                "SseKmsKeyId", ImmutableMap.of("key", "secret-1", "nested", ImmutableList.of(ImmutableMap.of("id", "secret-2"))),
+                "other", "visible"),
+            REDACTED_FIELDS,
+            PLACEHOLDER
+        );
+
+        assertThat(json).isEqualTo("{\"SseKmsKeyId\":{\"key\":\"<PROVIDED>\",\"nested\":[{\"id\":\"<PROVIDED>\"}]},"
+            + "\"other\":\"visible\"}");
+    }
+
+    @Test
+    public void writeValueAsString_NonStringUnderRedactedField_NextFieldVisible() throws IOException {
+        String json = RedactingJsonGenerator.writeValueAsString(
+            mapper,
+            ImmutableMap.of("SseKmsKeyId", 42, "other", "visible-1", "sseKmsKeyId", true, "another", "visible-2"),
+            REDACTED_FIELDS,
+            PLACEHOLDER
+        );
+
+        assertThat(json).isEqualTo("{\"SseKmsKeyId\":42,\"other\":\"visible-1\",\"sseKmsKeyId\":true,\"another\":\"visible-2\"}");
+    }
+}
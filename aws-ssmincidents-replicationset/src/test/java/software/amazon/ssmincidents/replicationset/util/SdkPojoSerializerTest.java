@@ -0,0 +1,103 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.model.AddRegionAction;
+import software.amazon.awssdk.services.ssmincidents.model.GetReplicationSetResponse;
+import software.amazon.awssdk.services.ssmincidents.model.RegionInfo;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSet;
+import software.amazon.awssdk.services.ssmincidents.model.ReplicationSetStatus;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetAction;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateReplicationSetRequest;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SdkPojoSerializerTest {
+
+    private ObjectMapper mapper;
+
+    @BeforeEach
+    public void setup() {
+        // configured as in BaseHandlerStd
+        mapper = new ObjectMapper();
+        mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.setSerializerFactory(new AwsObjectsSerializerFactory(mapper.getSerializerFactory()));
+    }
+
+    @Test
+    public void response_NestedObjectsAndMaps() throws IOException {
+        GetReplicationSetResponse response = GetReplicationSetResponse.builder()
+            .replicationSet(ReplicationSet.builder()
+                .arn("arn")
+                .status(ReplicationSetStatus.ACTIVE)
+                .deletionProtected(true)
+                .createdTime(Instant.ofEpochSecond(1620000000L))
+                .regionMap(ImmutableMap.of("us-east-1", RegionInfo.builder().sseKmsKeyId("key").build()))
+                .build())
+            .build();
+
+        JsonNode json = mapper.readTree(mapper.writeValueAsString(response));
+
+        JsonNode replicationSet = json.get("replicationSet");
+        assertThat(replicationSet.get("arn").asText()).isEqualTo("arn");
+        assertThat(replicationSet.get("status").asText()).isEqualTo("ACTIVE");
+        assertThat(replicationSet.get("deletionProtected").asBoolean()).isTrue();
+        assertThat(replicationSet.get("createdTime").asLong()).isEqualTo(1620000000L);
+        assertThat(replicationSet.get("regionMap").get("us-east-1").get("sseKmsKeyId").asText()).isEqualTo("key");
+        // unset fields are left out
+        assertThat(replicationSet.has("lastModifiedBy")).isFalse();
+    }
+
+    @Test
+    public void request_Lists() throws IOException {
+        UpdateReplicationSetRequest request = UpdateReplicationSetRequest.builder()
+            .arn("arn")
+            .actions(UpdateReplicationSetAction.builder()
+                .addRegionAction(AddRegionAction.builder().regionName("us-west-2").build())
+                .build())
+            .clientToken("token")
+            .build();
+
+        assertThat(mapper.writeValueAsString(request)).isEqualTo(
+            "{\"actions\":[{\"addRegionAction\":{\"regionName\":\"us-west-2\"}}],\"arn\":\"arn\",\"clientToken\":\"token\"}");
+    }
+
+    @Test
+    public void autoConstructedListsAndMaps_LeftOut() throws IOException {
+        UpdateReplicationSetRequest request = UpdateReplicationSetRequest.builder().arn("arn").build();
+        ReplicationSet replicationSet = ReplicationSet.builder().arn("arn").build();
+
+        assertThat(mapper.writeValueAsString(request)).isEqualTo("{\"arn\":\"arn\"}");
+        assertThat(mapper.writeValueAsString(replicationSet)).isEqualTo("{\"arn\":\"arn\"}");
+    }
+
+    @Test
+    public void explicitlyEmptyLists_Written() throws IOException {
+        UpdateReplicationSetRequest request = UpdateReplicationSetRequest.builder()
+            .arn("arn")
+            .actions(Collections.emptyList())
+            .build();
+
+        assertThat(mapper.writeValueAsString(request)).isEqualTo("{\"actions\":[],\"arn\":\"arn\"}");
+    }
+
+    @Test
+    public void redactedWhileWritten() throws IOException {
+        RegionInfo regionInfo = RegionInfo.builder().sseKmsKeyId("secret-key").build();
+
+        String json = RedactingJsonGenerator.writeValueAsString(mapper, regionInfo, ImmutableSet.of("SseKmsKeyId"), "<PROVIDED>");
+
+        assertThat(json).isEqualTo("{\"sseKmsKeyId\":\"<PROVIDED>\"}");
+    }
+}
@@ -0,0 +1,54 @@
+package software.amazon.ssmincidents.replicationset.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TokenBucketTest {
+
+    private final AtomicLong nanoTime = new AtomicLong(1_000_000L);
+
+    @Test
+    public void burstAvailableRightAway() {
+        TokenBucket bucket = new TokenBucket(2, 3, nanoTime::get);
+
+        assertThat(bucket.reserve()).isEqualTo(0L);
+        assertThat(bucket.reserve()).isEqualTo(0L);
+        assertThat(bucket.reserve()).isEqualTo(0L);
+    }
+
+    @Test
+    public void emptyBucket_ReservesAhead() {
+        TokenBucket bucket = new TokenBucket(2, 1, nanoTime::get);
+        bucket.reserve();
+
+        // 2 permits per second, the next ones come after 500ms and 1s
+        assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(1000));
+    }
+
+    @Test
+    public void refillsOverTime_UpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 2, nanoTime::get);
+        bucket.reserve();
+        bucket.reserve();
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(bucket.reserve()).isEqualTo(0L);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(bucket.reserve()).isEqualTo(0L);
+        assertThat(bucket.reserve()).isEqualTo(0L);
+        assertThat(bucket.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    public void invalidBudget() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1, nanoTime::get)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0, nanoTime::get)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,130 @@
+package software.amazon.ssmincidents.responseplan;
+
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsAsyncClient;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsClient;
+import software.amazon.ssmincidents.responseplan.util.RateLimitedProxyClient;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invocation time of the handlers on the sync client against their counterpart on the async client, with every
+ * call to {@link InMemorySsmIncidentsClient} taking {@code latencyMillis}. Read makes two calls and Update, which
+ * changes the impact and the tags, makes three after the existence check; the async handlers make them
+ * concurrently. Latency on the sync client blocks the calling thread, on the async client it delays the
+ * completion of the future.
+ * The token buckets of the container are turned off, so the calls overlap as they would on separate containers
+ * rather than queueing for permits.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@benchmark -Djmh.args="AsyncHandlerBenchmark -p latencyMillis=20"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncHandlerBenchmark {
+
+    private static final String ARN = "arn:aws:ssm-incidents::111122223333:response-plan/benchmark";
+
+    @Param({"ReadHandler", "AsyncReadHandler", "UpdateHandler", "AsyncUpdateHandler"})
+    private String handler;
+
+    @Param({"0", "20"})
+    private long latencyMillis;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    private LoggerProxy logger;
+
+    @Setup
+    public void setup() {
+        InMemorySsmIncidentsClient client = new InMemorySsmIncidentsClient();
+        client.createResponsePlan(CreateResponsePlanRequest.builder()
+            .name("benchmark")
+            .incidentTemplate(software.amazon.awssdk.services.ssmincidents.model.IncidentTemplate.builder()
+                .title("Benchmark")
+                .impact(3)
+                .build())
+            .build());
+        // the sync client blocks for the latency, the async client completes its futures after it
+        InMemorySsmIncidentsClient syncClient = handler.startsWith("Async")
+            ? client
+            : client.withCallLatency(Duration.ofMillis(latencyMillis));
+        InMemorySsmIncidentsAsyncClient asyncClient = new InMemorySsmIncidentsAsyncClient(client)
+            .withCallLatency(Duration.ofMillis(latencyMillis));
+        ClientBuilder.setClientFactory(region -> syncClient);
+        ClientBuilder.setAsyncClientFactory(region -> asyncClient);
+        ClientBuilder.setRateLimits(Collections.emptyMap());
+        logger = new LoggerProxy();
+        proxy = new AmazonWebServicesClientProxy(
+            logger, new Credentials("accessKey", "secretKey", "token"), () -> Duration.ofMinutes(15).toMillis());
+    }
+
+    @TearDown
+    public void tearDown() {
+        ClientBuilder.setClientFactory(ClientBuilder::buildClient);
+        ClientBuilder.setAsyncClientFactory(ClientBuilder::buildAsyncClient);
+        ClientBuilder.setRateLimits(RateLimitedProxyClient.defaultBuckets());
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> invocation() {
+        // handlers fill in the models they are given
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("111122223333")
+            .region("us-east-1")
+            .previousResourceState(handler.endsWith("UpdateHandler") ? model(3, new Tag("team", "incident-response")) : null)
+            .desiredResourceState(handler.endsWith("UpdateHandler")
+                ? model(2, new Tag("owner", "incident-response"))
+                : ResourceModel.builder().arn(ARN).build())
+            .build();
+        return newHandler().handleRequest(proxy, request, null, logger);
+    }
+
+    private BaseHandler<CallbackContext> newHandler() {
+        switch (handler) {
+            case "ReadHandler":
+                return new ReadHandler();
+            case "AsyncReadHandler":
+                return new AsyncReadHandler();
+            case "UpdateHandler":
+                return new UpdateHandler();
+            case "AsyncUpdateHandler":
+                return new AsyncUpdateHandler();
+            default:
+                throw new IllegalArgumentException("Unknown handler " + handler);
+        }
+    }
+
+    private static ResourceModel model(int impact, Tag tag) {
+        return ResourceModel.builder()
+            .arn(ARN)
+            .name("benchmark")
+            .incidentTemplate(IncidentTemplate.builder().title("Benchmark").impact(impact).build())
+            .tags(ImmutableSet.of(tag))
+            .build();
+    }
+}
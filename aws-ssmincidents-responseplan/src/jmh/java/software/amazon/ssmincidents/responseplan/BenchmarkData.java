@@ -0,0 +1,201 @@
+package software.amazon.ssmincidents.responseplan;
+
+import com.google.common.base.Strings;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.VariableType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Synthetic response plans at the limits of the resource schema.
+ */
+public final class BenchmarkData {
+
+    public static final int MAX_PARAMETERS = 200;
+    public static final int MAX_DYNAMIC_PARAMETERS = 200;
+    public static final int MAX_PARAMETER_VALUES = 10;
+    public static final int MAX_PARAMETER_VALUE_LENGTH = 10000;
+    public static final int MAX_NOTIFICATION_TARGETS = 10;
+    public static final int MAX_INCIDENT_TAGS = 50;
+    public static final int MAX_TAGS = 50;
+    public static final int MAX_ENGAGEMENTS = 5;
+
+    private static final String ARN = "arn:aws:ssm-incidents::111122223333:response-plan/benchmark";
+
+    // parameter values grow up to the maximum length, the strings are shared between parameters
+    private static final String[] VALUES = new String[MAX_PARAMETER_VALUES];
+
+    static {
+        for (int i = 1; i <= MAX_PARAMETER_VALUES; i++) {
+            VALUES[i - 1] = Strings.repeat(String.valueOf((char) ('a' + i)), MAX_PARAMETER_VALUE_LENGTH * i / MAX_PARAMETER_VALUES);
+        }
+    }
+
+    private BenchmarkData() {
+    }
+
+    public static ResourceModel maxSizeModel() {
+        return ResourceModel.builder()
+            .arn(ARN)
+            .name("benchmark")
+            .displayName(Strings.repeat("d", 200))
+            .chatChannel(ChatChannel.builder().chatbotSns(snsArns("chat", 2)).build())
+            .engagements(new HashSet<>(contactArns()))
+            .actions(maxSizeActions())
+            .incidentTemplate(
+                IncidentTemplate.builder()
+                    .title(Strings.repeat("t", 200))
+                    .summary(Strings.repeat("s", 4000))
+                    .impact(3)
+                    .dedupeString(Strings.repeat("x", 1000))
+                    .notificationTargets(notificationTargets())
+                    .incidentTags(tags("incident", MAX_INCIDENT_TAGS))
+                    .build()
+            )
+            .tags(tags("resource", MAX_TAGS))
+            .build();
+    }
+
+    public static GetResponsePlanResponse maxSizeGetResponse() {
+        ResourceModel model = maxSizeModel();
+        return GetResponsePlanResponse.builder()
+            .arn(model.getArn())
+            .name(model.getName())
+            .displayName(model.getDisplayName())
+            .chatChannel(software.amazon.awssdk.services.ssmincidents.model.ChatChannel.builder()
+                .chatbotSns(model.getChatChannel().getChatbotSns())
+                .build())
+            .engagements(new ArrayList<>(model.getEngagements()))
+            .actions(software.amazon.awssdk.services.ssmincidents.model.Action.builder()
+                .ssmAutomation(software.amazon.awssdk.services.ssmincidents.model.SsmAutomation.builder()
+                    .documentName("benchmark-document")
+                    .documentVersion("$LATEST")
+                    .roleArn(ARN)
+                    .targetAccount("IMPACTED_ACCOUNT")
+                    .parameters(apiParameters())
+                    .dynamicParameters(apiDynamicParameters())
+                    .build())
+                .build())
+            .incidentTemplate(software.amazon.awssdk.services.ssmincidents.model.IncidentTemplate.builder()
+                .title(model.getIncidentTemplate().getTitle())
+                .summary(model.getIncidentTemplate().getSummary())
+                .impact(model.getIncidentTemplate().getImpact())
+                .dedupeString(model.getIncidentTemplate().getDedupeString())
+                .notificationTargets(apiNotificationTargets())
+                .incidentTags(apiTags("incident", MAX_INCIDENT_TAGS))
+                .build())
+            .build();
+    }
+
+    public static Set<SsmParameter> maxSizeParameters() {
+        Set<SsmParameter> parameters = new HashSet<>();
+        for (int i = 0; i < MAX_PARAMETERS; i++) {
+            parameters.add(SsmParameter.builder().key("parameter-" + i).values(parameterValues()).build());
+        }
+        return parameters;
+    }
+
+    public static Map<String, List<String>> apiParameters() {
+        Map<String, List<String>> parameters = new HashMap<>();
+        for (int i = 0; i < MAX_PARAMETERS; i++) {
+            parameters.put("parameter-" + i, parameterValues());
+        }
+        return parameters;
+    }
+
+    private static List<Action> maxSizeActions() {
+        Set<DynamicSsmParameter> dynamicParameters = new HashSet<>();
+        for (int i = 0; i < MAX_DYNAMIC_PARAMETERS; i++) {
+            dynamicParameters.add(DynamicSsmParameter.builder()
+                .key("dynamic-parameter-" + i)
+                .value(DynamicSsmParameterValue.builder().variable(variable(i).toString()).build())
+                .build());
+        }
+        List<Action> actions = new ArrayList<>();
+        actions.add(Action.builder()
+            .ssmAutomation(SsmAutomation.builder()
+                .documentName("benchmark-document")
+                .documentVersion("$LATEST")
+                .roleArn(ARN)
+                .targetAccount("IMPACTED_ACCOUNT")
+                .parameters(maxSizeParameters())
+                .dynamicParameters(dynamicParameters)
+                .build())
+            .build());
+        return actions;
+    }
+
+    private static Map<String, software.amazon.awssdk.services.ssmincidents.model.DynamicSsmParameterValue> apiDynamicParameters() {
+        Map<String, software.amazon.awssdk.services.ssmincidents.model.DynamicSsmParameterValue> parameters =
+            new HashMap<>();
+        for (int i = 0; i < MAX_DYNAMIC_PARAMETERS; i++) {
+            parameters.put(
+                "dynamic-parameter-" + i,
+                software.amazon.awssdk.services.ssmincidents.model.DynamicSsmParameterValue.builder()
+                    .variable(variable(i))
+                    .build()
+            );
+        }
+        return parameters;
+    }
+
+    private static VariableType variable(int i) {
+        return i % 2 == 0 ? VariableType.INCIDENT_RECORD_ARN : VariableType.INVOLVED_RESOURCES;
+    }
+
+    private static List<String> parameterValues() {
+        return new ArrayList<>(Arrays.asList(VALUES));
+    }
+
+    private static List<NotificationTargetItem> notificationTargets() {
+        List<NotificationTargetItem> targets = new ArrayList<>();
+        for (String arn : snsArns("notification", MAX_NOTIFICATION_TARGETS)) {
+            targets.add(NotificationTargetItem.builder().snsTopicArn(arn).build());
+        }
+        return targets;
+    }
+
+    private static List<software.amazon.awssdk.services.ssmincidents.model.NotificationTargetItem> apiNotificationTargets() {
+        List<software.amazon.awssdk.services.ssmincidents.model.NotificationTargetItem> targets = new ArrayList<>();
+        for (String arn : snsArns("notification", MAX_NOTIFICATION_TARGETS)) {
+            targets.add(software.amazon.awssdk.services.ssmincidents.model.NotificationTargetItem.builder().snsTopicArn(arn).build());
+        }
+        return targets;
+    }
+
+    private static Set<Tag> tags(String prefix, int count) {
+        Set<Tag> tags = new HashSet<>();
+        apiTags(prefix, count).forEach((key, value) -> tags.add(new Tag(key, value)));
+        return tags;
+    }
+
+    private static Map<String, String> apiTags(String prefix, int count) {
+        Map<String, String> tags = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            tags.put(prefix + "-key-" + i, Strings.repeat("v", 255) + i % 10);
+        }
+        return tags;
+    }
+
+    private static List<String> snsArns(String prefix, int count) {
+        List<String> arns = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            arns.add("arn:aws:sns:us-east-1:111122223333:" + prefix + "-" + i);
+        }
+        return arns;
+    }
+
+    private static List<String> contactArns() {
+        List<String> arns = new ArrayList<>();
+        for (int i = 0; i < MAX_ENGAGEMENTS; i++) {
+            arns.add("arn:aws:ssm-contacts:us-east-1:111122223333:contact/contact-" + i);
+        }
+        return arns;
+    }
+}
@@ -0,0 +1,125 @@
+package software.amazon.ssmincidents.responseplan;
+
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsClient;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first response of each handler in a fresh JVM, as on a Lambda cold start, against
+ * {@link InMemorySsmIncidentsClient}. Every fork makes a single invocation. The response plan which Read,
+ * Update and Delete work on is created through the fake client during setup.
+ * <p>
+ * Run with {@code -prof cl} for the number of classes loaded, and list them with
+ * {@code -jvmArgsAppend -verbose:class}:
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec@benchmark -Djmh.args="StartupBenchmark -p handler=ListHandler -prof cl"
+ * </pre>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final String ARN = "arn:aws:ssm-incidents::111122223333:response-plan/startup";
+
+    @Param({"CreateHandler", "ReadHandler", "UpdateHandler", "ListHandler", "DeleteHandler"})
+    private String handler;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    private LoggerProxy logger;
+
+    private ResourceHandlerRequest<ResourceModel> request;
+
+    @Setup
+    public void setup() {
+        InMemorySsmIncidentsClient client = new InMemorySsmIncidentsClient();
+        if (!"CreateHandler".equals(handler) && !"ListHandler".equals(handler)) {
+            client.createResponsePlan(CreateResponsePlanRequest.builder()
+                .name("startup")
+                .incidentTemplate(software.amazon.awssdk.services.ssmincidents.model.IncidentTemplate.builder()
+                    .title("Startup")
+                    .impact(3)
+                    .build())
+                .build());
+        }
+        ClientBuilder.setClientFactory(region -> client);
+        logger = new LoggerProxy();
+        proxy = new AmazonWebServicesClientProxy(
+            logger, new Credentials("accessKey", "secretKey", "token"), () -> Duration.ofMinutes(15).toMillis());
+        request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("111122223333")
+            .region("us-east-1")
+            .previousResourceState("UpdateHandler".equals(handler) ? model(ARN, 3) : null)
+            .desiredResourceState(desiredModel())
+            .build();
+    }
+
+    @Benchmark
+    public ProgressEvent<ResourceModel, CallbackContext> firstResponse() {
+        return newHandler().handleRequest(proxy, request, null, logger);
+    }
+
+    private BaseHandlerStd newHandler() {
+        switch (handler) {
+            case "CreateHandler":
+                return new CreateHandler();
+            case "ReadHandler":
+                return new ReadHandler();
+            case "UpdateHandler":
+                return new UpdateHandler();
+            case "ListHandler":
+                return new ListHandler();
+            case "DeleteHandler":
+                return new DeleteHandler();
+            default:
+                throw new IllegalArgumentException("Unknown handler " + handler);
+        }
+    }
+
+    private ResourceModel desiredModel() {
+        switch (handler) {
+            case "CreateHandler":
+                return model(null, 3);
+            case "UpdateHandler":
+                return model(ARN, 2);
+            case "ListHandler":
+                return ResourceModel.builder().build();
+            default:
+                return ResourceModel.builder().arn(ARN).build();
+        }
+    }
+
+    private static ResourceModel model(String arn, int impact) {
+        return ResourceModel.builder()
+            .arn(arn)
+            .name("startup")
+            .displayName("Startup")
+            .incidentTemplate(IncidentTemplate.builder().title("Startup").impact(impact).build())
+            .engagements(ImmutableSet.of("arn:aws:ssm-contacts:us-east-1:111122223333:contact/oncall"))
+            .tags(ImmutableSet.of(new Tag("team", "incident-response")))
+            .build();
+    }
+}
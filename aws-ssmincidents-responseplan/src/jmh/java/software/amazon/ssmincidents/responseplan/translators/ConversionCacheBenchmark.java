@@ -0,0 +1,62 @@
+package software.amazon.ssmincidents.responseplan.translators;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.ssmincidents.responseplan.BenchmarkData;
+import software.amazon.ssmincidents.responseplan.ResourceModel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the update path translations (update request, then the create request a replacement would send)
+ * on a response plan at the schema limits, with and without a {@link ConversionCache} bound.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionCacheBenchmark {
+
+    private ResourceModel model;
+    private ResourceModel previousModel;
+
+    @Setup
+    public void setup() {
+        model = BenchmarkData.maxSizeModel();
+        // an equal but distinct model, as deserialized from the previous resource state
+        previousModel = BenchmarkData.maxSizeModel();
+        previousModel.setDisplayName("previous");
+    }
+
+    @Benchmark
+    public void uncached(Blackhole blackhole) {
+        translate(blackhole);
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        ConversionCache.bind(new ConversionCache());
+        try {
+            translate(blackhole);
+        } finally {
+            ConversionCache.unbind();
+        }
+    }
+
+    private void translate(Blackhole blackhole) {
+        blackhole.consume(TranslatorFactory.updateResponsePlanConverter().reverse().convert(previousModel));
+        blackhole.consume(TranslatorFactory.updateResponsePlanConverter().reverse().convert(model));
+        blackhole.consume(TranslatorFactory.createResponsePlanConverter().reverse().convert(model));
+    }
+}
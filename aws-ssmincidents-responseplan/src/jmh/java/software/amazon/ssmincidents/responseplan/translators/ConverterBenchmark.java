@@ -0,0 +1,74 @@
+package software.amazon.ssmincidents.responseplan.translators;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanRequest;
+import software.amazon.ssmincidents.responseplan.BenchmarkData;
+import software.amazon.ssmincidents.responseplan.ResourceModel;
+import software.amazon.ssmincidents.responseplan.SsmParameter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the converter graph on a response plan at the schema limits, in both directions.
+ * Run with {@code -prof gc} to get bytes allocated per conversion ({@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    private ResourceModel model;
+    private GetResponsePlanResponse getResponse;
+    private Set<SsmParameter> parameters;
+    private Map<String, List<String>> apiParameters;
+
+    @Setup
+    public void setup() {
+        model = BenchmarkData.maxSizeModel();
+        getResponse = BenchmarkData.maxSizeGetResponse();
+        parameters = BenchmarkData.maxSizeParameters();
+        apiParameters = BenchmarkData.apiParameters();
+    }
+
+    @Benchmark
+    public CreateResponsePlanRequest modelToCreateRequest() {
+        return TranslatorFactory.createResponsePlanConverter().reverse().convert(model);
+    }
+
+    @Benchmark
+    public UpdateResponsePlanRequest modelToUpdateRequest() {
+        return TranslatorFactory.updateResponsePlanConverter().reverse().convert(model);
+    }
+
+    @Benchmark
+    public ResourceModel getResponseToModel() {
+        return TranslatorFactory.getResponsePlanConverter().convert(getResponse);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> ssmParametersToApi() {
+        return TranslatorFactory.SSM_PARAMETERS_CONVERTER.reverse().convert(parameters);
+    }
+
+    @Benchmark
+    public Set<SsmParameter> apiToSsmParameters() {
+        return TranslatorFactory.SSM_PARAMETERS_CONVERTER.convert(apiParameters);
+    }
+}
@@ -0,0 +1,86 @@
+package software.amazon.ssmincidents.responseplan.translators;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.ssmincidents.responseplan.Action;
+import software.amazon.ssmincidents.responseplan.SsmAutomation;
+import software.amazon.ssmincidents.responseplan.SsmParameter;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * SSM parameter translation of an action carrying a large parameter set, next to the stream based
+ * grouping the converter used before. Run with {@code -prof gc} to compare bytes allocated per conversion.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SsmParameterConverterBenchmark {
+
+    @Param({"10", "200", "1000"})
+    private int parameters;
+
+    @Param({"1", "10"})
+    private int valuesPerParameter;
+
+    private Set<SsmParameter> ssmParameters;
+    private Action action;
+
+    @Setup
+    public void setup() {
+        ssmParameters = new HashSet<>();
+        for (int i = 0; i < parameters; i++) {
+            List<String> values = new ArrayList<>(valuesPerParameter);
+            for (int j = 0; j < valuesPerParameter; j++) {
+                values.add("value-" + i + "-" + j);
+            }
+            ssmParameters.add(SsmParameter.builder().key("parameter-" + i).values(values).build());
+        }
+        action = Action.builder()
+            .ssmAutomation(SsmAutomation.builder()
+                .documentName("benchmark-document")
+                .documentVersion("$LATEST")
+                .roleArn("arn:aws:iam::111122223333:role/benchmark")
+                .targetAccount("IMPACTED_ACCOUNT")
+                .parameters(ssmParameters)
+                .build())
+            .build();
+    }
+
+    @Benchmark
+    public Map<String, List<String>> toApi() {
+        return TranslatorFactory.SSM_PARAMETERS_CONVERTER.reverse().convert(ssmParameters);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> toApiStreams() {
+        return ssmParameters.stream()
+            .flatMap(parameter -> parameter.getValues().stream().map(value -> new SimpleEntry<>(parameter.getKey(), value)))
+            .collect(Collectors.groupingBy(Entry::getKey, Collectors.mapping(Entry::getValue, Collectors.toList())));
+    }
+
+    @Benchmark
+    public software.amazon.awssdk.services.ssmincidents.model.Action actionToApi() {
+        return TranslatorFactory.ACTION_CONVERTER.reverse().convert(action);
+    }
+}
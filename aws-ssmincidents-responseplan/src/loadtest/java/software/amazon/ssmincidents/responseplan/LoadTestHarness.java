@@ -0,0 +1,271 @@
+package software.amazon.ssmincidents.responseplan;
+
+import com.google.common.collect.ImmutableSet;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsClient;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Invokes the handlers concurrently through their public entry point, the one the generated HandlerWrapper calls,
+ * against {@link InMemorySsmIncidentsClient}. Reports latency percentiles, allocation rate and GC pauses per handler.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec@loadtest -Dloadtest.args="concurrency=64 invocations=2000 callLatencyMillis=5"
+ * </pre>
+ */
+public class LoadTestHarness {
+
+    private static final Credentials CREDENTIALS = new Credentials("accessKey", "secretKey", "token");
+
+    // no log publishers: messages are built, as in Lambda, but discarded
+    private static final LoggerProxy LOGGER = new LoggerProxy();
+
+    private final int concurrency;
+
+    private final int invocations;
+
+    private final GcPauses gcPauses = new GcPauses();
+
+    private LoadTestHarness(int concurrency, int invocations) {
+        this.concurrency = concurrency;
+        this.invocations = invocations;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        int invocations = Integer.parseInt(options.getOrDefault("invocations", "2000"));
+        long callLatencyMillis = Long.parseLong(options.getOrDefault("callLatencyMillis", "0"));
+        double throttleRate = Double.parseDouble(options.getOrDefault("throttleRate", "0"));
+
+        InMemorySsmIncidentsClient client = new InMemorySsmIncidentsClient()
+            .withCallLatency(Duration.ofMillis(callLatencyMillis))
+            .withThrottling(throttleRate, 0);
+        ClientBuilder.setClientFactory(region -> client);
+        // concurrent invocations stand for separate containers, one container's token buckets would serialize them
+        ClientBuilder.setRateLimits(Collections.emptyMap());
+
+        LoadTestHarness harness = new LoadTestHarness(concurrency, invocations);
+        harness.gcPauses.install();
+        System.out.printf("concurrency=%d invocations=%d callLatencyMillis=%d throttleRate=%s%n",
+            concurrency, invocations, callLatencyMillis, throttleRate);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            // first round lets the JIT compile the handler paths, its numbers are not reported
+            harness.runAll(executor, "warmup", false);
+            harness.runAll(executor, "load", true);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runAll(ExecutorService executor, String namePrefix, boolean report) throws Exception {
+        AtomicReferenceArray<String> arns = new AtomicReferenceArray<>(invocations);
+        List<PhaseResult> results = new ArrayList<>();
+        results.add(run(executor, "CreateHandler", i -> {
+            ProgressEvent<ResourceModel, CallbackContext> event = new CreateHandler().handleRequest(
+                proxy(), request(null, model(namePrefix, i, null, 3)), null, LOGGER);
+            if (event.getResourceModel() != null) {
+                arns.set(i, event.getResourceModel().getArn());
+            }
+            return event;
+        }));
+        results.add(run(executor, "ReadHandler", i -> new ReadHandler().handleRequest(
+            proxy(), request(null, ResourceModel.builder().arn(arns.get(i)).build()), null, LOGGER)));
+        results.add(run(executor, "UpdateHandler", i -> new UpdateHandler().handleRequest(
+            proxy(), request(model(namePrefix, i, arns.get(i), 3), model(namePrefix, i, arns.get(i), 2)), null, LOGGER)));
+        results.add(run(executor, "ListHandler", i -> new ListHandler().handleRequest(
+            proxy(), request(null, ResourceModel.builder().build()), null, LOGGER)));
+        results.add(run(executor, "DeleteHandler", i -> new DeleteHandler().handleRequest(
+            proxy(), request(null, ResourceModel.builder().arn(arns.get(i)).build()), null, LOGGER)));
+        if (report) {
+            System.out.println(PhaseResult.HEADER);
+            results.forEach(System.out::println);
+        }
+    }
+
+    private PhaseResult run(
+        ExecutorService executor,
+        String handler,
+        IntFunction<ProgressEvent<ResourceModel, CallbackContext>> invocation
+    ) throws Exception {
+        long[] latencies = new long[invocations];
+        AtomicInteger failures = new AtomicInteger();
+        int gcMark = gcPauses.mark();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(invocations);
+        for (int i = 0; i < invocations; i++) {
+            final int index = i;
+            futures.add(executor.submit(() -> {
+                long begin = System.nanoTime();
+                ProgressEvent<ResourceModel, CallbackContext> event;
+                try {
+                    event = invocation.apply(index);
+                } catch (RuntimeException e) {
+                    event = null;
+                }
+                latencies[index] = System.nanoTime() - begin;
+                if (event == null || event.getStatus() != OperationStatus.SUCCESS) {
+                    failures.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        return new PhaseResult(handler, latencies, failures.get(), elapsed, allocated, gcPauses.since(gcMark));
+    }
+
+    private static AmazonWebServicesClientProxy proxy() {
+        return new AmazonWebServicesClientProxy(LOGGER, CREDENTIALS, () -> Duration.ofMinutes(15).toMillis());
+    }
+
+    private static ResourceHandlerRequest<ResourceModel> request(ResourceModel previous, ResourceModel desired) {
+        return ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("111122223333")
+            .region("us-east-1")
+            .previousResourceState(previous)
+            .desiredResourceState(desired)
+            .build();
+    }
+
+    private static ResourceModel model(String namePrefix, int index, String arn, int impact) {
+        return ResourceModel.builder()
+            .arn(arn)
+            .name(namePrefix + "-" + index)
+            .displayName("Response plan " + index)
+            .incidentTemplate(IncidentTemplate.builder()
+                .title("Incident " + index)
+                .impact(impact)
+                .summary("Load test incident")
+                .build())
+            .engagements(ImmutableSet.of("arn:aws:ssm-contacts:us-east-1:111122223333:contact/oncall"))
+            .tags(ImmutableSet.of(new Tag("team", "incident-response")))
+            .build();
+    }
+
+    // bytes allocated by all live threads, threads which ended in between are not counted
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return Arrays.stream(threads.getThreadAllocatedBytes(threads.getAllThreadIds())).filter(bytes -> bytes > 0).sum();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Durations of the collections reported by the JVM, in the order they were reported.
+     */
+    private static final class GcPauses implements NotificationListener {
+
+        private final List<Long> pauses = Collections.synchronizedList(new ArrayList<>());
+
+        private void install() {
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter) {
+                    ((NotificationEmitter) collector).addNotificationListener(this, null, null);
+                }
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                pauses.add(info.getGcInfo().getDuration());
+            }
+        }
+
+        private int mark() {
+            return pauses.size();
+        }
+
+        private List<Long> since(int mark) {
+            synchronized (pauses) {
+                return new ArrayList<>(pauses.subList(mark, pauses.size()));
+            }
+        }
+    }
+
+    private static final class PhaseResult {
+
+        private static final String HEADER = String.format("%-14s %8s %8s %10s %9s %9s %9s %10s %6s %9s %9s",
+            "handler", "calls", "failed", "calls/s", "p50 ms", "p99 ms", "max ms", "alloc MB/s", "gcs", "gc ms", "gc max");
+
+        private final String handler;
+        private final long[] latencies;
+        private final int failures;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+        private final List<Long> gcPauses;
+
+        private PhaseResult(String handler, long[] latencies, int failures, long elapsedNanos, long allocatedBytes, List<Long> gcPauses) {
+            this.handler = handler;
+            this.latencies = latencies.clone();
+            Arrays.sort(this.latencies);
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.gcPauses = gcPauses;
+        }
+
+        private double percentileMillis(double quantile) {
+            int index = Math.max(0, (int) Math.ceil(quantile * latencies.length) - 1);
+            return latencies[index] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            double seconds = elapsedNanos / 1e9;
+            return String.format("%-14s %8d %8d %10.1f %9.2f %9.2f %9.2f %10.1f %6d %9d %9d",
+                handler,
+                latencies.length,
+                failures,
+                latencies.length / seconds,
+                percentileMillis(0.5),
+                percentileMillis(0.99),
+                percentileMillis(1.0),
+                allocatedBytes / seconds / (1024 * 1024),
+                gcPauses.size(),
+                gcPauses.stream().mapToLong(Long::longValue).sum(),
+                gcPauses.stream().mapToLong(Long::longValue).max().orElse(0));
+        }
+    }
+}
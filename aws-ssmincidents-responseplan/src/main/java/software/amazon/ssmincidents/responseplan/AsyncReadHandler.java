@@ -0,0 +1,47 @@
+package software.amazon.ssmincidents.responseplan;
+
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link ReadHandler} on the async client, GetResponsePlan and ListTagsForResource are in flight together.
+ * Experimental, see {@link BaseHandlerAsync}.
+ */
+public class AsyncReadHandler extends BaseHandlerAsync {
+
+    @Override
+    protected CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        final Logger logger) {
+
+        final GetResponsePlanRequest awsRequest = Translator.translateToReadRequest(request.getDesiredResourceState());
+        final CompletableFuture<GetResponsePlanResponse> responsePlan =
+            proxyClient.injectCredentialsAndInvokeV2Async(awsRequest, proxyClient.client()::getResponsePlan);
+        final CompletableFuture<ListTagsForResourceResponse> tags = proxyClient.injectCredentialsAndInvokeV2Async(
+            ListTagsForResourceRequest.builder().resourceArn(awsRequest.arn()).build(),
+            proxyClient.client()::listTagsForResource);
+        // waits for both calls whatever their outcome, so no call outlives the invocation,
+        // then reports the GetResponsePlan failure, NotFound after a delete, ahead of the tags one
+        return CompletableFuture.allOf(
+                responsePlan.handle((response, exception) -> null),
+                tags.handle((response, exception) -> null))
+            .thenApply(ignored -> {
+                logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
+                return ProgressEvent.<ResourceModel, CallbackContext>defaultSuccessHandler(
+                    Translator.mergeTags(responsePlan.join(), tags.join()));
+            });
+    }
+}
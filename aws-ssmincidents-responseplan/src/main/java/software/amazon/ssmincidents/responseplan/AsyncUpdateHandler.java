@@ -0,0 +1,117 @@
+package software.amazon.ssmincidents.responseplan;
+
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanRequest;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.util.TagDiff;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link UpdateHandler} on the async client. Once the response plan is known to exist UpdateResponsePlan,
+ * TagResource and UntagResource are in flight together.
+ * Experimental, see {@link BaseHandlerAsync}.
+ */
+public class AsyncUpdateHandler extends BaseHandlerAsync {
+
+    @Override
+    protected CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        final Logger logger) {
+
+        final ResourceModel model = request.getDesiredResourceState();
+        if (model.getArn() == null) {
+            return CompletableFuture.completedFuture(
+                ProgressEvent.failed(model, callbackContext, HandlerErrorCode.NotFound, "Not Found"));
+        }
+        final TagDiff tagDiff = TagDiff.between(
+            Optional.ofNullable(request.getPreviousResourceState()).map(ResourceModel::getTags).orElse(null),
+            model.getTags(),
+            Tag::getKey,
+            Tag::getValue);
+        if (tagDiff.hasDuplicateKeys()) {
+            throw new CfnInvalidRequestException("duplicate tag keys");
+        }
+
+        return preUpdateCheck(proxyClient, model, callbackContext, logger)
+            .thenCompose(notFound -> notFound != null
+                ? CompletableFuture.completedFuture(notFound)
+                : update(proxyClient, request, tagDiff, logger));
+    }
+
+    /**
+     * @return a future of null when the response plan exists, of a NotFound failure otherwise
+     */
+    private CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> preUpdateCheck(
+        final ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        final ResourceModel model,
+        final CallbackContext context,
+        final Logger logger) {
+        return proxyClient.injectCredentialsAndInvokeV2Async(
+                Translator.translateToReadRequest(model),
+                proxyClient.client()::getResponsePlan)
+            .handle((awsResponse, exception) -> {
+                if (exception == null) {
+                    logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
+                    return null;
+                }
+                Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                    ? exception.getCause()
+                    : exception;
+                if (cause instanceof ResourceNotFoundException) {
+                    return ProgressEvent.failed(model, context, HandlerErrorCode.NotFound, "Not Found");
+                }
+                throw exception instanceof CompletionException ? (CompletionException) exception : new CompletionException(exception);
+            });
+    }
+
+    private CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> update(
+        final ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final TagDiff tagDiff,
+        final Logger logger) {
+        final ResourceModel model = request.getDesiredResourceState();
+        final List<CompletableFuture<?>> calls = new ArrayList<>();
+        final UpdateResponsePlanRequest awsRequest = Translator.translateToUpdateRequest(request.getPreviousResourceState(), model);
+        if (awsRequest == null) {
+            logger.log(String.format("%s has no changes besides tags, skipping update.", ResourceModel.TYPE_NAME));
+        } else {
+            calls.add(proxyClient.injectCredentialsAndInvokeV2Async(awsRequest, proxyClient.client()::updateResponsePlan));
+        }
+        if (!tagDiff.getTagsToAdd().isEmpty()) {
+            calls.add(proxyClient.injectCredentialsAndInvokeV2Async(
+                TagResourceRequest.builder().resourceArn(model.getArn()).tags(tagDiff.getTagsToAdd()).build(),
+                proxyClient.client()::tagResource));
+        }
+        if (!tagDiff.getTagKeysToRemove().isEmpty()) {
+            calls.add(proxyClient.injectCredentialsAndInvokeV2Async(
+                UntagResourceRequest.builder().resourceArn(model.getArn()).tagKeys(tagDiff.getTagKeysToRemove()).build(),
+                proxyClient.client()::untagResource));
+        }
+        // allOf completes once every call did
+        return CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+            .handle((ignored, exception) -> {
+                if (exception != null) {
+                    throw exception instanceof CompletionException ? (CompletionException) exception : new CompletionException(exception);
+                }
+                logger.log(String.format("%s has successfully been updated.", ResourceModel.TYPE_NAME));
+                return ProgressEvent.<ResourceModel, CallbackContext>defaultSuccessHandler(Translator.translateFromWrittenModel(model));
+            });
+    }
+}
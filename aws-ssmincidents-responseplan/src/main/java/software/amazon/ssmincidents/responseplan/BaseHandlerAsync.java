@@ -0,0 +1,86 @@
+package software.amazon.ssmincidents.responseplan;
+
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.cloudformation.exceptions.BaseHandlerException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Logger;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.translators.ConversionCache;
+import software.amazon.ssmincidents.responseplan.util.HandlerMetrics;
+import software.amazon.ssmincidents.responseplan.util.MeteredProxyClient;
+import software.amazon.ssmincidents.responseplan.util.RateLimitedProxyClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Base of the handlers which call SSM Incidents through {@link SsmIncidentsAsyncClient}. A handler composes its calls
+ * into one future, so calls which do not depend on each other are in flight together, and the invocation waits for
+ * that future once. A call which failed surfaces as the exception {@link Translator#handleException} maps it to,
+ * like in the handlers of {@link BaseHandlerStd}.
+ * <p>
+ * Experimental: the resource type registers the sync handlers, and HandlerWrapper never dispatches to the async
+ * ones. They are exercised by the unit tests and by {@code AsyncHandlerBenchmark} only.
+ */
+public abstract class BaseHandlerAsync extends BaseHandler<CallbackContext> {
+
+    private HandlerMetrics metrics = new HandlerMetrics(getClass().getSimpleName());
+
+    @Override
+    public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final Logger logger) {
+        metrics = new HandlerMetrics(getClass().getSimpleName());
+        // the async client runs interceptors on its event loop, SDK retries of these calls are not counted
+        HandlerMetrics.bind(metrics);
+        ConversionCache.bind(new ConversionCache());
+        try {
+            return handleRequest(
+                proxy,
+                request,
+                callbackContext != null ? callbackContext : new CallbackContext(),
+                new MeteredProxyClient<>(
+                    new RateLimitedProxyClient<>(proxy.newProxy(ClientBuilder::getAsyncClient), metrics, ClientBuilder.getRateLimits()),
+                    metrics),
+                logger
+            ).join();
+        } catch (final CompletionException e) {
+            throw translate(e.getCause() != null ? e.getCause() : e);
+        } finally {
+            ConversionCache.unbind();
+            HandlerMetrics.unbind();
+            metrics.emit(logger, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * @return a future of the outcome of the invocation, which does not complete before all calls it started did
+     */
+    protected abstract CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequest(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final CallbackContext callbackContext,
+        final ProxyClient<SsmIncidentsAsyncClient> proxyClient,
+        final Logger logger);
+
+    /**
+     * @return metrics of the current invocation
+     */
+    protected HandlerMetrics metrics() {
+        return metrics;
+    }
+
+    private static RuntimeException translate(Throwable cause) {
+        if (cause instanceof BaseHandlerException) {
+            return (BaseHandlerException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return Translator.handleException((Exception) cause);
+    }
+}
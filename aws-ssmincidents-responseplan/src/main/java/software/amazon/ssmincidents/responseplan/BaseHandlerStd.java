@@ -6,23 +6,41 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.translators.ConversionCache;
+import software.amazon.ssmincidents.responseplan.util.HandlerMetrics;
+import software.amazon.ssmincidents.responseplan.util.MeteredProxyClient;
+import software.amazon.ssmincidents.responseplan.util.RateLimitedProxyClient;
 
 // Placeholder for the functionality that could be shared across Create/Read/Update/Delete/List Handlers
 
 public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
+
+    private HandlerMetrics metrics = new HandlerMetrics(getClass().getSimpleName());
+
     @Override
     public final ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
         final ResourceHandlerRequest<ResourceModel> request,
         final CallbackContext callbackContext,
         final Logger logger) {
-        return handleRequest(
-            proxy,
-            request,
-            callbackContext != null ? callbackContext : new CallbackContext(),
-            proxy.newProxy(ClientBuilder::getClient),
-            logger
-        );
+        metrics = new HandlerMetrics(getClass().getSimpleName());
+        HandlerMetrics.bind(metrics);
+        ConversionCache.bind(new ConversionCache());
+        try {
+            return handleRequest(
+                proxy,
+                request,
+                callbackContext != null ? callbackContext : new CallbackContext(),
+                new MeteredProxyClient<>(
+                    new RateLimitedProxyClient<>(proxy.newProxy(ClientBuilder::getClient), metrics, ClientBuilder.getRateLimits()),
+                    metrics),
+                logger
+            );
+        } finally {
+            ConversionCache.unbind();
+            HandlerMetrics.unbind();
+            metrics.emit(logger, System.currentTimeMillis());
+        }
     }
 
     protected abstract ProgressEvent<ResourceModel, CallbackContext> handleRequest(
@@ -32,6 +50,29 @@ public abstract class BaseHandlerStd extends BaseHandler<CallbackContext> {
         final ProxyClient<SsmIncidentsClient> proxyClient,
         final Logger logger);
 
+    /**
+     * Completes Create and Update from the state just written, the full read is only needed
+     * when the written state does not identify the response plan.
+     */
+    protected ProgressEvent<ResourceModel, CallbackContext> returnFromWrite(
+        final AmazonWebServicesClientProxy proxy,
+        final ResourceHandlerRequest<ResourceModel> request,
+        final ProgressEvent<ResourceModel, CallbackContext> progress,
+        final ProxyClient<SsmIncidentsClient> proxyClient,
+        final Logger logger) {
+        if (progress.getResourceModel().getArn() == null) {
+            return new ReadHandler().handleRequest(proxy, request, progress.getCallbackContext(), proxyClient, logger);
+        }
+        return ProgressEvent.defaultSuccessHandler(Translator.translateFromWrittenModel(progress.getResourceModel()));
+    }
+
+    /**
+     * @return metrics of the current invocation, handlers use it to time the steps of their progress chain
+     */
+    protected HandlerMetrics metrics() {
+        return metrics;
+    }
+
     static ResourceModel updateModelWithArn(ResourceModel model, String arn) {
         model.setArn(arn);
         return model;
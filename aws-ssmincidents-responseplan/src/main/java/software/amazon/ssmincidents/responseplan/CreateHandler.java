@@ -30,7 +30,7 @@ public class CreateHandler extends BaseHandlerStd {
         }
 
         return ProgressEvent.progress(request.getDesiredResourceState(), callbackContext)
-            .then(progress ->
+            .then(metrics().timed("CreateResponsePlan", progress ->
                 proxy.initiate("AWS-SSMIncidents-ResponsePlan::Create", proxyClient, progress.getResourceModel(),
                         progress.getCallbackContext())
                     .translateToServiceRequest(Translator::translateToCreateRequest)
@@ -48,7 +48,8 @@ public class CreateHandler extends BaseHandlerStd {
                         return awsResponse;
                     })
                     .done((createResponsePlanRequest, createResponsePlanResponse, client, model, context) -> ProgressEvent.defaultInProgressHandler(context, 0, updateModelWithArn(model, createResponsePlanResponse.arn())))
-            )
-            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+            ))
+            .then(metrics().timed("ReturnFromWrite",
+                progress -> returnFromWrite(proxy, request, progress, proxyClient, logger)));
     }
 }
@@ -27,7 +27,7 @@ public class DeleteHandler extends BaseHandlerStd {
             // STEP 1 [check if resource already exists]
             // for more information -> https://docs.aws.amazon.com/cloudformation-cli/latest/userguide/resource-type-test-contract.html
             // if target API does not support 'ResourceNotFoundException' then following check is required
-            .then(progress ->
+            .then(metrics().timed("PreDeletionCheck", progress ->
                 // STEP 1.0 [initialize a proxy context]
                 // If your service API does not return ResourceNotFoundException on delete requests against some identifier (e.g; resource Name)
                 // and instead returns a 200 even though a resource already deleted, you must first check if the resource exists here
@@ -47,8 +47,8 @@ public class DeleteHandler extends BaseHandlerStd {
                         throw Translator.handleException(exception);
                     })
                     .progress()
-            )
-            .then(progress ->
+            ))
+            .then(metrics().timed("DeleteResponsePlan", progress ->
                 proxy.initiate("AWS-SSMIncidents-ResponsePlan::Delete", proxyClient, progress.getResourceModel(),
                         progress.getCallbackContext())
                     .translateToServiceRequest(Translator::translateToDeleteRequest)
@@ -65,7 +65,7 @@ public class DeleteHandler extends BaseHandlerStd {
                         return awsResponse;
                     })
                     .progress()
-            )
+            ))
             .then(progress -> ProgressEvent.defaultSuccessHandler(null));
     }
 }
@@ -1,8 +1,10 @@
 package software.amazon.ssmincidents.responseplan;
 
+import com.google.common.annotations.VisibleForTesting;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
-import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansRequest;
 import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ResponsePlanSummary;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.OperationStatus;
@@ -10,8 +12,58 @@ import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists as many ListResponsePlans pages as fit in the time and item budgets of one invocation,
+ * set through the LIST_TIME_BUDGET_SECONDS and LIST_ITEM_BUDGET environment variables.
+ * The returned nextToken points at the first summary not returned yet, possibly in the middle of a page.
+ */
 public class ListHandler extends BaseHandlerStd {
 
+    // seconds one invocation keeps requesting further pages, 20 when unset or not a positive number
+    public static final String LIST_TIME_BUDGET_SECONDS_ENVIRONMENT_VARIABLE = "LIST_TIME_BUDGET_SECONDS";
+
+    // response plans returned by one invocation at most, 1000 when unset or not a positive number
+    public static final String LIST_ITEM_BUDGET_ENVIRONMENT_VARIABLE = "LIST_ITEM_BUDGET";
+
+    private static final Duration DEFAULT_TIME_BUDGET = Duration.ofSeconds(
+        parseBudget(System.getenv(LIST_TIME_BUDGET_SECONDS_ENVIRONMENT_VARIABLE), 20));
+    private static final int DEFAULT_ITEM_BUDGET =
+        parseBudget(System.getenv(LIST_ITEM_BUDGET_ENVIRONMENT_VARIABLE), 1000);
+
+    private final Clock clock;
+    private final Duration timeBudget;
+    private final int itemBudget;
+
+    public ListHandler() {
+        this(Clock.systemUTC(), DEFAULT_TIME_BUDGET, DEFAULT_ITEM_BUDGET);
+    }
+
+    @VisibleForTesting
+    ListHandler(Clock clock, Duration timeBudget, int itemBudget) {
+        this.clock = clock;
+        this.timeBudget = timeBudget;
+        this.itemBudget = itemBudget;
+    }
+
+    @VisibleForTesting
+    static int parseBudget(final String value, final int defaultBudget) {
+        if (value == null) {
+            return defaultBudget;
+        }
+        try {
+            final int budget = Integer.parseInt(value.trim());
+            return budget > 0 ? budget : defaultBudget;
+        } catch (NumberFormatException e) {
+            return defaultBudget;
+        }
+    }
+
     @Override
     protected ProgressEvent<ResourceModel, CallbackContext> handleRequest(
         final AmazonWebServicesClientProxy proxy,
@@ -20,20 +72,49 @@ public class ListHandler extends BaseHandlerStd {
         final ProxyClient<SsmIncidentsClient> proxyClient,
         final Logger logger) {
 
-        final ListResponsePlansRequest awsRequest = Translator.translateToListRequest(request.getNextToken());
+        final Instant deadline = clock.instant().plus(timeBudget);
+        final ListNextToken position;
+        try {
+            position = ListNextToken.decode(request.getNextToken());
+        } catch (IllegalArgumentException e) {
+            throw new CfnInvalidRequestException(e);
+        }
 
+        final List<ResourceModel> models = new ArrayList<>();
+        String serviceToken = position.getServiceToken();
+        int offset = position.getOffset();
+        String nextToken = null;
         try {
-            ListResponsePlansResponse awsResponse = proxyClient
-                .injectCredentialsAndInvokeV2(awsRequest, proxyClient.client()::listResponsePlans);
-            String nextToken = awsResponse.nextToken();
-
-            return ProgressEvent.<ResourceModel, CallbackContext>builder()
-                .resourceModels(Translator.translateFromListRequest(awsResponse))
-                .nextToken(nextToken)
-                .status(OperationStatus.SUCCESS)
-                .build();
+            while (true) {
+                ListResponsePlansResponse awsResponse = proxyClient
+                    .injectCredentialsAndInvokeV2(Translator.translateToListRequest(serviceToken), proxyClient.client()::listResponsePlans);
+                List<ResponsePlanSummary> summaries = awsResponse.responsePlanSummaries();
+                for (int i = offset; i < summaries.size(); i++) {
+                    if (models.size() >= itemBudget) {
+                        nextToken = new ListNextToken(serviceToken, i).encode();
+                        break;
+                    }
+                    models.add(Translator.translateFromListSummary(summaries.get(i)));
+                }
+                if (nextToken != null || awsResponse.nextToken() == null) {
+                    break;
+                }
+                serviceToken = awsResponse.nextToken();
+                offset = 0;
+                if (models.size() >= itemBudget || !clock.instant().isBefore(deadline)) {
+                    nextToken = new ListNextToken(serviceToken, 0).encode();
+                    break;
+                }
+            }
         } catch (final Exception e) {
             throw Translator.handleException(e);
         }
+        logger.log(String.format("Listed %d response plans, more pages: %s", models.size(), nextToken != null));
+
+        return ProgressEvent.<ResourceModel, CallbackContext>builder()
+            .resourceModels(models)
+            .nextToken(nextToken)
+            .status(OperationStatus.SUCCESS)
+            .build();
     }
 }
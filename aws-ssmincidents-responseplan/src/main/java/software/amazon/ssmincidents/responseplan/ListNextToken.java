@@ -0,0 +1,58 @@
+package software.amazon.ssmincidents.responseplan;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a List invocation within the ListResponsePlans pages: the service token of a page
+ * and the number of its summaries already returned.
+ */
+@Value
+class ListNextToken {
+
+    private static final String PREFIX = "rp1.";
+
+    // service token of the page to resume from, null for the first page
+    String serviceToken;
+
+    // summaries of that page which were already returned
+    int offset;
+
+    static ListNextToken decode(final String nextToken) {
+        if (nextToken == null) {
+            return new ListNextToken(null, 0);
+        }
+        if (!nextToken.startsWith(PREFIX)) {
+            // plain service token, handed out before tokens were composite
+            return new ListNextToken(nextToken, 0);
+        }
+        final String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(nextToken.substring(PREFIX.length())), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid nextToken", e);
+        }
+        final int separator = decoded.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid nextToken");
+        }
+        final int offset;
+        try {
+            offset = Integer.parseInt(decoded.substring(0, separator));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid nextToken", e);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Invalid nextToken");
+        }
+        final String serviceToken = decoded.substring(separator + 1);
+        return new ListNextToken(serviceToken.isEmpty() ? null : serviceToken, offset);
+    }
+
+    String encode() {
+        final String decoded = offset + ":" + (serviceToken == null ? "" : serviceToken);
+        return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+}
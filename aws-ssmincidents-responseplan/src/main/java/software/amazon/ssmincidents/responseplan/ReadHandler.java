@@ -9,6 +9,9 @@ import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.util.ParallelCalls;
+
+import java.util.concurrent.CompletableFuture;
 
 public class ReadHandler extends BaseHandlerStd {
 
@@ -26,14 +29,18 @@ public class ReadHandler extends BaseHandlerStd {
             .initiate("AWS-SSMIncidents-ResponsePlan::Read", proxyClient, request.getDesiredResourceState(), callbackContext)
             .translateToServiceRequest(Translator::translateToReadRequest)
             .makeServiceCall((awsRequest, client) -> {
+                // tags do not depend on the response plan, fetch them while it is being read
+                CompletableFuture<ListTagsForResourceResponse> tagsResponse =
+                    ParallelCalls.supply(() -> getTags(awsRequest.arn(), client));
                 GetResponsePlanResponse awsResponse = null;
                 try {
                     awsResponse = client.injectCredentialsAndInvokeV2(awsRequest, proxyClient.client()::getResponsePlan);
                 } catch (final Exception e) {
+                    ParallelCalls.await(tagsResponse);
                     throw Translator.handleException(e);
                 }
                 logger.log(String.format("%s has successfully been read.", ResourceModel.TYPE_NAME));
-                return Translator.mergeTags(awsResponse, getTags(awsRequest.arn(), client));
+                return Translator.mergeTags(awsResponse, ParallelCalls.join(tagsResponse));
             })
             .done(combinedResourceModel -> ProgressEvent.defaultSuccessHandler(combinedResourceModel));
     }
@@ -1,5 +1,7 @@
 package software.amazon.ssmincidents.responseplan;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.services.ssmincidents.model.AccessDeniedException;
 import software.amazon.awssdk.services.ssmincidents.model.ConflictException;
@@ -8,9 +10,9 @@ import software.amazon.awssdk.services.ssmincidents.model.DeleteResponsePlanRequ
 import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
 import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanResponse;
 import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansRequest;
-import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansResponse;
 import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssmincidents.model.ResponsePlanSummary;
 import software.amazon.awssdk.services.ssmincidents.model.ThrottlingException;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanRequest;
 import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
@@ -23,14 +25,13 @@ import software.amazon.cloudformation.exceptions.CfnNotFoundException;
 import software.amazon.cloudformation.exceptions.CfnThrottlingException;
 import software.amazon.ssmincidents.responseplan.translators.TranslatorFactory;
 
-import java.util.Collection;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * This class is a centralized placeholder for
@@ -41,6 +42,9 @@ import java.util.stream.Stream;
 
 public class Translator {
 
+    // largest page ListResponsePlans returns
+    static final int LIST_PAGE_SIZE = 100;
+
     /**
      * Request to create a resource
      *
@@ -48,7 +52,7 @@ public class Translator {
      * @return awsRequest the aws service request to create a resource
      */
     static CreateResponsePlanRequest translateToCreateRequest(final ResourceModel model) {
-        return TranslatorFactory.CREATE_RESPONSEPLAN_CONVERTER.reverse().convert(model);
+        return TranslatorFactory.createResponsePlanConverter().reverse().convert(model);
     }
 
     /**
@@ -68,7 +72,29 @@ public class Translator {
      * @return model resource model
      */
     static ResourceModel translateFromReadResponse(final GetResponsePlanResponse awsResponse) {
-        return TranslatorFactory.GET_RESPONSEPLAN_CONVERTER.convert(awsResponse);
+        return TranslatorFactory.getResponsePlanConverter().convert(awsResponse);
+    }
+
+    /**
+     * Translates the state written by a create or update into the model a read would return,
+     * so the handlers do not have to read back what they have just written
+     *
+     * @param model resource model with the arn of the written resource
+     * @return model resource model
+     */
+    static ResourceModel translateFromWrittenModel(final ResourceModel model) {
+        final CreateResponsePlanRequest written = translateToCreateRequest(model);
+        final ResourceModel resourceModel = translateFromReadResponse(GetResponsePlanResponse.builder()
+            .arn(model.getArn())
+            .name(written.name())
+            .displayName(written.displayName())
+            .chatChannel(written.chatChannel())
+            .incidentTemplate(written.incidentTemplate())
+            .actions(written.actions())
+            .engagements(written.engagements())
+            .build());
+        resourceModel.setTags(Optional.ofNullable(model.getTags()).orElse(new HashSet<>()));
+        return resourceModel;
     }
 
     /**
@@ -88,7 +114,50 @@ public class Translator {
      * @return awsRequest the aws service request to modify a resource
      */
     static UpdateResponsePlanRequest translateToFirstUpdateRequest(final ResourceModel model) {
-        return TranslatorFactory.UPDATE_RESPONSEPLAN_CONVERTER.reverse().convert(model);
+        return TranslatorFactory.updateResponsePlanConverter().reverse().convert(model);
+    }
+
+    /**
+     * Request to update only the properties which differ between the previous and the desired model,
+     * properties the desired model no longer sets are sent as empty to clear them
+     *
+     * @param previousModel resource model before the update, null when CloudFormation did not provide it
+     * @param desiredModel resource model after the update
+     * @return awsRequest the aws service request to modify a resource, null when there is nothing to update
+     */
+    static UpdateResponsePlanRequest translateToUpdateRequest(final ResourceModel previousModel, final ResourceModel desiredModel) {
+        final UpdateResponsePlanRequest desired = translateToFirstUpdateRequest(desiredModel);
+        if (previousModel == null) {
+            return desired;
+        }
+        final UpdateResponsePlanRequest previous = translateToFirstUpdateRequest(previousModel);
+        final UpdateResponsePlanRequest.Builder builder = UpdateResponsePlanRequest.builder().arn(desired.arn());
+        boolean changed = copyIfChanged(previous, desired, UpdateResponsePlanRequest::displayName, builder::displayName);
+        changed |= copyIfChanged(previous, desired, UpdateResponsePlanRequest::chatChannel, builder::chatChannel);
+        changed |= copyIfChanged(previous, desired, UpdateResponsePlanRequest::actions, builder::actions);
+        changed |= copyIfChanged(previous, desired, UpdateResponsePlanRequest::incidentTemplateTitle, builder::incidentTemplateTitle);
+        changed |= copyIfChanged(previous, desired, UpdateResponsePlanRequest::incidentTemplateSummary, builder::incidentTemplateSummary);
+        changed |= copyIfChanged(previous, desired, UpdateResponsePlanRequest::incidentTemplateImpact, builder::incidentTemplateImpact);
+        changed |= copyIfChanged(previous, desired, UpdateResponsePlanRequest::incidentTemplateDedupeString, builder::incidentTemplateDedupeString);
+        changed |= copyIfChanged(previous, desired, UpdateResponsePlanRequest::incidentTemplateNotificationTargets, builder::incidentTemplateNotificationTargets);
+        // engagements come from a set, their order carries no meaning
+        changed |= copyIfChanged(previous, desired, request -> ImmutableSet.copyOf(request.engagements()), builder::engagements);
+        // absent incident tags are not serialized, an empty map is what clears them
+        changed |= copyIfChanged(previous, desired, request -> ImmutableMap.copyOf(request.incidentTemplateTags()), builder::incidentTemplateTags);
+        return changed ? builder.build() : null;
+    }
+
+    private static <T> boolean copyIfChanged(
+        final UpdateResponsePlanRequest previous,
+        final UpdateResponsePlanRequest desired,
+        final Function<UpdateResponsePlanRequest, T> member,
+        final Consumer<T> setter) {
+        final T desiredValue = member.apply(desired);
+        if (Objects.equals(member.apply(previous), desiredValue)) {
+            return false;
+        }
+        setter.accept(desiredValue);
+        return true;
     }
 
     /**
@@ -98,28 +167,20 @@ public class Translator {
      * @return awsRequest the aws service request to list resources within aws account
      */
     static ListResponsePlansRequest translateToListRequest(final String nextToken) {
-        return ListResponsePlansRequest.builder().nextToken(nextToken).maxResults(50).build();
+        return ListResponsePlansRequest.builder().nextToken(nextToken).maxResults(LIST_PAGE_SIZE).build();
     }
 
     /**
-     * Translates resource objects from sdk into a resource model (primary identifier only)
+     * Translates a listed resource from sdk into a resource model (primary identifier only)
      *
-     * @param awsResponse the aws service describe resource response
-     * @return list of resource models
+     * @param summary the aws service list resources entry
+     * @return resource model
      */
-    static List<ResourceModel> translateFromListRequest(final ListResponsePlansResponse awsResponse) {
+    static ResourceModel translateFromListSummary(final ResponsePlanSummary summary) {
         // e.g. https://github.com/aws-cloudformation/aws-cloudformation-resource-providers-logs/blob/2077c92299aeb9a68ae8f4418b5e932b12a8b186/aws-logs-loggroup/src/main/java/com/aws/logs/loggroup/Translator.java#L75-L82
-        return streamOfOrEmpty(awsResponse.responsePlanSummaries())
-            .map(x -> ResourceModel.builder()
-                .arn(x.arn())
-                .build())
-            .collect(Collectors.toList());
-    }
-
-    private static <T> Stream<T> streamOfOrEmpty(final Collection<T> collection) {
-        return Optional.ofNullable(collection)
-            .map(Collection::stream)
-            .orElseGet(Stream::empty);
+        return ResourceModel.builder()
+            .arn(summary.arn())
+            .build();
     }
 
     protected static BaseHandlerException handleException(Exception e) {
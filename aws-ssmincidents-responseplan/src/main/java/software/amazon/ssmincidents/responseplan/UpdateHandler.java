@@ -3,7 +3,6 @@ package software.amazon.ssmincidents.responseplan;
 // TODO: replace all usage of SdkClient with your service client type, e.g; YourServiceAsyncClient
 // import software.amazon.awssdk.services.yourservice.YourServiceAsyncClient;
 
-import com.google.common.collect.Sets;
 import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
@@ -11,17 +10,16 @@ import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
 import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanResponse;
 import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.HandlerErrorCode;
 import software.amazon.cloudformation.proxy.Logger;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.util.TagDiff;
 
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 
 public class UpdateHandler extends BaseHandlerStd {
 
@@ -46,7 +44,7 @@ public class UpdateHandler extends BaseHandlerStd {
             // STEP 1 [check if resource already exists]
             // for more information -> https://docs.aws.amazon.com/cloudformation-cli/latest/userguide/resource-type-test-contract.html
             // if target API does not support 'ResourceNotFoundException' then following check is required
-            .then(progress ->
+            .then(metrics().timed("PreUpdateCheck", progress ->
                 // STEP 1.0 [initialize a proxy context]
                 // If your service API does not return ResourceNotFoundException on update requests against some identifier (e.g; resource Name)
                 // and instead returns a 200 even though a resource does not exist, you must first check if the resource exists here
@@ -73,13 +71,17 @@ public class UpdateHandler extends BaseHandlerStd {
                         throw Translator.handleException(exception);
                     })
                     .progress()
-            )
+            ))
             // STEP 2 [first update/stabilize progress chain - required for resource update]
-            .then(progress ->
+            .then(metrics().timed("UpdateResponsePlan", progress ->
                 proxy.initiate("AWS-SSMIncidents-ResponsePlan::Update::first", proxyClient, progress.getResourceModel(),
                         progress.getCallbackContext())
-                    .translateToServiceRequest(Translator::translateToFirstUpdateRequest)
+                    .translateToServiceRequest(model -> Translator.translateToUpdateRequest(request.getPreviousResourceState(), model))
                     .makeServiceCall((awsRequest, client) -> {
+                        if (awsRequest == null) {
+                            logger.log(String.format("%s has no changes besides tags, skipping update.", ResourceModel.TYPE_NAME));
+                            return null;
+                        }
                         UpdateResponsePlanResponse awsResponse = null;
                         try {
                             awsResponse = client.injectCredentialsAndInvokeV2(awsRequest, proxyClient.client()::updateResponsePlan);
@@ -97,29 +99,34 @@ public class UpdateHandler extends BaseHandlerStd {
                                 updateModelWithArn(model, request.getDesiredResourceState().getArn())
                             )
                     )
-            )
-            .then(progress -> updateTags(proxyClient, progress, request))
-            .then(progress -> new ReadHandler().handleRequest(proxy, request, callbackContext, proxyClient, logger));
+            ))
+            .then(metrics().timed("UpdateTags", progress -> updateTags(proxyClient, progress, request)))
+            .then(metrics().timed("ReturnFromWrite",
+                progress -> returnFromWrite(proxy, request, progress, proxyClient, logger)));
     }
 
     private ProgressEvent<ResourceModel, CallbackContext> updateTags(ProxyClient<SsmIncidentsClient> proxyClient, ProgressEvent<ResourceModel, CallbackContext> progress, ResourceHandlerRequest<ResourceModel> request) {
         String responsePlanArn = request.getDesiredResourceState().getArn();
-        Set<Tag> desiredTags = Optional.ofNullable(request.getDesiredResourceState().getTags()).orElse(new HashSet<>());
-        Set<Tag> previousTags = Optional.ofNullable(request.getPreviousResourceState()).map(x -> x.getTags()).orElse(new HashSet<>());
+        TagDiff tagDiff = TagDiff.between(
+            Optional.ofNullable(request.getPreviousResourceState()).map(ResourceModel::getTags).orElse(null),
+            request.getDesiredResourceState().getTags(),
+            Tag::getKey,
+            Tag::getValue);
+        if (tagDiff.hasDuplicateKeys()) {
+            throw new CfnInvalidRequestException("duplicate tag keys");
+        }
 
-        Map<String, String> tagsToAdd = Translator.toApiTag(Sets.difference(desiredTags, previousTags));
-        if (!tagsToAdd.isEmpty()) {
+        if (!tagDiff.getTagsToAdd().isEmpty()) {
             try {
-                proxyClient.injectCredentialsAndInvokeV2(TagResourceRequest.builder().resourceArn(responsePlanArn).tags(tagsToAdd).build(), proxyClient.client()::tagResource);
+                proxyClient.injectCredentialsAndInvokeV2(TagResourceRequest.builder().resourceArn(responsePlanArn).tags(tagDiff.getTagsToAdd()).build(), proxyClient.client()::tagResource);
             } catch (ValidationException e) {
                 throw Translator.handleException(e);
             }
         }
 
-        Map<String, String> tagsToRemove = Translator.toApiTag(Sets.difference(previousTags, desiredTags));
-        if (!tagsToRemove.isEmpty()) {
+        if (!tagDiff.getTagKeysToRemove().isEmpty()) {
             try {
-                proxyClient.injectCredentialsAndInvokeV2(UntagResourceRequest.builder().resourceArn(responsePlanArn).tagKeys(tagsToRemove.keySet()).build(), proxyClient.client()::untagResource);
+                proxyClient.injectCredentialsAndInvokeV2(UntagResourceRequest.builder().resourceArn(responsePlanArn).tagKeys(tagDiff.getTagKeysToRemove()).build(), proxyClient.client()::untagResource);
             } catch (ValidationException e) {
                 throw Translator.handleException(e);
             }
@@ -0,0 +1,30 @@
+package software.amazon.ssmincidents.responseplan.translators;
+
+import com.google.common.base.Converter;
+
+/**
+ * Converts resource model sub-trees to the SDK through the {@link ConversionCache} of the invocation.
+ * Only that direction is cached: its results are SDK objects, or collections the SDK builders copy,
+ * so they can be shared between requests, while the resource models built the other way are mutable.
+ */
+class CachingConverter<A, B> extends Converter<A, B> {
+
+    private final Converter<A, B> delegate;
+
+    private final Converter<B, A> delegateReverse;
+
+    CachingConverter(Converter<A, B> delegate) {
+        this.delegate = delegate;
+        this.delegateReverse = delegate.reverse();
+    }
+
+    @Override
+    protected B doForward(A a) {
+        return delegate.convert(a);
+    }
+
+    @Override
+    protected A doBackward(B b) {
+        return ConversionCache.convert(this, b, delegateReverse::convert);
+    }
+}
@@ -0,0 +1,71 @@
+package software.amazon.ssmincidents.responseplan.translators;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Results of the conversions made during one handler invocation, so sub-trees which are converted again,
+ * or which are equal in the previous and the desired model, are only converted once. Inputs are keyed by
+ * equality and must not be modified while the cache is bound. Conversions on threads without a bound cache
+ * are not cached.
+ */
+public final class ConversionCache {
+
+    // the handler chain converts on the invocation thread, this is how the converters find the cache
+    private static final ThreadLocal<ConversionCache> CURRENT = new ThreadLocal<>();
+
+    private final Map<Object, Map<Object, Object>> resultsByConversion = new IdentityHashMap<>();
+
+    private int hits;
+
+    private int misses;
+
+    public static void bind(ConversionCache cache) {
+        CURRENT.set(cache);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return cache of the invocation running on the current thread, if any
+     */
+    public static Optional<ConversionCache> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * @param conversion identifies the conversion, results of different conversions of the same input are kept apart
+     */
+    static <A, B> B convert(Object conversion, A input, Function<A, B> function) {
+        ConversionCache cache = CURRENT.get();
+        return cache == null ? function.apply(input) : cache.computeIfAbsent(conversion, input, function);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <A, B> B computeIfAbsent(Object conversion, A input, Function<A, B> function) {
+        Map<Object, Object> results = resultsByConversion.computeIfAbsent(conversion, key -> new HashMap<>());
+        B result = (B) results.get(input);
+        if (result == null) {
+            misses++;
+            // not computeIfAbsent on the map itself, nested conversions add to the cache meanwhile
+            result = function.apply(input);
+            results.put(input, result);
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+}
@@ -1,37 +1,47 @@
 package software.amazon.ssmincidents.responseplan.translators;
 
 import com.google.common.base.Converter;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import software.amazon.ssmincidents.responseplan.SsmParameter;
 
-import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class SsmParameterConverter extends Converter<Map<String, List<String>>, Set<SsmParameter>> {
 
-    private static Stream<Entry<String, String>> toFlatKeyValue(SsmParameter ssmParameter) {
-        return ssmParameter.getValues().stream().map(x -> new SimpleEntry<>(ssmParameter.getKey(), x));
-    }
-
     @Override
     protected Set<SsmParameter> doForward(Map<String, List<String>> stringListMap) {
-        return stringListMap.entrySet().stream()
-            .map(entry -> SsmParameter.builder().key(entry.getKey()).values(entry.getValue()).build())
-            .collect(Collectors.toSet());
+        Set<SsmParameter> ssmParameters = Sets.newHashSetWithExpectedSize(stringListMap.size());
+        for (Map.Entry<String, List<String>> entry : stringListMap.entrySet()) {
+            ssmParameters.add(SsmParameter.builder().key(entry.getKey()).values(entry.getValue()).build());
+        }
+        return ssmParameters;
     }
 
+    /**
+     * Keys are normally unique within the set, in which case the model's value lists are used as they are
+     * (the SDK builders copy them). Values of a repeated key are concatenated into a new list, and keys
+     * without values are left out.
+     */
     @Override
     protected Map<String, List<String>> doBackward(Set<SsmParameter> ssmParameters) {
-        return ssmParameters.stream()
-            .flatMap(SsmParameterConverter::toFlatKeyValue)
-            .collect(
-                Collectors.groupingBy(
-                    Entry::getKey, Collectors.mapping(Entry::getValue, Collectors.toList())
-                )
-            );
+        Map<String, List<String>> stringListMap = Maps.newHashMapWithExpectedSize(ssmParameters.size());
+        for (SsmParameter ssmParameter : ssmParameters) {
+            List<String> values = ssmParameter.getValues();
+            if (values == null || values.isEmpty()) {
+                continue;
+            }
+            List<String> previous = stringListMap.putIfAbsent(ssmParameter.getKey(), values);
+            if (previous != null) {
+                List<String> merged = new ArrayList<>(previous.size() + values.size());
+                merged.addAll(previous);
+                merged.addAll(values);
+                stringListMap.put(ssmParameter.getKey(), merged);
+            }
+        }
+        return stringListMap;
     }
 }
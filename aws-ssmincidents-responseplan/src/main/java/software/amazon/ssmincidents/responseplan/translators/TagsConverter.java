@@ -1,25 +1,32 @@
 package software.amazon.ssmincidents.responseplan.translators;
 
 import com.google.common.base.Converter;
+import com.google.common.collect.Sets;
 import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.ssmincidents.responseplan.Tag;
+import software.amazon.ssmincidents.responseplan.util.TagDiff;
 
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 public class TagsConverter extends Converter<Map<String, String>, Set<Tag>> {
     @Override
     protected Set<Tag> doForward(Map<String, String> sdkTagMap) {
-        return sdkTagMap.entrySet().stream().map(x -> new Tag(x.getKey(), x.getValue())).collect(Collectors.toSet());
+        Set<Tag> tags = Sets.newHashSetWithExpectedSize(sdkTagMap.size());
+        for (Map.Entry<String, String> tag : sdkTagMap.entrySet()) {
+            tags.add(new Tag(tag.getKey(), tag.getValue()));
+        }
+        return tags;
     }
 
     @Override
     protected Map<String, String> doBackward(Set<Tag> tags) {
-        try {
-            return tags.stream().collect(Collectors.toMap(Tag::getKey, Tag::getValue));
-        } catch (Exception e) {
+        Set<String> duplicateKeys = new HashSet<>();
+        Map<String, String> tagMap = TagDiff.toMap(tags, Tag::getKey, Tag::getValue, duplicateKeys);
+        if (!duplicateKeys.isEmpty()) {
             throw new CfnInvalidRequestException("duplicate tag keys");
         }
+        return tagMap;
     }
 }
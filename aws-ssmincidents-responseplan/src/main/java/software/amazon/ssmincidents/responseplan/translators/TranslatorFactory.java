@@ -16,54 +16,83 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class TranslatorFactory {
+/**
+ * Converters between the resource model and the SDK. Those of sub-trees which are converted repeatedly within
+ * an invocation go through the {@link ConversionCache} when converting to the SDK.
+ * <p>
+ * The sub-tree converters are shared by every request converter and are built with this class, on the first
+ * conversion of an invocation; List and Delete never get here. Each request converter is built on first use, in
+ * its own holder class, so that a Read does not load the Create and Update converters.
+ */
+public final class TranslatorFactory {
 
-    public final static Converter<software.amazon.awssdk.services.ssmincidents.model.ChatChannel, ChatChannel> CHAT_CHANNEL_CONVERTER = new ChatChannelConverter();
+    public final static Converter<software.amazon.awssdk.services.ssmincidents.model.ChatChannel, ChatChannel> CHAT_CHANNEL_CONVERTER =
+        new CachingConverter<>(new ChatChannelConverter());
 
     public final static Converter<Map<String, List<String>>, Set<SsmParameter>> SSM_PARAMETERS_CONVERTER =
-        new SsmParameterConverter();
+        new CachingConverter<>(new SsmParameterConverter());
 
     public final static Converter<
         Map<String, software.amazon.awssdk.services.ssmincidents.model.DynamicSsmParameterValue>,
         Set<DynamicSsmParameter>
-        > DYNAMIC_SSM_PARAMETERS_CONVERTER = new DynamicSsmParameterConverter();
+        > DYNAMIC_SSM_PARAMETERS_CONVERTER =
+        new CachingConverter<>(new DynamicSsmParameterConverter());
 
     public final static Converter<software.amazon.awssdk.services.ssmincidents.model.Action, Action> ACTION_CONVERTER =
-        new ActionConverter(
+        new CachingConverter<>(new ActionConverter(
             SSM_PARAMETERS_CONVERTER,
             DYNAMIC_SSM_PARAMETERS_CONVERTER
-        );
+        ));
 
     public final static Converter<software.amazon.awssdk.services.ssmincidents.model.NotificationTargetItem,
-        NotificationTargetItem> NOTIFICATION_TARGET_CONVERTER = new NotificationTargetConverter();
+        NotificationTargetItem> NOTIFICATION_TARGET_CONVERTER =
+        new CachingConverter<>(new NotificationTargetConverter());
 
     public final static Converter<Map<String, String>, Set<Tag>> TAGS_CONVERTER = new TagsConverter();
 
-    public final static Converter<software.amazon.awssdk.services.ssmincidents.model.IncidentTemplate, IncidentTemplate> INCIDENT_TEMPLATE_CONVERTER = new IncidentTemplateConverter(
-        NOTIFICATION_TARGET_CONVERTER, TAGS_CONVERTER);
-
-    public final static Converter<software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest,
-        ResourceModel> CREATE_RESPONSEPLAN_CONVERTER =
-        new CreateResponsePlanConverter(
-            INCIDENT_TEMPLATE_CONVERTER,
-            ACTION_CONVERTER,
-            CHAT_CHANNEL_CONVERTER,
-            TAGS_CONVERTER
-        );
-
-
-    public final static Converter<GetResponsePlanResponse, ResourceModel> GET_RESPONSEPLAN_CONVERTER =
-        new GetResponsePlanConverter(
-            INCIDENT_TEMPLATE_CONVERTER,
-            ACTION_CONVERTER,
-            CHAT_CHANNEL_CONVERTER
-        );
-
-
-    public final static Converter<UpdateResponsePlanRequest, ResourceModel> UPDATE_RESPONSEPLAN_CONVERTER =
-        new UpdateResponsePlanConverter(
-            INCIDENT_TEMPLATE_CONVERTER,
-            ACTION_CONVERTER,
-            CHAT_CHANNEL_CONVERTER
-        );
+    public final static Converter<software.amazon.awssdk.services.ssmincidents.model.IncidentTemplate, IncidentTemplate> INCIDENT_TEMPLATE_CONVERTER =
+        new CachingConverter<>(new IncidentTemplateConverter(NOTIFICATION_TARGET_CONVERTER, TAGS_CONVERTER));
+
+    private TranslatorFactory() {
+    }
+
+    public static Converter<software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest, ResourceModel> createResponsePlanConverter() {
+        return CreateResponsePlanConverterHolder.INSTANCE;
+    }
+
+    public static Converter<GetResponsePlanResponse, ResourceModel> getResponsePlanConverter() {
+        return GetResponsePlanConverterHolder.INSTANCE;
+    }
+
+    public static Converter<UpdateResponsePlanRequest, ResourceModel> updateResponsePlanConverter() {
+        return UpdateResponsePlanConverterHolder.INSTANCE;
+    }
+
+    private static final class CreateResponsePlanConverterHolder {
+        static final Converter<software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest, ResourceModel> INSTANCE =
+            new CreateResponsePlanConverter(
+                INCIDENT_TEMPLATE_CONVERTER,
+                ACTION_CONVERTER,
+                CHAT_CHANNEL_CONVERTER,
+                TAGS_CONVERTER
+            );
+    }
+
+    private static final class GetResponsePlanConverterHolder {
+        static final Converter<GetResponsePlanResponse, ResourceModel> INSTANCE =
+            new GetResponsePlanConverter(
+                INCIDENT_TEMPLATE_CONVERTER,
+                ACTION_CONVERTER,
+                CHAT_CHANNEL_CONVERTER
+            );
+    }
+
+    private static final class UpdateResponsePlanConverterHolder {
+        static final Converter<UpdateResponsePlanRequest, ResourceModel> INSTANCE =
+            new UpdateResponsePlanConverter(
+                INCIDENT_TEMPLATE_CONVERTER,
+                ACTION_CONVERTER,
+                CHAT_CHANNEL_CONVERTER
+            );
+    }
 }
@@ -0,0 +1,132 @@
+package software.amazon.ssmincidents.responseplan.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
+import software.amazon.cloudformation.proxy.Logger;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Collects metrics of a single handler invocation: wall time of every step of the progress chain
+ * and counters such as SDK calls, throttles and retries. They are exported as one
+ * CloudWatch Embedded Metric Format line through the handler {@link Logger}.
+ */
+public class HandlerMetrics {
+
+    public static final String NAMESPACE = "SSMIncidents/ResponsePlan";
+    public static final String HANDLER_DIMENSION = "Handler";
+
+    public static final String API_CALLS = "ApiCalls";
+    public static final String THROTTLES = "Throttles";
+    public static final String RETRIES = "Retries";
+    public static final String SELF_THROTTLES = "SelfThrottles";
+    public static final String THROTTLE_RETRIES = "ThrottleRetries";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // the sync SDK client runs interceptors on the calling thread, this is how they find the invocation metrics
+    private static final ThreadLocal<HandlerMetrics> CURRENT = new ThreadLocal<>();
+
+    private final String handler;
+
+    private final LongSupplier nanoTime;
+
+    private final long startNanos;
+
+    private final Map<String, Long> stepMillis = new LinkedHashMap<>();
+
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    public HandlerMetrics(String handler) {
+        this(handler, System::nanoTime);
+    }
+
+    @VisibleForTesting
+    HandlerMetrics(String handler, LongSupplier nanoTime) {
+        this.handler = handler;
+        this.nanoTime = nanoTime;
+        this.startNanos = nanoTime.getAsLong();
+        counters.put(API_CALLS, 0L);
+        counters.put(THROTTLES, 0L);
+        counters.put(RETRIES, 0L);
+        counters.put(SELF_THROTTLES, 0L);
+        counters.put(THROTTLE_RETRIES, 0L);
+    }
+
+    public static void bind(HandlerMetrics metrics) {
+        CURRENT.set(metrics);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return metrics of the invocation running on the current thread, if any
+     */
+    public static Optional<HandlerMetrics> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Wraps a step of the progress chain so its wall time is recorded under {@code step}.
+     * Steps recorded more than once in an invocation add up.
+     */
+    public <T> Function<T, T> timed(String step, Function<T, T> function) {
+        return input -> {
+            long start = nanoTime.getAsLong();
+            try {
+                return function.apply(input);
+            } finally {
+                synchronized (this) {
+                    stepMillis.merge(step, TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - start), Long::sum);
+                }
+            }
+        };
+    }
+
+    public synchronized void increment(String counter) {
+        counters.merge(counter, 1L, Long::sum);
+    }
+
+    public synchronized Map<String, Long> getStepMillis() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(stepMillis));
+    }
+
+    public synchronized long getCount(String counter) {
+        return counters.getOrDefault(counter, 0L);
+    }
+
+    public synchronized String toEmf(long timestampMillis) {
+        ObjectNode root = MAPPER.createObjectNode();
+        ObjectNode aws = root.putObject("_aws");
+        aws.put("Timestamp", timestampMillis);
+        ObjectNode directive = aws.putArray("CloudWatchMetrics").addObject();
+        directive.put("Namespace", NAMESPACE);
+        directive.putArray("Dimensions").addArray().add(HANDLER_DIMENSION);
+        ArrayNode definitions = directive.putArray("Metrics");
+        root.put(HANDLER_DIMENSION, handler);
+
+        addMetric(root, definitions, "Duration", TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - startNanos), "Milliseconds");
+        stepMillis.forEach((step, millis) -> addMetric(root, definitions, step + "Duration", millis, "Milliseconds"));
+        counters.forEach((counter, count) -> addMetric(root, definitions, counter, count, "Count"));
+        return root.toString();
+    }
+
+    public void emit(Logger logger, long timestampMillis) {
+        logger.log(toEmf(timestampMillis));
+    }
+
+    private static void addMetric(ObjectNode root, ArrayNode definitions, String name, long value, String unit) {
+        definitions.addObject().put("Name", name).put("Unit", unit);
+        root.put(name, value);
+    }
+}
@@ -0,0 +1,99 @@
+package software.amazon.ssmincidents.responseplan.util;
+
+import software.amazon.awssdk.awscore.AwsRequest;
+import software.amazon.awssdk.awscore.AwsResponse;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.pagination.sync.SdkIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Counts SDK calls made through a {@link ProxyClient}, and the calls which were throttled
+ * after the SDK ran out of retries, into the invocation {@link HandlerMetrics}.
+ */
+public class MeteredProxyClient<ClientT> implements ProxyClient<ClientT> {
+
+    private final ProxyClient<ClientT> delegate;
+
+    private final HandlerMetrics metrics;
+
+    public MeteredProxyClient(ProxyClient<ClientT> delegate, HandlerMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseT
+    injectCredentialsAndInvokeV2(RequestT request, Function<RequestT, ResponseT> requestFunction) {
+        metrics.increment(HandlerMetrics.API_CALLS);
+        try {
+            return delegate.injectCredentialsAndInvokeV2(request, requestFunction);
+        } catch (RuntimeException e) {
+            recordThrottle(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> CompletableFuture<ResponseT>
+    injectCredentialsAndInvokeV2Async(RequestT request, Function<RequestT, CompletableFuture<ResponseT>> requestFunction) {
+        metrics.increment(HandlerMetrics.API_CALLS);
+        return delegate.injectCredentialsAndInvokeV2Async(request, requestFunction)
+            .whenComplete((response, exception) -> {
+                if (exception != null) {
+                    recordThrottle(exception);
+                }
+            });
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse, IterableT extends SdkIterable<ResponseT>> IterableT
+    injectCredentialsAndInvokeIterableV2(RequestT request, Function<RequestT, IterableT> requestFunction) {
+        // pages are fetched lazily while iterating, this counts the paginated call once
+        metrics.increment(HandlerMetrics.API_CALLS);
+        return delegate.injectCredentialsAndInvokeIterableV2(request, requestFunction);
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseInputStream<ResponseT>
+    injectCredentialsAndInvokeV2InputStream(RequestT request, Function<RequestT, ResponseInputStream<ResponseT>> requestFunction) {
+        metrics.increment(HandlerMetrics.API_CALLS);
+        try {
+            return delegate.injectCredentialsAndInvokeV2InputStream(request, requestFunction);
+        } catch (RuntimeException e) {
+            recordThrottle(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public <RequestT extends AwsRequest, ResponseT extends AwsResponse> ResponseBytes<ResponseT>
+    injectCredentialsAndInvokeV2Bytes(RequestT request, Function<RequestT, ResponseBytes<ResponseT>> requestFunction) {
+        metrics.increment(HandlerMetrics.API_CALLS);
+        try {
+            return delegate.injectCredentialsAndInvokeV2Bytes(request, requestFunction);
+        } catch (RuntimeException e) {
+            recordThrottle(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ClientT client() {
+        return delegate.client();
+    }
+
+    private void recordThrottle(Throwable exception) {
+        Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+            ? exception.getCause()
+            : exception;
+        if (cause instanceof AwsServiceException && ((AwsServiceException) cause).isThrottlingException()) {
+            metrics.increment(HandlerMetrics.THROTTLES);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package software.amazon.ssmincidents.responseplan.util;
+
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+
+/**
+ * Counts SDK retries into the {@link HandlerMetrics} of the invocation running on the current thread.
+ * Every attempt of a request is transmitted, so all transmissions after the first one are retries.
+ */
+public class RetryCountingInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Integer> ATTEMPTS = new ExecutionAttribute<>("HandlerMetricsAttempts");
+
+    @Override
+    public void beforeTransmission(Context.BeforeTransmission context, ExecutionAttributes executionAttributes) {
+        Integer previousAttempts = executionAttributes.getAttribute(ATTEMPTS);
+        int attempts = previousAttempts == null ? 1 : previousAttempts + 1;
+        executionAttributes.putAttribute(ATTEMPTS, attempts);
+        if (attempts > 1) {
+            HandlerMetrics.current().ifPresent(metrics -> metrics.increment(HandlerMetrics.RETRIES));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package software.amazon.ssmincidents.responseplan;
+
+import com.amazonaws.services.lambda.runtime.ClientContext;
+import com.amazonaws.services.lambda.runtime.CognitoIdentity;
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.LambdaLogger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Entry point of the native image built by the {@code native} profile: a Lambda custom runtime which passes every
+ * invocation from the runtime API to {@link HandlerWrapper}. The smoke test and the startup report run on a separate
+ * image of {@code NativeVerification}, so that nothing of the test classpath is linked into this one.
+ */
+public class NativeBootstrap {
+
+    private static final String RUNTIME_API_VERSION = "2018-06-01";
+
+    private static final ObjectMapper ERROR_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        runtimeLoop(System.getenv("AWS_LAMBDA_RUNTIME_API"));
+    }
+
+    private static void runtimeLoop(String runtimeApi) throws IOException {
+        String baseUrl = "http://" + runtimeApi + "/" + RUNTIME_API_VERSION + "/runtime";
+        HandlerWrapper handlerWrapper;
+        try {
+            handlerWrapper = new HandlerWrapper();
+        } catch (RuntimeException e) {
+            post(baseUrl + "/init/error", error(e));
+            throw e;
+        }
+        while (true) {
+            HttpURLConnection next = (HttpURLConnection) new URL(baseUrl + "/invocation/next").openConnection();
+            next.setReadTimeout(0);
+            String requestId = next.getHeaderField("Lambda-Runtime-Aws-Request-Id");
+            long deadlineMillis = Long.parseLong(next.getHeaderField("Lambda-Runtime-Deadline-Ms"));
+            String functionArn = next.getHeaderField("Lambda-Runtime-Invoked-Function-Arn");
+            String traceId = next.getHeaderField("Lambda-Runtime-Trace-Id");
+            if (traceId != null) {
+                System.setProperty("com.amazonaws.xray.traceHeader", traceId);
+            }
+            byte[] event;
+            try (InputStream input = next.getInputStream()) {
+                event = ByteStreams.toByteArray(input);
+            }
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            try {
+                handlerWrapper.handleRequest(new ByteArrayInputStream(event), response, new RuntimeContext(requestId, functionArn, deadlineMillis));
+                post(baseUrl + "/invocation/" + requestId + "/response", response.toByteArray());
+            } catch (Exception e) {
+                try {
+                    post(baseUrl + "/invocation/" + requestId + "/error", error(e));
+                } catch (IOException postException) {
+                    // the invocation times out instead, the runtime keeps serving the next ones
+                    System.err.println("Could not post the error of invocation " + requestId + ": " + postException);
+                }
+            }
+        }
+    }
+
+    private static byte[] error(Exception e) throws IOException {
+        return ERROR_MAPPER.writeValueAsBytes(ImmutableMap.of(
+            "errorMessage", String.valueOf(e.getMessage()),
+            "errorType", e.getClass().getName()));
+    }
+
+    private static void post(String url, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(body);
+        }
+        int status = connection.getResponseCode();
+        if (status != HttpURLConnection.HTTP_ACCEPTED) {
+            throw new IOException("Runtime API answered " + status + " to " + url);
+        }
+    }
+
+    /**
+     * Invocation context built from the headers of the runtime API and the environment of the function.
+     */
+    private static final class RuntimeContext implements Context {
+
+        private static final LambdaLogger LAMBDA_LOGGER = new LambdaLogger() {
+            @Override
+            public void log(String message) {
+                System.out.println(message);
+            }
+
+            @Override
+            public void log(byte[] message) {
+                System.out.println(new String(message, StandardCharsets.UTF_8));
+            }
+        };
+
+        private final String requestId;
+
+        private final String functionArn;
+
+        private final long deadlineMillis;
+
+        private RuntimeContext(String requestId, String functionArn, long deadlineMillis) {
+            this.requestId = requestId;
+            this.functionArn = functionArn;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        @Override
+        public String getAwsRequestId() {
+            return requestId;
+        }
+
+        @Override
+        public String getLogGroupName() {
+            return System.getenv("AWS_LAMBDA_LOG_GROUP_NAME");
+        }
+
+        @Override
+        public String getLogStreamName() {
+            return System.getenv("AWS_LAMBDA_LOG_STREAM_NAME");
+        }
+
+        @Override
+        public String getFunctionName() {
+            return System.getenv("AWS_LAMBDA_FUNCTION_NAME");
+        }
+
+        @Override
+        public String getFunctionVersion() {
+            return System.getenv("AWS_LAMBDA_FUNCTION_VERSION");
+        }
+
+        @Override
+        public String getInvokedFunctionArn() {
+            return functionArn;
+        }
+
+        @Override
+        public CognitoIdentity getIdentity() {
+            return null;
+        }
+
+        @Override
+        public ClientContext getClientContext() {
+            return null;
+        }
+
+        @Override
+        public int getRemainingTimeInMillis() {
+            return (int) Math.max(0, deadlineMillis - System.currentTimeMillis());
+        }
+
+        @Override
+        public int getMemoryLimitInMB() {
+            String memory = System.getenv("AWS_LAMBDA_FUNCTION_MEMORY_SIZE");
+            return memory == null ? 0 : Integer.parseInt(memory);
+        }
+
+        @Override
+        public LambdaLogger getLogger() {
+            return LAMBDA_LOGGER;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package software.amazon.ssmincidents.responseplan;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.ImmutableSet;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.Credentials;
+import software.amazon.cloudformation.proxy.LoggerProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.cloudformation.resource.Serializer;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsClient;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Entry point of the verification image built by the {@code native} profile next to {@link NativeBootstrap}, from the
+ * test classpath and the same configuration. It is not packaged.
+ * <ul>
+ * <li>{@code smoke-test}: runs Create, Read, Update, List and Delete against {@link InMemorySsmIncidentsClient},
+ * and the resulting model and callback context through the serializer {@link HandlerWrapper} uses</li>
+ * <li>{@code probe <handler>}: invokes one handler against {@link InMemorySsmIncidentsClient}</li>
+ * <li>{@code report <native image> <report file> <runs>}: probes every handler in new processes, on the shaded jar
+ * and as native image, and writes the median times to first response</li>
+ * </ul>
+ */
+public class NativeVerification {
+
+    private static final List<String> HANDLERS =
+        Arrays.asList("CreateHandler", "ReadHandler", "UpdateHandler", "ListHandler", "DeleteHandler");
+
+    private static final String ARN = "arn:aws:ssm-incidents::111122223333:response-plan/native";
+
+    private static final LoggerProxy LOGGER = new LoggerProxy();
+
+    private static final String PROBE_PREFIX = "probe ";
+
+    public static void main(String[] args) throws Exception {
+        switch (args.length > 0 ? args[0] : "") {
+            case "smoke-test":
+                smokeTest();
+                break;
+            case "probe":
+                probe(args[1]);
+                break;
+            case "report":
+                report(args[1], args[2], Integer.parseInt(args[3]));
+                break;
+            default:
+                throw new IllegalArgumentException("Usage: smoke-test | probe <handler> | report <native image> <report file> <runs>");
+        }
+    }
+
+    private static void smokeTest() throws IOException {
+        InMemorySsmIncidentsClient client = new InMemorySsmIncidentsClient();
+        ClientBuilder.setClientFactory(region -> client);
+        Serializer serializer = new Serializer();
+        for (String handler : HANDLERS) {
+            ProgressEvent<ResourceModel, CallbackContext> event = invoke(handler);
+            if (event.getStatus() != OperationStatus.SUCCESS) {
+                throw new IllegalStateException(handler + " returned " + event.getStatus() + ": " + event.getMessage());
+            }
+            if (event.getResourceModel() != null) {
+                ResourceModel model = serializer.deserialize(
+                    serializer.serialize(event.getResourceModel()), new TypeReference<ResourceModel>() {
+                    });
+                if (!model.equals(event.getResourceModel())) {
+                    throw new IllegalStateException(handler + " model did not survive serialization: " + model);
+                }
+            }
+            serializer.deserialize(serializer.serialize(new CallbackContext()), new TypeReference<CallbackContext>() {
+            });
+            System.out.println(handler + " " + event.getStatus());
+        }
+    }
+
+    private static void probe(String handler) {
+        InMemorySsmIncidentsClient client = new InMemorySsmIncidentsClient();
+        ClientBuilder.setClientFactory(region -> client);
+        if (!"CreateHandler".equals(handler) && !"ListHandler".equals(handler)) {
+            invoke("CreateHandler");
+        }
+        long start = System.nanoTime();
+        OperationStatus status = invoke(handler).getStatus();
+        System.out.println(PROBE_PREFIX + status + " " + Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private static ProgressEvent<ResourceModel, CallbackContext> invoke(String handler) {
+        AmazonWebServicesClientProxy proxy = new AmazonWebServicesClientProxy(
+            LOGGER, new Credentials("accessKey", "secretKey", "token"), () -> Duration.ofMinutes(15).toMillis());
+        ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .awsAccountId("111122223333")
+            .region("us-east-1")
+            .previousResourceState("UpdateHandler".equals(handler) ? model(ARN, 3) : null)
+            .desiredResourceState(desiredModel(handler))
+            .build();
+        switch (handler) {
+            case "CreateHandler":
+                return new CreateHandler().handleRequest(proxy, request, null, LOGGER);
+            case "ReadHandler":
+                return new ReadHandler().handleRequest(proxy, request, null, LOGGER);
+            case "UpdateHandler":
+                return new UpdateHandler().handleRequest(proxy, request, null, LOGGER);
+            case "ListHandler":
+                return new ListHandler().handleRequest(proxy, request, null, LOGGER);
+            case "DeleteHandler":
+                return new DeleteHandler().handleRequest(proxy, request, null, LOGGER);
+            default:
+                throw new IllegalArgumentException("Unknown handler " + handler);
+        }
+    }
+
+    private static ResourceModel desiredModel(String handler) {
+        switch (handler) {
+            case "CreateHandler":
+                return model(null, 3);
+            case "UpdateHandler":
+                return model(ARN, 2);
+            case "ListHandler":
+                return ResourceModel.builder().build();
+            default:
+                return ResourceModel.builder().arn(ARN).build();
+        }
+    }
+
+    private static ResourceModel model(String arn, int impact) {
+        return ResourceModel.builder()
+            .arn(arn)
+            .name("native")
+            .displayName("Native")
+            .incidentTemplate(IncidentTemplate.builder().title("Native").impact(impact).build())
+            .engagements(ImmutableSet.of("arn:aws:ssm-contacts:us-east-1:111122223333:contact/oncall"))
+            .tags(ImmutableSet.of(new Tag("team", "incident-response")))
+            .build();
+    }
+
+    private static void report(String nativeImage, String reportFile, int runs) throws IOException, InterruptedException {
+        List<String> jvm = Arrays.asList(
+            System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+            "-cp", System.getProperty("java.class.path"), NativeVerification.class.getName());
+        List<String> image = Collections.singletonList(nativeImage);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(reportFile), StandardCharsets.UTF_8))) {
+            out.printf("Time from process start to the first response, median of %d runs, java %s%n", runs, System.getProperty("java.version"));
+            out.println("jvm: " + String.join(" ", jvm));
+            out.println("native: " + nativeImage);
+            out.println();
+            out.printf("%-14s %-8s %16s %14s%n", "handler", "build", "to response (ms)", "handler (ms)");
+            for (String handler : HANDLERS) {
+                for (List<String> build : Arrays.asList(jvm, image)) {
+                    List<Long> toResponse = new ArrayList<>();
+                    List<Long> invocations = new ArrayList<>();
+                    for (int run = 0; run < runs; run++) {
+                        long[] result = runProbe(build, handler);
+                        toResponse.add(result[0]);
+                        invocations.add(result[1]);
+                    }
+                    out.printf("%-14s %-8s %16d %14d%n",
+                        handler, build == image ? "native" : "jvm", median(toResponse), median(invocations));
+                }
+            }
+        }
+        System.out.println(new String(Files.readAllBytes(Paths.get(reportFile)), StandardCharsets.UTF_8));
+    }
+
+    private static long[] runProbe(List<String> launcher, String handler) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(launcher);
+        command.add("probe");
+        command.add(handler);
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String probe = null;
+        long toResponse = 0;
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+                if (line.startsWith(PROBE_PREFIX)) {
+                    toResponse = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    probe = line;
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0 || probe == null) {
+            throw new IllegalStateException(command + " exited with " + exitCode + ":\n" + String.join("\n", output));
+        }
+        String[] fields = probe.substring(PROBE_PREFIX.length()).split(" ");
+        if (!OperationStatus.SUCCESS.name().equals(fields[0])) {
+            throw new IllegalStateException(handler + " returned " + fields[0]);
+        }
+        return new long[] {toResponse, Long.parseLong(fields[1])};
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,98 @@
+package software.amazon.ssmincidents.responseplan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsAsyncClient;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsClient;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AsyncReadHandlerTest extends AbstractTestBase {
+
+    private InMemorySsmIncidentsClient fakeClient;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    @BeforeEach
+    public void setup() {
+        fakeClient = new InMemorySsmIncidentsClient();
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        String arn = fakeClient.createResponsePlan(Translator.translateToCreateRequest(ResourceModel.builder()
+            .name(TestData.NAME)
+            .incidentTemplate(IncidentTemplate.builder().title(TestData.TITLE).impact(TestData.IMPACT).build())
+            .tags(TestData.TAGS_1)
+            .build())).arn();
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(arn).join();
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(arn);
+        assertThat(response.getResourceModel().getName()).isEqualTo(TestData.NAME);
+        assertThat(response.getResourceModel().getTags()).isEqualTo(TestData.TAGS_1);
+        assertThat(fakeClient.callCount("GetResponsePlan")).isEqualTo(1);
+        assertThat(fakeClient.callCount("ListTagsForResource")).isEqualTo(1);
+    }
+
+    @Test
+    public void handleRequest_NotFound() {
+        assertThatThrownBy(() -> handleRequest(TestData.ARN).join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void handleRequest_NotFound_WaitsForTags() {
+        SsmIncidentsAsyncClient client = mock(SsmIncidentsAsyncClient.class);
+        CompletableFuture<GetResponsePlanResponse> responsePlan = new CompletableFuture<>();
+        responsePlan.completeExceptionally(ResourceNotFoundException.builder().message("not found").build());
+        CompletableFuture<ListTagsForResourceResponse> tags = new CompletableFuture<>();
+        when(client.getResponsePlan(any(GetResponsePlanRequest.class))).thenReturn(responsePlan);
+        when(client.listTagsForResource(any(ListTagsForResourceRequest.class))).thenReturn(tags);
+
+        CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> response = new AsyncReadHandler().handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().arn(TestData.ARN).build()).build(),
+            new CallbackContext(),
+            MOCK_ASYNC_PROXY(proxy, client),
+            logger);
+
+        // the invocation does not complete while the tags call is in flight
+        assertThat(response).isNotDone();
+        tags.complete(ListTagsForResourceResponse.builder().build());
+
+        assertThatThrownBy(response::join)
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private CompletableFuture<ProgressEvent<ResourceModel, CallbackContext>> handleRequest(String arn) {
+        return new AsyncReadHandler().handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().arn(arn).build()).build(),
+            new CallbackContext(),
+            MOCK_ASYNC_PROXY(proxy, new InMemorySsmIncidentsAsyncClient(fakeClient).withCallLatency(Duration.ofMillis(5))),
+            logger);
+    }
+}
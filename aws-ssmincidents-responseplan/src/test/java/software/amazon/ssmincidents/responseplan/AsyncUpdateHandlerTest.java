@@ -0,0 +1,107 @@
+package software.amazon.ssmincidents.responseplan;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.HandlerErrorCode;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsAsyncClient;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsClient;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class AsyncUpdateHandlerTest extends AbstractTestBase {
+
+    private InMemorySsmIncidentsClient fakeClient;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    private String arn;
+
+    @BeforeEach
+    public void setup() {
+        fakeClient = new InMemorySsmIncidentsClient();
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        arn = fakeClient.createResponsePlan(Translator.translateToCreateRequest(model(TestData.IMPACT, TestData.TAGS_1))).arn();
+    }
+
+    @Test
+    public void handleRequest_SimpleSuccess() {
+        CallbackContext context = new CallbackContext();
+        Set<Tag> tags = ImmutableSet.of(new Tag(TestData.TAG_KEY_1, TestData.TAG_VALUE_1), new Tag(TestData.TAG_KEY_3, TestData.TAG_VALUE_3));
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(model(TestData.IMPACT, TestData.TAGS_1), model(1, tags), context);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getArn()).isEqualTo(arn);
+        assertThat(fakeClient.callCount("GetResponsePlan")).isEqualTo(1);
+        assertThat(fakeClient.callCount("UpdateResponsePlan")).isEqualTo(1);
+        assertThat(fakeClient.callCount("TagResource")).isEqualTo(1);
+        assertThat(fakeClient.callCount("UntagResource")).isEqualTo(1);
+        assertThat(fakeClient.getResponsePlan(GetResponsePlanRequest.builder().arn(arn).build()).incidentTemplate().impact()).isEqualTo(1);
+        assertThat(fakeClient.listTagsForResource(ListTagsForResourceRequest.builder().resourceArn(arn).build()).tags())
+            .containsOnly(entry(TestData.TAG_KEY_1, TestData.TAG_VALUE_1), entry(TestData.TAG_KEY_3, TestData.TAG_VALUE_3));
+    }
+
+    @Test
+    public void handleRequest_OnlyTags_NoUpdateResponsePlan() {
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(
+            model(TestData.IMPACT, TestData.TAGS_1), model(TestData.IMPACT, TestData.TAGS_2), new CallbackContext());
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(fakeClient.callCount("UpdateResponsePlan")).isZero();
+        assertThat(fakeClient.callCount("TagResource")).isZero();
+        assertThat(fakeClient.callCount("UntagResource")).isEqualTo(1);
+    }
+
+    @Test
+    public void handleRequest_NotFound() {
+        ResourceModel desired = model(1, TestData.TAGS_1);
+        desired.setArn(TestData.ARN);
+
+        ProgressEvent<ResourceModel, CallbackContext> response = handleRequest(model(TestData.IMPACT, TestData.TAGS_1), desired, new CallbackContext());
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(response.getErrorCode()).isEqualTo(HandlerErrorCode.NotFound);
+        assertThat(fakeClient.callCount("UpdateResponsePlan")).isZero();
+    }
+
+    @Test
+    public void handleRequest_DuplicateTagKeys() {
+        Set<Tag> tags = ImmutableSet.of(new Tag(TestData.TAG_KEY_1, TestData.TAG_VALUE_1), new Tag(TestData.TAG_KEY_1, TestData.TAG_VALUE_2));
+
+        assertThatThrownBy(() -> handleRequest(model(TestData.IMPACT, TestData.TAGS_1), model(TestData.IMPACT, tags), new CallbackContext()))
+            .isInstanceOf(CfnInvalidRequestException.class);
+        assertThat(fakeClient.callCount("GetResponsePlan")).isZero();
+    }
+
+    private ResourceModel model(Integer impact, Set<Tag> tags) {
+        return ResourceModel.builder()
+            .arn(arn)
+            .name(TestData.NAME)
+            .incidentTemplate(IncidentTemplate.builder().title(TestData.TITLE).impact(impact).build())
+            .tags(tags)
+            .build();
+    }
+
+    private ProgressEvent<ResourceModel, CallbackContext> handleRequest(ResourceModel previous, ResourceModel desired, CallbackContext context) {
+        return new AsyncUpdateHandler().handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder().previousResourceState(previous).desiredResourceState(desired).build(),
+            context,
+            MOCK_ASYNC_PROXY(proxy, new InMemorySsmIncidentsAsyncClient(fakeClient).withCallLatency(Duration.ofMillis(5))),
+            logger
+        ).join();
+    }
+}
@@ -68,12 +68,6 @@ public class CreateHandlerTest extends AbstractTestBase {
                     .build()
             );
 
-        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().build());
-
-        when(proxyClient.client().getResponsePlan(any(GetResponsePlanRequest.class)))
-            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_BASE);
-
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
             .build();
@@ -81,9 +75,7 @@ public class CreateHandlerTest extends AbstractTestBase {
         final ProgressEvent<ResourceModel, CallbackContext> response = handler
             .handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
-        verify(sdkClient, times(1)).getResponsePlan(any(GetResponsePlanRequest.class));
         verify(sdkClient, times(1)).createResponsePlan(any(CreateResponsePlanRequest.class));
-        verify(sdkClient, times(1)).listTagsForResource(any(ListTagsForResourceRequest.class));
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
@@ -107,12 +99,6 @@ public class CreateHandlerTest extends AbstractTestBase {
                     .build()
             );
 
-        when(proxyClient.client().getResponsePlan(any(GetResponsePlanRequest.class)))
-            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_COMPLETE);
-
-        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().tags(TestData.API_TAGS_1).build());
-
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
             .build();
@@ -121,7 +107,6 @@ public class CreateHandlerTest extends AbstractTestBase {
             .handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
         verify(sdkClient, times(1)).createResponsePlan(argThat((CreateResponsePlanRequest x) -> assertCreateResponsePlanRequestComplete(x)));
-        verify(sdkClient, times(1)).getResponsePlan(any(GetResponsePlanRequest.class));
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
@@ -131,6 +116,34 @@ public class CreateHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void returnFromWrite_FallsBackToRead() {
+        final CreateHandler handler = new CreateHandler();
+
+        when(proxyClient.client().getResponsePlan(any(GetResponsePlanRequest.class)))
+            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_BASE);
+
+        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
+            .thenReturn(ListTagsForResourceResponse.builder().build());
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().arn(TestData.ARN).build())
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.returnFromWrite(
+            proxy,
+            request,
+            ProgressEvent.progress(ResourceModel.builder().name(TestData.NAME).build(), new CallbackContext()),
+            proxyClient,
+            logger);
+
+        verify(sdkClient, times(1)).getResponsePlan(any(GetResponsePlanRequest.class));
+        verify(sdkClient, times(1)).listTagsForResource(any(ListTagsForResourceRequest.class));
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel()).isEqualTo(TestData.RETURNED_MODEL_BASE);
+    }
+
     private boolean assertCreateResponsePlanRequestComplete(CreateResponsePlanRequest createResponsePlanRequest) {
         assertThat(createResponsePlanRequest.displayName()).isEqualTo(TestData.DISPLAY_NAME);
         assertThat(createResponsePlanRequest.actions()).containsExactlyInAnyOrder(TestData.API_ACTION_1);
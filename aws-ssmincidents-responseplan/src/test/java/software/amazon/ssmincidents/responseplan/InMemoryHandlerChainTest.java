@@ -0,0 +1,108 @@
+package software.amazon.ssmincidents.responseplan;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
+import software.amazon.cloudformation.proxy.OperationStatus;
+import software.amazon.cloudformation.proxy.ProgressEvent;
+import software.amazon.cloudformation.proxy.ProxyClient;
+import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
+import software.amazon.ssmincidents.responseplan.fake.InMemorySsmIncidentsClient;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the handlers through a whole resource lifecycle against {@link InMemorySsmIncidentsClient}.
+ */
+public class InMemoryHandlerChainTest extends AbstractTestBase {
+
+    private InMemorySsmIncidentsClient fakeClient;
+
+    private AmazonWebServicesClientProxy proxy;
+
+    private ProxyClient<SsmIncidentsClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        fakeClient = new InMemorySsmIncidentsClient().withPageSize(2);
+        proxy = new AmazonWebServicesClientProxy(logger, MOCK_CREDENTIALS, () -> Duration.ofSeconds(600).toMillis());
+        proxyClient = MOCK_PROXY(proxy, fakeClient);
+    }
+
+    @Test
+    public void createReadUpdateListDelete() {
+        ResourceModel desired = ResourceModel.builder()
+            .name(TestData.NAME)
+            .incidentTemplate(IncidentTemplate.builder().title(TestData.TITLE).impact(TestData.IMPACT).build())
+            .engagements(ImmutableSet.of(TestData.CONTACT))
+            .tags(TestData.TAGS_1)
+            .build();
+        ProgressEvent<ResourceModel, CallbackContext> created = new CreateHandler().handleRequest(
+            proxy, ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(desired).build(),
+            new CallbackContext(), proxyClient, logger);
+        assertThat(created.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        String arn = created.getResourceModel().getArn();
+        assertThat(arn).isNotNull();
+
+        ResourceModel read = read(arn);
+        assertThat(read.getName()).isEqualTo(TestData.NAME);
+        assertThat(read.getEngagements()).containsExactly(TestData.CONTACT);
+        assertThat(read.getTags()).isEqualTo(TestData.TAGS_1);
+
+        ResourceModel updated = ResourceModel.builder()
+            .arn(arn)
+            .name(TestData.NAME)
+            .displayName(TestData.DISPLAY_NAME)
+            .incidentTemplate(IncidentTemplate.builder().title(TestData.TITLE).impact(1).build())
+            .engagements(ImmutableSet.of(TestData.CONTACT))
+            .tags(ImmutableSet.of(new Tag(TestData.TAG_KEY_1, TestData.TAG_VALUE_1)))
+            .build();
+        ProgressEvent<ResourceModel, CallbackContext> update = new UpdateHandler().handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder().previousResourceState(read).desiredResourceState(updated).build(),
+            new CallbackContext(), proxyClient, logger);
+        assertThat(update.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(read(arn).getIncidentTemplate().getImpact()).isEqualTo(1);
+        assertThat(read(arn).getTags()).containsExactly(new Tag(TestData.TAG_KEY_1, TestData.TAG_VALUE_1));
+
+        for (int i = 0; i < 4; i++) {
+            new CreateHandler().handleRequest(
+                proxy,
+                ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder()
+                    .name("plan-" + i)
+                    .incidentTemplate(IncidentTemplate.builder().title(TestData.TITLE).impact(TestData.IMPACT).build())
+                    .build()).build(),
+                new CallbackContext(), proxyClient, logger);
+        }
+        ProgressEvent<ResourceModel, CallbackContext> listed = new ListHandler().handleRequest(
+            proxy, ResourceHandlerRequest.<ResourceModel>builder().build(), new CallbackContext(), proxyClient, logger);
+        assertThat(listed.getNextToken()).isNull();
+        assertThat(listed.getResourceModels()).hasSize(5);
+        assertThat(listed.getResourceModels().stream().map(ResourceModel::getArn).collect(Collectors.toList())).contains(arn);
+        assertThat(fakeClient.callCount("ListResponsePlans")).isEqualTo(3);
+
+        ProgressEvent<ResourceModel, CallbackContext> deleted = new DeleteHandler().handleRequest(
+            proxy, ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().arn(arn).build()).build(),
+            new CallbackContext(), proxyClient, logger);
+        assertThat(deleted.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThatThrownBy(() -> fakeClient.getResponsePlan(GetResponsePlanRequest.builder().arn(arn).build()))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ResourceModel read(String arn) {
+        ProgressEvent<ResourceModel, CallbackContext> event = new ReadHandler().handleRequest(
+            proxy,
+            ResourceHandlerRequest.<ResourceModel>builder().desiredResourceState(ResourceModel.builder().arn(arn).build()).build(),
+            new CallbackContext(), proxyClient, logger);
+        assertThat(event.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        return event.getResourceModel();
+    }
+}
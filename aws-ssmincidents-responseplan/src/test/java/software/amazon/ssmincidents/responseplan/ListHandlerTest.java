@@ -4,25 +4,34 @@ import com.google.common.collect.ImmutableSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansRequest;
 import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansResponse;
 import software.amazon.awssdk.services.ssmincidents.model.ResponsePlanSummary;
+import software.amazon.cloudformation.exceptions.CfnInvalidRequestException;
 import software.amazon.cloudformation.proxy.AmazonWebServicesClientProxy;
 import software.amazon.cloudformation.proxy.OperationStatus;
 import software.amazon.cloudformation.proxy.ProgressEvent;
 import software.amazon.cloudformation.proxy.ProxyClient;
 import software.amazon.cloudformation.proxy.ResourceHandlerRequest;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -78,44 +87,142 @@ public class ListHandlerTest extends AbstractTestBase {
     }
 
     @Test
-    public void handleRequest_PagingSuccess() {
-        final String nextToken = "abc123";
+    public void handleRequest_DrainsPagesWithinBudget() {
+        final ListHandler handler = new ListHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder().build())
+            .build();
 
+        when(proxyClient.client().listResponsePlans(any(ListResponsePlansRequest.class)))
+            .thenReturn(page("token1", "arn1", "arn2"), page("token2", "arn3"), page(null, "arn4"));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels().stream().map(ResourceModel::getArn).collect(Collectors.toList()))
+            .containsExactly("arn1", "arn2", "arn3", "arn4");
+        assertThat(response.getNextToken()).isNull();
+
+        ArgumentCaptor<ListResponsePlansRequest> listRequest = ArgumentCaptor.forClass(ListResponsePlansRequest.class);
+        verify(sdkClient, times(3)).listResponsePlans(listRequest.capture());
+        assertThat(listRequest.getAllValues().stream().map(ListResponsePlansRequest::nextToken).collect(Collectors.toList()))
+            .containsExactly(null, "token1", "token2");
+        assertThat(listRequest.getAllValues()).allMatch(x -> x.maxResults() == Translator.LIST_PAGE_SIZE);
+    }
+
+    @Test
+    public void handleRequest_ItemBudgetStopsMidPage() {
+        final ListHandler handler = new ListHandler(Clock.systemUTC(), Duration.ofMinutes(1), 3);
+
+        when(proxyClient.client().listResponsePlans(any(ListResponsePlansRequest.class)))
+            .thenReturn(page("token1", "arn1", "arn2"), page("token2", "arn3", "arn4", "arn5"));
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+            proxy, ResourceHandlerRequest.<ResourceModel>builder().build(), new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels().stream().map(ResourceModel::getArn).collect(Collectors.toList()))
+            .containsExactly("arn1", "arn2", "arn3");
+        assertThat(ListNextToken.decode(response.getNextToken())).isEqualTo(new ListNextToken("token1", 1));
+        verify(sdkClient, times(2)).listResponsePlans(any(ListResponsePlansRequest.class));
+    }
+
+    @Test
+    public void handleRequest_ResumesMidPage() {
         final ListHandler handler = new ListHandler();
 
-        final ResourceModel model = ResourceModel.builder().build();
+        when(proxyClient.client().listResponsePlans(any(ListResponsePlansRequest.class)))
+            .thenReturn(page(null, "arn3", "arn4", "arn5"));
 
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
-            .desiredResourceState(model)
+            .nextToken(new ListNextToken("token1", 1).encode())
             .build();
 
-        ImmutableSet<String> arns = ImmutableSet.of("arn1", "arn2");
-        List<ResponsePlanSummary> responsePlanSummaries = arns.stream()
-            .map(x -> ResponsePlanSummary.builder().arn(x).build())
-            .collect(Collectors.toList());
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModels().stream().map(ResourceModel::getArn).collect(Collectors.toList()))
+            .containsExactly("arn4", "arn5");
+        assertThat(response.getNextToken()).isNull();
+
+        ArgumentCaptor<ListResponsePlansRequest> listRequest = ArgumentCaptor.forClass(ListResponsePlansRequest.class);
+        verify(sdkClient).listResponsePlans(listRequest.capture());
+        assertThat(listRequest.getValue().nextToken()).isEqualTo("token1");
+    }
 
+    @Test
+    public void handleRequest_TimeBudgetStopsAtPageBoundary() {
+        final ListHandler handler = new ListHandler(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC), Duration.ZERO, 1000);
+
+        final String nextToken = "abc123";
         when(proxyClient.client().listResponsePlans(any(ListResponsePlansRequest.class)))
-            .thenReturn(
-                ListResponsePlansResponse.builder()
-                    .responsePlanSummaries(responsePlanSummaries)
-                    .nextToken(nextToken)
-                    .build()
-            );
+            .thenReturn(page(nextToken, "arn1", "arn2"));
 
-        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(
+            proxy, ResourceHandlerRequest.<ResourceModel>builder().build(), new CallbackContext(), proxyClient, logger);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
         assertThat(response.getCallbackContext()).isNull();
-        assertThat(response.getCallbackDelaySeconds()).isEqualTo(0);
-        assertThat(response.getResourceModel()).isNull();
-        assertThat(response.getResourceModels()).isNotNull();
-        assertThat(response.getMessage()).isNull();
-        assertThat(response.getErrorCode()).isNull();
+        assertThat(response.getResourceModels().stream().map(ResourceModel::getArn).collect(Collectors.toSet()))
+            .containsExactly("arn1", "arn2");
+        assertThat(ListNextToken.decode(response.getNextToken())).isEqualTo(new ListNextToken(nextToken, 0));
+        verify(sdkClient).listResponsePlans(any(ListResponsePlansRequest.class));
+    }
 
-        assertThat(
-            response.getResourceModels().stream().map(ResourceModel::getArn).collect(Collectors.toSet())
-        ).containsAll(arns);
-        assertThat(response.getNextToken()).isEqualTo(nextToken);
+    @Test
+    public void handleRequest_PlainServiceToken() {
+        final ListHandler handler = new ListHandler();
+
+        when(proxyClient.client().listResponsePlans(any(ListResponsePlansRequest.class)))
+            .thenReturn(page(null, "arn1"));
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .nextToken("abc123")
+            .build();
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        assertThat(response.getResourceModels()).hasSize(1);
+        ArgumentCaptor<ListResponsePlansRequest> listRequest = ArgumentCaptor.forClass(ListResponsePlansRequest.class);
+        verify(sdkClient).listResponsePlans(listRequest.capture());
+        assertThat(listRequest.getValue().nextToken()).isEqualTo("abc123");
+    }
+
+    @Test
+    public void handleRequest_InvalidToken() {
+        final ListHandler handler = new ListHandler();
+
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .nextToken("rp1.not-base64!")
+            .build();
+
+        assertThatThrownBy(() -> handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger))
+            .isInstanceOf(CfnInvalidRequestException.class);
+    }
+
+    @Test
+    public void nextToken_RoundTrip() {
+        assertThat(ListNextToken.decode(new ListNextToken(null, 0).encode())).isEqualTo(new ListNextToken(null, 0));
+        assertThat(ListNextToken.decode(new ListNextToken("a:b/c", 42).encode())).isEqualTo(new ListNextToken("a:b/c", 42));
+        assertThat(ListNextToken.decode(null)).isEqualTo(new ListNextToken(null, 0));
+    }
+
+    @Test
+    public void parseBudget() {
+        assertThat(ListHandler.parseBudget(null, 1000)).isEqualTo(1000);
+        assertThat(ListHandler.parseBudget(" 250 ", 1000)).isEqualTo(250);
+        assertThat(ListHandler.parseBudget("0", 1000)).isEqualTo(1000);
+        assertThat(ListHandler.parseBudget("-5", 1000)).isEqualTo(1000);
+        assertThat(ListHandler.parseBudget("lots", 1000)).isEqualTo(1000);
+    }
+
+    private static ListResponsePlansResponse page(String nextToken, String... arns) {
+        return ListResponsePlansResponse.builder()
+            .responsePlanSummaries(Arrays.stream(arns).map(x -> ResponsePlanSummary.builder().arn(x).build()).collect(Collectors.toList()))
+            .nextToken(nextToken)
+            .build();
     }
 }
@@ -1,6 +1,7 @@
 package software.amazon.ssmincidents.responseplan;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +12,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
 import software.amazon.awssdk.services.ssmincidents.model.EmptyChatChannel;
 import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
-import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
-import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
 import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
 import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
 import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanRequest;
@@ -68,14 +67,7 @@ public class UpdateHandlerTest extends AbstractTestBase {
         final ResourceModel model = DESIRED_MODEL_BASE;
         final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
             .desiredResourceState(model)
-            .previousResourceState(ResourceModel.builder()
-                .arn(TestData.ARN)
-                .name(TestData.NAME)
-                .incidentTemplate(
-                    IncidentTemplate.builder().title(TestData.TITLE).impact(TestData.IMPACT).build()
-                )
-                .tags(TestData.TAGS_1)
-                .build())
+            .previousResourceState(TestData.MODEL_COMPLETE)
             .logicalResourceIdentifier(TestData.ARN)
             .build();
 
@@ -83,17 +75,13 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .thenReturn(UPDATE_RESPONSE_PLAN_RESPONSE);
 
         when(proxyClient.client().getResponsePlan(any(GetResponsePlanRequest.class)))
-            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_COMPLETE)
-            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_BASE);
-
-        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().build());
+            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_COMPLETE);
 
         final ProgressEvent<ResourceModel, CallbackContext> response = handler
             .handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
-        verify(sdkClient, times(2)).getResponsePlan(any(GetResponsePlanRequest.class));
-        verify(sdkClient, times(1)).updateResponsePlan(argThat((UpdateResponsePlanRequest x) -> assertUpdateResponsePlanRequestBase(x)));
+        verify(sdkClient, times(1)).getResponsePlan(any(GetResponsePlanRequest.class));
+        verify(sdkClient, times(1)).updateResponsePlan(argThat((UpdateResponsePlanRequest x) -> assertUpdateResponsePlanRequestBase(x) && assertUnchangedMembersOmitted(x)));
         verify(sdkClient, times(1)).untagResource(argThat((UntagResourceRequest x) -> x.resourceArn().equals(TestData.ARN) && x.tagKeys().equals(ImmutableList.of(TestData.TAG_KEY_1, TestData.TAG_KEY_2))));
 
         assertThat(response).isNotNull();
@@ -119,16 +107,12 @@ public class UpdateHandlerTest extends AbstractTestBase {
             .thenReturn(UPDATE_RESPONSE_PLAN_RESPONSE);
 
         when(proxyClient.client().getResponsePlan(any(GetResponsePlanRequest.class)))
-            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_BASE)
-            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_COMPLETE);
-
-        when(proxyClient.client().listTagsForResource(any(ListTagsForResourceRequest.class)))
-            .thenReturn(ListTagsForResourceResponse.builder().tags(TestData.API_TAGS_1).build());
+            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_BASE);
 
         final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
 
-        verify(sdkClient, times(2)).getResponsePlan(any(GetResponsePlanRequest.class));
-        verify(sdkClient, times(1)).updateResponsePlan(argThat((UpdateResponsePlanRequest x) -> assertUpdateResponsePlanRequestComplete(x)));
+        verify(sdkClient, times(1)).getResponsePlan(any(GetResponsePlanRequest.class));
+        verify(sdkClient, times(1)).updateResponsePlan(argThat((UpdateResponsePlanRequest x) -> assertUpdateResponsePlanRequestComplete(x) && assertUnchangedMembersOmitted(x)));
         verify(sdkClient, times(1)).tagResource(argThat((TagResourceRequest x) -> x.resourceArn().equals(TestData.ARN) && x.tags().equals(TestData.API_TAGS_1)));
         verify(sdkClient, times(1)).untagResource(argThat((UntagResourceRequest x) -> x.resourceArn().equals(TestData.ARN) && x.tagKeys().equals(ImmutableList.of(TestData.TAG_KEY_3))));
 
@@ -141,13 +125,102 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(response.getErrorCode()).isNull();
     }
 
+    @Test
+    public void handleRequest_OnlyTagsChanged() {
+        final UpdateHandler handler = new UpdateHandler();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder()
+                .arn(TestData.ARN)
+                .name(TestData.NAME)
+                .incidentTemplate(IncidentTemplate.builder().title(TestData.TITLE).impact(TestData.IMPACT).build())
+                .tags(TestData.TAGS_1)
+                .build())
+            .previousResourceState(ResourceModel.builder()
+                .arn(TestData.ARN)
+                .name(TestData.NAME)
+                .incidentTemplate(IncidentTemplate.builder().title(TestData.TITLE).impact(TestData.IMPACT).build())
+                .build())
+            .logicalResourceIdentifier(TestData.ARN)
+            .build();
+
+        when(proxyClient.client().getResponsePlan(any(GetResponsePlanRequest.class)))
+            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_BASE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // no updateResponsePlan call, verifyNoMoreInteractions would catch it
+        verify(sdkClient, times(1)).getResponsePlan(any(GetResponsePlanRequest.class));
+        verify(sdkClient, times(1)).tagResource(argThat((TagResourceRequest x) -> x.resourceArn().equals(TestData.ARN) && x.tags().equals(TestData.API_TAGS_1)));
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+        assertThat(response.getResourceModel().getTags()).isEqualTo(TestData.TAGS_1);
+    }
+
+    @Test
+    public void handleRequest_TagValueChanged_TaggedNotUntagged() {
+        final UpdateHandler handler = new UpdateHandler();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(ResourceModel.builder()
+                .arn(TestData.ARN)
+                .name(TestData.NAME)
+                .incidentTemplate(IncidentTemplate.builder().title(TestData.TITLE).impact(TestData.IMPACT).build())
+                .tags(ImmutableSet.of(new Tag(TestData.TAG_KEY_1, TestData.TAG_VALUE_3), new Tag(TestData.TAG_KEY_2, TestData.TAG_VALUE_2)))
+                .build())
+            .previousResourceState(ResourceModel.builder()
+                .arn(TestData.ARN)
+                .name(TestData.NAME)
+                .incidentTemplate(IncidentTemplate.builder().title(TestData.TITLE).impact(TestData.IMPACT).build())
+                .tags(TestData.TAGS_1)
+                .build())
+            .logicalResourceIdentifier(TestData.ARN)
+            .build();
+
+        when(proxyClient.client().getResponsePlan(any(GetResponsePlanRequest.class)))
+            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_BASE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        // only the changed tag is sent, and no untagResource call follows it
+        verify(sdkClient, times(1)).getResponsePlan(any(GetResponsePlanRequest.class));
+        verify(sdkClient, times(1)).tagResource(argThat((TagResourceRequest x) -> x.resourceArn().equals(TestData.ARN) && x.tags().equals(ImmutableMap.of(TestData.TAG_KEY_1, TestData.TAG_VALUE_3))));
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    @Test
+    public void handleRequest_WithoutPreviousStateSendsFullRequest() {
+        final UpdateHandler handler = new UpdateHandler();
+        final ResourceHandlerRequest<ResourceModel> request = ResourceHandlerRequest.<ResourceModel>builder()
+            .desiredResourceState(TestData.MODEL_COMPLETE)
+            .logicalResourceIdentifier(TestData.ARN)
+            .build();
+
+        when(proxyClient.client().updateResponsePlan(any(UpdateResponsePlanRequest.class)))
+            .thenReturn(UPDATE_RESPONSE_PLAN_RESPONSE);
+
+        when(proxyClient.client().getResponsePlan(any(GetResponsePlanRequest.class)))
+            .thenReturn(TestData.GET_RESPONSE_PLAN_RESPONSE_COMPLETE);
+
+        final ProgressEvent<ResourceModel, CallbackContext> response = handler.handleRequest(proxy, request, new CallbackContext(), proxyClient, logger);
+
+        verify(sdkClient, times(1)).getResponsePlan(any(GetResponsePlanRequest.class));
+        verify(sdkClient, times(1)).updateResponsePlan(argThat((UpdateResponsePlanRequest x) -> assertUpdateResponsePlanRequestFull(x)));
+        verify(sdkClient, times(1)).tagResource(argThat((TagResourceRequest x) -> x.resourceArn().equals(TestData.ARN) && x.tags().equals(TestData.API_TAGS_1)));
+
+        assertThat(response.getStatus()).isEqualTo(OperationStatus.SUCCESS);
+    }
+
+    private boolean assertUpdateResponsePlanRequestFull(UpdateResponsePlanRequest updateResponsePlanRequest) {
+        assertThat(updateResponsePlanRequest.displayName()).isEqualTo(TestData.DISPLAY_NAME);
+        assertThat(updateResponsePlanRequest.incidentTemplateTitle()).isEqualTo(TestData.TITLE);
+        assertThat(updateResponsePlanRequest.incidentTemplateImpact()).isEqualTo(TestData.IMPACT);
+        return assertUpdateResponsePlanRequestComplete(updateResponsePlanRequest);
+    }
+
     private boolean assertUpdateResponsePlanRequestComplete(UpdateResponsePlanRequest updateResponsePlanRequest) {
         assertThat(updateResponsePlanRequest.arn()).isEqualTo(TestData.ARN);
-        assertThat(updateResponsePlanRequest.displayName()).isEqualTo(TestData.DISPLAY_NAME);
         assertThat(updateResponsePlanRequest.actions()).containsExactlyInAnyOrder(TestData.API_ACTION_1);
         assertThat(updateResponsePlanRequest.engagements()).containsExactlyInAnyOrder(TestData.CONTACT, TestData.ESCALATION);
-        assertThat(updateResponsePlanRequest.incidentTemplateTitle()).isEqualTo(TestData.TITLE);
-        assertThat(updateResponsePlanRequest.incidentTemplateImpact()).isEqualTo(TestData.IMPACT);
         assertThat(updateResponsePlanRequest.incidentTemplateSummary()).isEqualTo(TestData.SUMMARY);
         assertThat(updateResponsePlanRequest.incidentTemplateDedupeString()).isEqualTo(TestData.DEDUP);
         assertThat(updateResponsePlanRequest.incidentTemplateNotificationTargets()).containsExactlyInAnyOrder(TestData.API_NOTIFICATION_TARGET_ITEM_1, TestData.API_NOTIFICATION_TARGET_ITEM_2);
@@ -161,16 +234,22 @@ public class UpdateHandlerTest extends AbstractTestBase {
         assertThat(updateResponsePlanRequest.displayName()).isNull();
         assertThat(updateResponsePlanRequest.actions()).isEmpty();
         assertThat(updateResponsePlanRequest.engagements()).isEmpty();
-        assertThat(updateResponsePlanRequest.incidentTemplateTitle()).isEqualTo(TestData.TITLE);
-        assertThat(updateResponsePlanRequest.incidentTemplateImpact()).isEqualTo(TestData.IMPACT);
         assertThat(updateResponsePlanRequest.incidentTemplateSummary()).isEmpty();
         assertThat(updateResponsePlanRequest.incidentTemplateDedupeString()).isEmpty();
         assertThat(updateResponsePlanRequest.incidentTemplateNotificationTargets()).isEmpty();
+        assertThat(updateResponsePlanRequest.hasIncidentTemplateTags()).isTrue();
         assertThat(updateResponsePlanRequest.incidentTemplateTags()).isEmpty();
         assertThat(updateResponsePlanRequest.chatChannel().empty()).isEqualTo(EmptyChatChannel.builder().build());
         return true;
     }
 
+    private boolean assertUnchangedMembersOmitted(UpdateResponsePlanRequest updateResponsePlanRequest) {
+        assertThat(updateResponsePlanRequest.displayName()).isNull();
+        assertThat(updateResponsePlanRequest.incidentTemplateTitle()).isNull();
+        assertThat(updateResponsePlanRequest.incidentTemplateImpact()).isNull();
+        return true;
+    }
+
     public static final ResourceModel DESIRED_MODEL_BASE = ResourceModel.builder()
         .arn(TestData.ARN)
         .name(TestData.NAME)
@@ -0,0 +1,131 @@
+package software.amazon.ssmincidents.responseplan.fake;
+
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsAsyncClient;
+import software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-memory stand-in for the response plan APIs of SSM Incidents behind the async client.
+ * The state is the one of the {@link InMemorySsmIncidentsClient} given, calls act on it right away and their
+ * future completes once the call latency passed, without a thread blocking for it. Like the SDK, failures
+ * complete the future exceptionally.
+ */
+public class InMemorySsmIncidentsAsyncClient implements SsmIncidentsAsyncClient {
+
+    private static final ScheduledExecutorService RESPONSES = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-ssm-incidents-responses");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final InMemorySsmIncidentsClient delegate;
+
+    private volatile Duration callLatency = Duration.ZERO;
+
+    /**
+     * @param delegate holds the state, its own call latency blocks the caller and should be left at zero
+     */
+    public InMemorySsmIncidentsAsyncClient(InMemorySsmIncidentsClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @param callLatency wall clock time until the future of every call completes, to simulate the network round trip
+     */
+    public InMemorySsmIncidentsAsyncClient withCallLatency(Duration callLatency) {
+        this.callLatency = callLatency;
+        return this;
+    }
+
+    public InMemorySsmIncidentsClient delegate() {
+        return delegate;
+    }
+
+    @Override
+    public CompletableFuture<CreateResponsePlanResponse> createResponsePlan(CreateResponsePlanRequest request) {
+        return respond(() -> delegate.createResponsePlan(request));
+    }
+
+    @Override
+    public CompletableFuture<GetResponsePlanResponse> getResponsePlan(GetResponsePlanRequest request) {
+        return respond(() -> delegate.getResponsePlan(request));
+    }
+
+    @Override
+    public CompletableFuture<UpdateResponsePlanResponse> updateResponsePlan(UpdateResponsePlanRequest request) {
+        return respond(() -> delegate.updateResponsePlan(request));
+    }
+
+    @Override
+    public CompletableFuture<DeleteResponsePlanResponse> deleteResponsePlan(DeleteResponsePlanRequest request) {
+        return respond(() -> delegate.deleteResponsePlan(request));
+    }
+
+    @Override
+    public CompletableFuture<ListResponsePlansResponse> listResponsePlans(ListResponsePlansRequest request) {
+        return respond(() -> delegate.listResponsePlans(request));
+    }
+
+    @Override
+    public CompletableFuture<ListTagsForResourceResponse> listTagsForResource(ListTagsForResourceRequest request) {
+        return respond(() -> delegate.listTagsForResource(request));
+    }
+
+    @Override
+    public CompletableFuture<TagResourceResponse> tagResource(TagResourceRequest request) {
+        return respond(() -> delegate.tagResource(request));
+    }
+
+    @Override
+    public CompletableFuture<UntagResourceResponse> untagResource(UntagResourceRequest request) {
+        return respond(() -> delegate.untagResource(request));
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private <T> CompletableFuture<T> respond(Supplier<T> call) {
+        CompletableFuture<T> response = new CompletableFuture<>();
+        Runnable complete;
+        try {
+            T result = call.get();
+            complete = () -> response.complete(result);
+        } catch (RuntimeException e) {
+            complete = () -> response.completeExceptionally(e);
+        }
+        Duration latency = callLatency;
+        if (latency.isZero()) {
+            complete.run();
+        } else {
+            RESPONSES.schedule(complete, latency.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,289 @@
+package software.amazon.ssmincidents.responseplan.fake;
+
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
+import software.amazon.awssdk.services.ssmincidents.model.ConflictException;
+import software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.IncidentTemplate;
+import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssmincidents.model.ResponsePlanSummary;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.TagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ThrottlingException;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceResponse;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for the response plan APIs of SSM Incidents, so handler chains can be driven
+ * without network. Response plans have no status, writes are visible to the next call.
+ * Calls are synchronized, concurrent handler invocations see one consistent state.
+ */
+public class InMemorySsmIncidentsClient implements SsmIncidentsClient {
+
+    private static final String ARN_PREFIX = "arn:aws:ssm-incidents::111122223333:response-plan/";
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final Map<String, GetResponsePlanResponse> responsePlans = new LinkedHashMap<>();
+
+    private final Map<String, Map<String, String>> tags = new HashMap<>();
+
+    private final Map<String, String> arnsByClientToken = new HashMap<>();
+
+    private final Map<String, AtomicInteger> callCounts = new ConcurrentHashMap<>();
+
+    private Duration callLatency = Duration.ZERO;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    private double throttleRate;
+
+    private Random random = new Random(0);
+
+    /**
+     * @param callLatency wall clock time every call blocks for, to simulate the network round trip
+     */
+    public synchronized InMemorySsmIncidentsClient withCallLatency(Duration callLatency) {
+        this.callLatency = callLatency;
+        return this;
+    }
+
+    /**
+     * @param pageSize number of summaries listed per page when the request does not ask for fewer
+     */
+    public synchronized InMemorySsmIncidentsClient withPageSize(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * @param throttleRate share of calls, between 0 and 1, failing with a ThrottlingException
+     * @param seed seed of the random choice, so runs are repeatable
+     */
+    public synchronized InMemorySsmIncidentsClient withThrottling(double throttleRate, long seed) {
+        this.throttleRate = throttleRate;
+        this.random = new Random(seed);
+        return this;
+    }
+
+    /**
+     * @param operation name of the API, e.g. "GetResponsePlan"
+     * @return number of calls made to it, including throttled ones
+     */
+    public int callCount(String operation) {
+        AtomicInteger count = callCounts.get(operation);
+        return count == null ? 0 : count.get();
+    }
+
+    @Override
+    public CreateResponsePlanResponse createResponsePlan(CreateResponsePlanRequest request) {
+        call("CreateResponsePlan");
+        synchronized (this) {
+            if (request.clientToken() != null && arnsByClientToken.containsKey(request.clientToken())) {
+                return CreateResponsePlanResponse.builder().arn(arnsByClientToken.get(request.clientToken())).build();
+            }
+            if (request.name() == null || request.incidentTemplate() == null) {
+                throw validation("name and incidentTemplate are required");
+            }
+            String arn = ARN_PREFIX + request.name();
+            if (responsePlans.containsKey(arn)) {
+                throw ConflictException.builder().message("Response plan " + request.name() + " already exists").build();
+            }
+            responsePlans.put(arn, GetResponsePlanResponse.builder()
+                .arn(arn)
+                .name(request.name())
+                .displayName(request.displayName())
+                .incidentTemplate(request.incidentTemplate())
+                .chatChannel(request.chatChannel())
+                .engagements(request.engagements())
+                .actions(request.actions())
+                .build());
+            tags.put(arn, request.tags() == null ? new HashMap<>() : new HashMap<>(request.tags()));
+            if (request.clientToken() != null) {
+                arnsByClientToken.put(request.clientToken(), arn);
+            }
+            return CreateResponsePlanResponse.builder().arn(arn).build();
+        }
+    }
+
+    @Override
+    public GetResponsePlanResponse getResponsePlan(GetResponsePlanRequest request) {
+        call("GetResponsePlan");
+        synchronized (this) {
+            return find(request.arn());
+        }
+    }
+
+    @Override
+    public UpdateResponsePlanResponse updateResponsePlan(UpdateResponsePlanRequest request) {
+        call("UpdateResponsePlan");
+        synchronized (this) {
+            GetResponsePlanResponse responsePlan = find(request.arn());
+            GetResponsePlanResponse.Builder updated = responsePlan.toBuilder();
+            // members which are not set in the request keep their value
+            if (request.displayName() != null) {
+                updated.displayName(request.displayName());
+            }
+            if (request.chatChannel() != null) {
+                updated.chatChannel(request.chatChannel());
+            }
+            if (request.hasEngagements()) {
+                updated.engagements(request.engagements());
+            }
+            if (request.hasActions()) {
+                updated.actions(request.actions());
+            }
+            IncidentTemplate.Builder template = responsePlan.incidentTemplate().toBuilder();
+            if (request.incidentTemplateTitle() != null) {
+                template.title(request.incidentTemplateTitle());
+            }
+            if (request.incidentTemplateImpact() != null) {
+                template.impact(request.incidentTemplateImpact());
+            }
+            if (request.incidentTemplateSummary() != null) {
+                template.summary(request.incidentTemplateSummary());
+            }
+            if (request.incidentTemplateDedupeString() != null) {
+                template.dedupeString(request.incidentTemplateDedupeString());
+            }
+            if (request.hasIncidentTemplateNotificationTargets()) {
+                template.notificationTargets(request.incidentTemplateNotificationTargets());
+            }
+            if (request.hasIncidentTemplateTags()) {
+                template.incidentTags(request.incidentTemplateTags());
+            }
+            responsePlans.put(request.arn(), updated.incidentTemplate(template.build()).build());
+            return UpdateResponsePlanResponse.builder().build();
+        }
+    }
+
+    @Override
+    public DeleteResponsePlanResponse deleteResponsePlan(DeleteResponsePlanRequest request) {
+        call("DeleteResponsePlan");
+        synchronized (this) {
+            find(request.arn());
+            responsePlans.remove(request.arn());
+            tags.remove(request.arn());
+            return DeleteResponsePlanResponse.builder().build();
+        }
+    }
+
+    @Override
+    public ListResponsePlansResponse listResponsePlans(ListResponsePlansRequest request) {
+        call("ListResponsePlans");
+        synchronized (this) {
+            List<GetResponsePlanResponse> plans = new ArrayList<>(responsePlans.values());
+            int start;
+            try {
+                start = request.nextToken() == null ? 0 : Integer.parseInt(request.nextToken());
+            } catch (NumberFormatException e) {
+                throw validation("Invalid nextToken");
+            }
+            int size = request.maxResults() == null ? pageSize : Math.min(request.maxResults(), pageSize);
+            int end = Math.min(start + size, plans.size());
+            List<ResponsePlanSummary> summaries = new ArrayList<>();
+            for (int i = Math.min(start, end); i < end; i++) {
+                GetResponsePlanResponse plan = plans.get(i);
+                summaries.add(ResponsePlanSummary.builder().arn(plan.arn()).name(plan.name()).displayName(plan.displayName()).build());
+            }
+            return ListResponsePlansResponse.builder()
+                .responsePlanSummaries(summaries)
+                .nextToken(end < plans.size() ? Integer.toString(end) : null)
+                .build();
+        }
+    }
+
+    @Override
+    public ListTagsForResourceResponse listTagsForResource(ListTagsForResourceRequest request) {
+        call("ListTagsForResource");
+        synchronized (this) {
+            find(request.resourceArn());
+            return ListTagsForResourceResponse.builder().tags(new HashMap<>(tags.get(request.resourceArn()))).build();
+        }
+    }
+
+    @Override
+    public TagResourceResponse tagResource(TagResourceRequest request) {
+        call("TagResource");
+        synchronized (this) {
+            find(request.resourceArn());
+            tags.get(request.resourceArn()).putAll(request.tags());
+            return TagResourceResponse.builder().build();
+        }
+    }
+
+    @Override
+    public UntagResourceResponse untagResource(UntagResourceRequest request) {
+        call("UntagResource");
+        synchronized (this) {
+            find(request.resourceArn());
+            tags.get(request.resourceArn()).keySet().removeAll(request.tagKeys());
+            return UntagResourceResponse.builder().build();
+        }
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private void call(String operation) {
+        callCounts.computeIfAbsent(operation, key -> new AtomicInteger()).incrementAndGet();
+        if (!callLatency.isZero()) {
+            try {
+                Thread.sleep(callLatency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        boolean throttled;
+        synchronized (this) {
+            throttled = throttleRate > 0 && random.nextDouble() < throttleRate;
+        }
+        if (throttled) {
+            throw ThrottlingException.builder()
+                .message("Rate exceeded")
+                .statusCode(429)
+                .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").serviceName(SERVICE_NAME).build())
+                .build();
+        }
+    }
+
+    private GetResponsePlanResponse find(String arn) {
+        GetResponsePlanResponse responsePlan = responsePlans.get(arn);
+        if (responsePlan == null) {
+            throw ResourceNotFoundException.builder().message("Response plan " + arn + " does not exist").build();
+        }
+        return responsePlan;
+    }
+
+    private static ValidationException validation(String message) {
+        return ValidationException.builder().message(message).build();
+    }
+}
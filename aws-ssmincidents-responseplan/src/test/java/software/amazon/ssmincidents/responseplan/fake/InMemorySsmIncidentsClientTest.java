@@ -0,0 +1,121 @@
+package software.amazon.ssmincidents.responseplan.fake;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.model.ConflictException;
+import software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.DeleteResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.IncidentTemplate;
+import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListTagsForResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.ssmincidents.model.ResponsePlanSummary;
+import software.amazon.awssdk.services.ssmincidents.model.ThrottlingException;
+import software.amazon.awssdk.services.ssmincidents.model.UntagResourceRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class InMemorySsmIncidentsClientTest {
+
+    private InMemorySsmIncidentsClient client;
+
+    @BeforeEach
+    public void setup() {
+        client = new InMemorySsmIncidentsClient();
+    }
+
+    @Test
+    public void createUpdateDelete() {
+        String arn = create("plan", "token");
+        assertThat(create("plan", "token")).isEqualTo(arn);
+        assertThatThrownBy(() -> create("plan", "other-token")).isInstanceOf(ConflictException.class);
+
+        client.updateResponsePlan(UpdateResponsePlanRequest.builder()
+            .arn(arn)
+            .displayName("Plan")
+            .incidentTemplateImpact(1)
+            .incidentTemplateTags(ImmutableMap.of())
+            .build());
+        GetResponsePlanResponse updated = get(arn);
+        assertThat(updated.displayName()).isEqualTo("Plan");
+        assertThat(updated.incidentTemplate().title()).isEqualTo("title");
+        assertThat(updated.incidentTemplate().impact()).isEqualTo(1);
+        assertThat(updated.incidentTemplate().incidentTags()).isEmpty();
+        assertThat(updated.engagements()).containsExactly("contact");
+
+        client.untagResource(UntagResourceRequest.builder().resourceArn(arn).tagKeys("team").build());
+        assertThat(client.listTagsForResource(ListTagsForResourceRequest.builder().resourceArn(arn).build()).tags()).isEmpty();
+
+        client.deleteResponsePlan(DeleteResponsePlanRequest.builder().arn(arn).build());
+        assertThatThrownBy(() -> get(arn)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> client.deleteResponsePlan(DeleteResponsePlanRequest.builder().arn(arn).build()))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    public void listsInPages() {
+        client.withPageSize(4);
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            created.add(create("plan-" + i, null));
+        }
+
+        List<String> listed = new ArrayList<>();
+        String nextToken = null;
+        int pages = 0;
+        do {
+            ListResponsePlansResponse page = client.listResponsePlans(
+                ListResponsePlansRequest.builder().nextToken(nextToken).maxResults(100).build());
+            page.responsePlanSummaries().stream().map(ResponsePlanSummary::arn).forEach(listed::add);
+            nextToken = page.nextToken();
+            pages++;
+        } while (nextToken != null);
+
+        assertThat(listed).isEqualTo(created);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    public void injectsThrottling() {
+        client.withThrottling(0.5, 42);
+        int throttled = 0;
+        for (int i = 0; i < 1000; i++) {
+            try {
+                client.listResponsePlans(ListResponsePlansRequest.builder().build());
+            } catch (ThrottlingException e) {
+                assertThat(e.statusCode()).isEqualTo(429);
+                throttled++;
+            }
+        }
+        assertThat(throttled).isBetween(400, 600);
+        assertThat(client.callCount("ListResponsePlans")).isEqualTo(1000);
+    }
+
+    private String create(String name, String clientToken) {
+        return client.createResponsePlan(CreateResponsePlanRequest.builder()
+            .clientToken(clientToken)
+            .name(name)
+            .incidentTemplate(IncidentTemplate.builder()
+                .title("title")
+                .impact(3)
+                .incidentTags(ImmutableMap.of("service", "payments"))
+                .build())
+            .engagements(ImmutableList.of("contact"))
+            .tags(ImmutableMap.of("team", "incident-response"))
+            .build()).arn();
+    }
+
+    private GetResponsePlanResponse get(String arn) {
+        return client.getResponsePlan(GetResponsePlanRequest.builder().arn(arn).build());
+    }
+}
@@ -0,0 +1,112 @@
+package software.amazon.ssmincidents.responseplan.translators;
+
+import com.google.common.base.Converter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.ssmincidents.model.CreateResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.UpdateResponsePlanRequest;
+import software.amazon.ssmincidents.responseplan.ResourceModel;
+import software.amazon.ssmincidents.responseplan.TestData;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConversionCacheTest {
+
+    private static class CountingConverter extends Converter<Integer, String> {
+
+        private int forward;
+
+        private int backward;
+
+        @Override
+        protected String doForward(Integer integer) {
+            forward++;
+            return String.valueOf(integer);
+        }
+
+        @Override
+        protected Integer doBackward(String string) {
+            backward++;
+            return Integer.valueOf(string);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ConversionCache.unbind();
+    }
+
+    @Test
+    public void noCacheBound_ConvertsEveryTime() {
+        CountingConverter counting = new CountingConverter();
+        Converter<Integer, String> converter = new CachingConverter<>(counting);
+
+        converter.reverse().convert("1");
+        converter.reverse().convert("1");
+
+        assertThat(counting.backward).isEqualTo(2);
+        assertThat(ConversionCache.current()).isEmpty();
+    }
+
+    @Test
+    public void equalInputs_ConvertedOnce() {
+        CountingConverter counting = new CountingConverter();
+        Converter<Integer, String> converter = new CachingConverter<>(counting);
+        ConversionCache cache = new ConversionCache();
+        ConversionCache.bind(cache);
+
+        assertThat(converter.reverse().convert("12")).isEqualTo(12);
+        assertThat(converter.reverse().convert(new String("12"))).isEqualTo(12);
+        assertThat(converter.reverse().convert("13")).isEqualTo(13);
+
+        assertThat(counting.backward).isEqualTo(2);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void conversionsKeptApart_ForwardNotCached() {
+        CountingConverter first = new CountingConverter();
+        CountingConverter second = new CountingConverter();
+        Converter<Integer, String> firstConverter = new CachingConverter<>(first);
+        Converter<Integer, String> secondConverter = new CachingConverter<>(second);
+        ConversionCache.bind(new ConversionCache());
+
+        firstConverter.reverse().convert("1");
+        secondConverter.reverse().convert("1");
+        firstConverter.convert(1);
+        firstConverter.convert(1);
+
+        assertThat(first.backward).isEqualTo(1);
+        assertThat(second.backward).isEqualTo(1);
+        assertThat(first.forward).isEqualTo(2);
+    }
+
+    @Test
+    public void writeAfterUpdate_SubTreesConvertedOnce() {
+        ResourceModel previous = ResourceModel.builder()
+            .arn(TestData.ARN)
+            .name(TestData.NAME)
+            .displayName("previous")
+            .chatChannel(TestData.CHAT_CHANNEL)
+            .incidentTemplate(TestData.MODEL_COMPLETE.getIncidentTemplate())
+            .actions(TestData.MODEL_COMPLETE.getActions())
+            .engagements(TestData.MODEL_COMPLETE.getEngagements())
+            .build();
+        UpdateResponsePlanRequest uncachedUpdate = TranslatorFactory.updateResponsePlanConverter().reverse().convert(TestData.MODEL_COMPLETE);
+        CreateResponsePlanRequest uncachedCreate = TranslatorFactory.createResponsePlanConverter().reverse().convert(TestData.MODEL_COMPLETE);
+        ConversionCache cache = new ConversionCache();
+        ConversionCache.bind(cache);
+
+        // as in UpdateHandler: previous and desired model, then the written model
+        TranslatorFactory.updateResponsePlanConverter().reverse().convert(previous);
+        UpdateResponsePlanRequest update = TranslatorFactory.updateResponsePlanConverter().reverse().convert(TestData.MODEL_COMPLETE);
+        int missesAfterUpdate = cache.getMisses();
+        CreateResponsePlanRequest create = TranslatorFactory.createResponsePlanConverter().reverse().convert(TestData.MODEL_COMPLETE);
+
+        assertThat(update).isEqualTo(uncachedUpdate);
+        assertThat(create).isEqualTo(uncachedCreate);
+        assertThat(cache.getHits()).isGreaterThan(0);
+        assertThat(cache.getMisses()).isEqualTo(missesAfterUpdate);
+    }
+}
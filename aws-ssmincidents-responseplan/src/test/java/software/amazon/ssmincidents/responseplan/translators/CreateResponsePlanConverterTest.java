@@ -81,7 +81,7 @@ class CreateResponsePlanConverterTest {
 
     @BeforeEach
     void setUp() {
-        createResponsePlanConverter = TranslatorFactory.CREATE_RESPONSEPLAN_CONVERTER;
+        createResponsePlanConverter = TranslatorFactory.createResponsePlanConverter();
     }
 
     @ParameterizedTest
@@ -105,7 +105,7 @@ class GetResponsePlanConverterTest {
 
     @BeforeEach
     void setUp() {
-        getResponsePlanConverter = TranslatorFactory.GET_RESPONSEPLAN_CONVERTER;
+        getResponsePlanConverter = TranslatorFactory.getResponsePlanConverter();
     }
 
     @ParameterizedTest
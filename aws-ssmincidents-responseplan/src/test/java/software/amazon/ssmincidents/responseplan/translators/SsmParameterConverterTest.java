@@ -6,12 +6,14 @@ import com.google.common.base.Converter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -58,4 +60,32 @@ class SsmParameterConverterTest {
     void doBackward(Map<String, List<String>> expectedListMap, Set<SsmParameter> ssmParameters) {
         assertThat(converter.reverse().convert(ssmParameters)).usingRecursiveComparison().isEqualTo(expectedListMap);
     }
+
+    @Test
+    void doBackward_DuplicateKeys_ValuesMerged() {
+        List<String> first = Arrays.asList("a", "b");
+        List<String> second = Arrays.asList("c");
+        Set<SsmParameter> ssmParameters = ImmutableSet.of(
+            SsmParameter.builder().key("key").values(first).build(),
+            SsmParameter.builder().key("key").values(second).build(),
+            SsmParameter.builder().key("other").values(Arrays.asList("d")).build()
+        );
+
+        Map<String, List<String>> result = converter.reverse().convert(ssmParameters);
+
+        assertThat(result).containsOnlyKeys("key", "other");
+        assertThat(result.get("key")).containsExactly("a", "b", "c");
+        assertThat(result.get("other")).containsExactly("d");
+        assertThat(first).containsExactly("a", "b");
+        assertThat(second).containsExactly("c");
+    }
+
+    @Test
+    void doBackward_EmptyValues_KeyOmitted() {
+        Set<SsmParameter> ssmParameters = ImmutableSet.of(
+            SsmParameter.builder().key("key").values(Arrays.asList()).build()
+        );
+
+        assertThat(converter.reverse().convert(ssmParameters)).isEmpty();
+    }
 }
@@ -215,7 +215,7 @@ class UpdateResponsePlanConverterTest {
 
     @BeforeEach
     void setUp() {
-        updateResponsePlanConverter = TranslatorFactory.UPDATE_RESPONSEPLAN_CONVERTER;
+        updateResponsePlanConverter = TranslatorFactory.updateResponsePlanConverter();
     }
 
     @ParameterizedTest
@@ -0,0 +1,120 @@
+package software.amazon.ssmincidents.responseplan.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.ssmincidents.SsmIncidentsClient;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanRequest;
+import software.amazon.awssdk.services.ssmincidents.model.GetResponsePlanResponse;
+import software.amazon.awssdk.services.ssmincidents.model.ListResponsePlansRequest;
+import software.amazon.awssdk.services.ssmincidents.model.ThrottlingException;
+import software.amazon.awssdk.services.ssmincidents.model.ValidationException;
+import software.amazon.awssdk.services.ssmincidents.paginators.ListResponsePlansIterable;
+import software.amazon.cloudformation.proxy.ProxyClient;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MeteredProxyClientTest {
+
+    private static final GetResponsePlanRequest REQUEST = GetResponsePlanRequest.builder().arn("arn").build();
+
+    @Mock
+    private ProxyClient<SsmIncidentsClient> delegate;
+
+    @Mock
+    private SsmIncidentsClient client;
+
+    private HandlerMetrics metrics;
+
+    private MeteredProxyClient<SsmIncidentsClient> proxyClient;
+
+    @BeforeEach
+    public void setup() {
+        metrics = new HandlerMetrics("TestHandler");
+        proxyClient = new MeteredProxyClient<>(delegate, metrics);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2_CountsCallsAndThrottles() {
+        GetResponsePlanResponse response = GetResponsePlanResponse.builder().build();
+        when(delegate.injectCredentialsAndInvokeV2(eq(REQUEST), any()))
+            .thenReturn(response)
+            .thenThrow(throttling())
+            .thenThrow(ValidationException.builder().message("invalid").build());
+
+        assertThat(proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getResponsePlan)).isSameAs(response);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getResponsePlan))
+            .isInstanceOf(ThrottlingException.class);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2(REQUEST, client::getResponsePlan))
+            .isInstanceOf(ValidationException.class);
+
+        assertThat(metrics.getCount(HandlerMetrics.API_CALLS)).isEqualTo(3L);
+        assertThat(metrics.getCount(HandlerMetrics.THROTTLES)).isEqualTo(1L);
+    }
+
+    @Test
+    public void injectCredentialsAndInvokeV2Async_CountsCallsAndThrottles() {
+        CompletableFuture<GetResponsePlanResponse> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new CompletionException(throttling()));
+        when(delegate.injectCredentialsAndInvokeV2Async(eq(REQUEST), any()))
+            .thenReturn(CompletableFuture.completedFuture(GetResponsePlanResponse.builder().build()))
+            .thenReturn(failed);
+        Function<GetResponsePlanRequest, CompletableFuture<GetResponsePlanResponse>> call = request -> null;
+
+        assertThat(proxyClient.injectCredentialsAndInvokeV2Async(REQUEST, call)).isCompleted();
+        assertThat(proxyClient.injectCredentialsAndInvokeV2Async(REQUEST, call)).isCompletedExceptionally();
+
+        assertThat(metrics.getCount(HandlerMetrics.API_CALLS)).isEqualTo(2L);
+        assertThat(metrics.getCount(HandlerMetrics.THROTTLES)).isEqualTo(1L);
+    }
+
+    @Test
+    public void otherCalls_Counted() {
+        ListResponsePlansRequest listRequest = ListResponsePlansRequest.builder().build();
+        ListResponsePlansIterable iterable = new ListResponsePlansIterable(client, listRequest);
+        GetResponsePlanResponse response = GetResponsePlanResponse.builder().build();
+        ResponseInputStream<GetResponsePlanResponse> stream =
+            new ResponseInputStream<>(response, AbortableInputStream.create(new ByteArrayInputStream(new byte[0])));
+        ResponseBytes<GetResponsePlanResponse> bytes = ResponseBytes.fromByteArray(response, new byte[0]);
+        when(delegate.injectCredentialsAndInvokeIterableV2(eq(listRequest), any())).thenReturn(iterable);
+        when(delegate.injectCredentialsAndInvokeV2InputStream(eq(REQUEST), any())).thenReturn(stream);
+        when(delegate.injectCredentialsAndInvokeV2Bytes(eq(REQUEST), any()))
+            .thenReturn(bytes)
+            .thenThrow(throttling());
+        when(delegate.client()).thenReturn(client);
+
+        assertThat(proxyClient.injectCredentialsAndInvokeIterableV2(listRequest, client::listResponsePlansPaginator))
+            .isSameAs(iterable);
+        assertThat(proxyClient.injectCredentialsAndInvokeV2InputStream(REQUEST, request -> stream)).isSameAs(stream);
+        assertThat(proxyClient.injectCredentialsAndInvokeV2Bytes(REQUEST, request -> bytes)).isSameAs(bytes);
+        assertThatThrownBy(() -> proxyClient.injectCredentialsAndInvokeV2Bytes(REQUEST, request -> bytes))
+            .isInstanceOf(ThrottlingException.class);
+        assertThat(proxyClient.client()).isSameAs(client);
+
+        assertThat(metrics.getCount(HandlerMetrics.API_CALLS)).isEqualTo(4L);
+        assertThat(metrics.getCount(HandlerMetrics.THROTTLES)).isEqualTo(1L);
+    }
+
+    private static ThrottlingException throttling() {
+        return ThrottlingException.builder()
+            .statusCode(400)
+            .awsErrorDetails(AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+            .build();
+    }
+}
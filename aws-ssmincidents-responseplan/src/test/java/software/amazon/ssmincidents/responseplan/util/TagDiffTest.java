@@ -0,0 +1,84 @@
+package software.amazon.ssmincidents.responseplan.util;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TagDiffTest {
+
+    @Test
+    public void newChangedAndRemovedTags() {
+        TagDiff diff = diff(
+            tags("unchanged", "1", "changed", "old", "removed", "3"),
+            tags("unchanged", "1", "changed", "new", "added", "4"));
+
+        assertThat(diff.getTagsToAdd()).isEqualTo(ImmutableMap.of("changed", "new", "added", "4"));
+        assertThat(diff.getTagKeysToRemove()).containsExactly("removed");
+        assertThat(diff.hasDuplicateKeys()).isFalse();
+    }
+
+    @Test
+    public void changedValue_NotUntagged() {
+        TagDiff diff = diff(tags("key", "old"), tags("key", "new"));
+
+        assertThat(diff.getTagsToAdd()).isEqualTo(ImmutableMap.of("key", "new"));
+        assertThat(diff.getTagKeysToRemove()).isEmpty();
+    }
+
+    @Test
+    public void nullStates_TreatedAsEmpty() {
+        assertThat(diff(null, null).getTagsToAdd()).isEmpty();
+        assertThat(diff(null, null).getTagKeysToRemove()).isEmpty();
+        assertThat(diff(null, tags("key", "value")).getTagsToAdd()).isEqualTo(ImmutableMap.of("key", "value"));
+        assertThat(diff(tags("key", "value"), null).getTagKeysToRemove()).containsExactly("key");
+    }
+
+    @Test
+    public void duplicateDesiredKeys_Reported() {
+        TagDiff diff = diff(tags(), tags("key", "a", "key", "b", "other", "c"));
+
+        assertThat(diff.hasDuplicateKeys()).isTrue();
+        assertThat(diff.getDuplicateKeys()).containsExactly("key");
+    }
+
+    @Test
+    public void duplicatePreviousKeys_NotReported() {
+        TagDiff diff = diff(tags("key", "a", "key", "b"), tags());
+
+        assertThat(diff.hasDuplicateKeys()).isFalse();
+        assertThat(diff.getTagKeysToRemove()).containsExactly("key");
+    }
+
+    @Test
+    public void toMap_CollectsDuplicates() {
+        Set<String> duplicateKeys = new HashSet<>();
+
+        Map<String, String> tagMap = TagDiff.toMap(tags("a", "1", "b", "2"), tag -> tag.getKey(), tag -> tag.getValue(), duplicateKeys);
+
+        assertThat(tagMap).isEqualTo(ImmutableMap.of("a", "1", "b", "2"));
+        assertThat(duplicateKeys).isEmpty();
+    }
+
+    private static TagDiff diff(Collection<Entry<String, String>> previous, Collection<Entry<String, String>> desired) {
+        return TagDiff.between(previous, desired, tag -> tag.getKey(), tag -> tag.getValue());
+    }
+
+    // a list, so that a key can be given more than one value
+    private static List<Entry<String, String>> tags(String... keysAndValues) {
+        List<Entry<String, String>> tags = new ArrayList<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            tags.add(new SimpleEntry<>(keysAndValues[i], keysAndValues[i + 1]));
+        }
+        return tags;
+    }
+}
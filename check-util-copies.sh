@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Both resource type modules are built and submitted on their own (see buildspec.yml), so the util classes they
+# have in common are copied rather than shared through a third module. Fails when the copies drifted apart: apart
+# from the package name and the metrics namespace they have to be identical.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+COPIES="
+main/java/software/amazon/ssmincidents/MODULE/util/HandlerMetrics.java
+main/java/software/amazon/ssmincidents/MODULE/util/MeteredProxyClient.java
+main/java/software/amazon/ssmincidents/MODULE/util/ParallelCalls.java
+main/java/software/amazon/ssmincidents/MODULE/util/RateLimitedProxyClient.java
+main/java/software/amazon/ssmincidents/MODULE/util/RetryCountingInterceptor.java
+main/java/software/amazon/ssmincidents/MODULE/util/TagDiff.java
+main/java/software/amazon/ssmincidents/MODULE/util/TokenBucket.java
+test/java/software/amazon/ssmincidents/MODULE/util/HandlerMetricsTest.java
+test/java/software/amazon/ssmincidents/MODULE/util/MeteredProxyClientTest.java
+test/java/software/amazon/ssmincidents/MODULE/util/ParallelCallsTest.java
+test/java/software/amazon/ssmincidents/MODULE/util/RateLimitedProxyClientTest.java
+test/java/software/amazon/ssmincidents/MODULE/util/TagDiffTest.java
+test/java/software/amazon/ssmincidents/MODULE/util/TokenBucketTest.java
+"
+
+normalize() {
+    sed -e 's/replicationset\|responseplan/MODULE/g' \
+        -e 's|NAMESPACE = "SSMIncidents/[A-Za-z]*"|NAMESPACE = "SSMIncidents/MODULE"|' "$1"
+}
+
+status=0
+for copy in $COPIES; do
+    replicationset="aws-ssmincidents-replicationset/src/${copy//MODULE/replicationset}"
+    responseplan="aws-ssmincidents-responseplan/src/${copy//MODULE/responseplan}"
+    if ! diff -u --label "$replicationset" --label "$responseplan" \
+        <(normalize "$replicationset") <(normalize "$responseplan"); then
+        status=1
+    fi
+done
+if [ "$status" -ne 0 ]; then
+    echo "The util copies above differ, apply the change to both modules." >&2
+fi
+exit "$status"